@@ -23,12 +23,15 @@ CREATE TABLE IF NOT EXISTS users (
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     created_by VARCHAR(50),
     updated_by VARCHAR(50),
-    is_deleted BOOLEAN DEFAULT FALSE
+    is_deleted BOOLEAN DEFAULT FALSE,
+    deleted_at DATETIME,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Create user_activities table
+-- activity_id is generated by the application (time-ordered 64-bit IDs), not AUTO_INCREMENT
 CREATE TABLE IF NOT EXISTS user_activities (
-    activity_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    activity_id BIGINT PRIMARY KEY,
     user_id BIGINT NOT NULL,
     activity_type VARCHAR(50) NOT NULL,
     activity_description VARCHAR(500) NOT NULL,
@@ -43,6 +46,91 @@ CREATE TABLE IF NOT EXISTS user_activities (
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
 );
 
+-- Create activity_hourly_rollups table
+-- One row per hour bucket, activity type and outcome; maintained by the rollup job up to its watermark
+CREATE TABLE IF NOT EXISTS activity_hourly_rollups (
+    rollup_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bucket_start DATETIME NOT NULL,
+    activity_type VARCHAR(50) NOT NULL,
+    success BOOLEAN,
+    activity_count BIGINT NOT NULL,
+    CONSTRAINT uk_rollups_bucket_type_success UNIQUE (bucket_start, activity_type, success)
+);
+
+-- Create activity_rollup_watermarks table
+CREATE TABLE IF NOT EXISTS activity_rollup_watermarks (
+    rollup_name VARCHAR(50) PRIMARY KEY,
+    rolled_up_to DATETIME NOT NULL,
+    updated_at DATETIME
+);
+
+-- Create users_archive table
+-- Users soft-deleted longer than the retention period, moved out of users; no password hash or login state
+CREATE TABLE IF NOT EXISTS users_archive (
+    user_id BIGINT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    phone_number VARCHAR(20),
+    user_role VARCHAR(20) NOT NULL,
+    user_status VARCHAR(20) NOT NULL,
+    last_login DATETIME,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    deleted_at DATETIME,
+    archived_at DATETIME NOT NULL
+);
+
+-- Create user_activities_archive table
+-- Activities of archived users, moved out of user_activities together with the user
+CREATE TABLE IF NOT EXISTS user_activities_archive (
+    activity_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    activity_type VARCHAR(50) NOT NULL,
+    activity_description VARCHAR(500) NOT NULL,
+    ip_address VARCHAR(45),
+    user_agent VARCHAR(500),
+    session_id VARCHAR(100),
+    activity_timestamp DATETIME NOT NULL,
+    success BOOLEAN,
+    error_message VARCHAR(1000),
+    additional_data VARCHAR(2000),
+    created_at DATETIME NOT NULL,
+    archived_at DATETIME NOT NULL
+);
+
+-- Create user_sweep_watermarks table
+-- Progress of the user maintenance sweeps; last_user_id is 0 between passes
+CREATE TABLE IF NOT EXISTS user_sweep_watermarks (
+    sweep_name VARCHAR(50) PRIMARY KEY,
+    last_user_id BIGINT NOT NULL,
+    pass_completed_at DATETIME,
+    updated_at DATETIME
+);
+
+-- Create report_snapshots table
+-- One row per background report job; the serialized result is kept until expires_at
+CREATE TABLE IF NOT EXISTS report_snapshots (
+    job_id VARCHAR(36) PRIMARY KEY,
+    report_type VARCHAR(30) NOT NULL,
+    report_parameters VARCHAR(200),
+    dedup_key VARCHAR(250) NOT NULL,
+    -- Set to dedup_key while the job is queued or running, NULL once it finishes
+    active_dedup_key VARCHAR(250),
+    job_status VARCHAR(20) NOT NULL,
+    progress INT NOT NULL DEFAULT 0,
+    result_json LONGTEXT,
+    error_message VARCHAR(1000),
+    requested_by VARCHAR(255),
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at DATETIME,
+    completed_at DATETIME,
+    expires_at DATETIME
+);
+
 -- Create system_configurations table
 CREATE TABLE IF NOT EXISTS system_configurations (
     config_id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -58,6 +146,43 @@ CREATE TABLE IF NOT EXISTS system_configurations (
     updated_by VARCHAR(50)
 );
 
+-- Migrations for databases created by an earlier version of this script
+
+-- Migration: application-generated activity IDs
+-- Existing AUTO_INCREMENT values are kept as-is. Generated IDs start above 2^22 * (ms since 2024-01-01),
+-- which is far larger than any existing AUTO_INCREMENT value, so old rows still sort before new ones
+-- and no existing ID can collide with a generated one.
+-- Only runs while the column is still AUTO_INCREMENT, so the script stays safe to re-run
+SET @migration = (SELECT IF(EXTRA LIKE '%auto_increment%',
+    'ALTER TABLE user_activities MODIFY activity_id BIGINT NOT NULL', 'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'user_activities' AND COLUMN_NAME = 'activity_id');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Migration: optimistic-locking version on users
+-- Existing rows start at version 0. Only runs while the column is missing, so the script stays safe to re-run
+SET @migration = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0', 'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND COLUMN_NAME = 'version');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Migration: deletion time on users, used by the archival job
+-- Users deleted before the column existed take their last update as the deletion time.
+-- Only adds the column while it is missing, so the script stays safe to re-run
+SET @migration = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE users ADD COLUMN deleted_at DATETIME', 'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND COLUMN_NAME = 'deleted_at');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+UPDATE users SET deleted_at = COALESCE(updated_at, created_at) WHERE is_deleted = TRUE AND deleted_at IS NULL;
+
 -- Insert default admin user
 INSERT INTO users (username, email, password, first_name, last_name, user_role, user_status, created_by) 
 VALUES ('admin', 'admin@vehicleinsurance.com', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDi', 'Admin', 'Officer', 'ADMIN_OFFICER', 'ACTIVE', 'SYSTEM')
@@ -79,19 +204,84 @@ INSERT INTO system_configurations (config_key, config_value, config_description,
 ON DUPLICATE KEY UPDATE config_value = VALUES(config_value);
 
 -- Create indexes for better performance
-CREATE INDEX idx_users_username ON users(username);
-CREATE INDEX idx_users_email ON users(email);
-CREATE INDEX idx_users_role ON users(user_role);
-CREATE INDEX idx_users_status ON users(user_status);
-CREATE INDEX idx_users_created_at ON users(created_at);
-
-CREATE INDEX idx_activities_user_id ON user_activities(user_id);
-CREATE INDEX idx_activities_type ON user_activities(activity_type);
-CREATE INDEX idx_activities_timestamp ON user_activities(activity_timestamp);
-CREATE INDEX idx_activities_success ON user_activities(success);
-
-CREATE INDEX idx_config_key ON system_configurations(config_key);
-CREATE INDEX idx_config_type ON system_configurations(config_type);
+-- Each index is created only while missing, so the script stays safe to re-run against an existing database
+DROP PROCEDURE IF EXISTS create_index_if_missing;
+DELIMITER //
+CREATE PROCEDURE create_index_if_missing(IN index_table VARCHAR(64), IN index_name VARCHAR(64), IN index_statement VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = index_table AND INDEX_NAME = index_name) THEN
+        SET @ddl = index_statement;
+        PREPARE ddl FROM @ddl;
+        EXECUTE ddl;
+        DEALLOCATE PREPARE ddl;
+    END IF;
+END //
+DELIMITER ;
+
+CALL create_index_if_missing('users', 'idx_users_username',
+    'CREATE INDEX idx_users_username ON users(username)');
+CALL create_index_if_missing('users', 'idx_users_email',
+    'CREATE INDEX idx_users_email ON users(email)');
+CALL create_index_if_missing('users', 'idx_users_role',
+    'CREATE INDEX idx_users_role ON users(user_role)');
+CALL create_index_if_missing('users', 'idx_users_status',
+    'CREATE INDEX idx_users_status ON users(user_status)');
+CALL create_index_if_missing('users', 'idx_users_created_at',
+    'CREATE INDEX idx_users_created_at ON users(created_at)');
+
+-- Composite indexes backing the filtered user list and its role/status facet counts
+CALL create_index_if_missing('users', 'idx_users_deleted_role_status',
+    'CREATE INDEX idx_users_deleted_role_status ON users(is_deleted, user_role, user_status)');
+CALL create_index_if_missing('users', 'idx_users_deleted_status',
+    'CREATE INDEX idx_users_deleted_status ON users(is_deleted, user_status)');
+-- Lets the lock-expiry sweep find the few locked users without scanning the table
+CALL create_index_if_missing('users', 'idx_users_locked_until',
+    'CREATE INDEX idx_users_locked_until ON users(account_locked_until)');
+
+CALL create_index_if_missing('user_activities', 'idx_activities_user_id',
+    'CREATE INDEX idx_activities_user_id ON user_activities(user_id)');
+CALL create_index_if_missing('user_activities', 'idx_activities_type',
+    'CREATE INDEX idx_activities_type ON user_activities(activity_type)');
+CALL create_index_if_missing('user_activities', 'idx_activities_timestamp',
+    'CREATE INDEX idx_activities_timestamp ON user_activities(activity_timestamp)');
+CALL create_index_if_missing('user_activities', 'idx_activities_success',
+    'CREATE INDEX idx_activities_success ON user_activities(success)');
+
+-- Composite indexes backing keyset (cursor) pagination ordered by activity_timestamp DESC, activity_id DESC
+CALL create_index_if_missing('user_activities', 'idx_activities_timestamp_id',
+    'CREATE INDEX idx_activities_timestamp_id ON user_activities(activity_timestamp, activity_id)');
+CALL create_index_if_missing('user_activities', 'idx_activities_user_timestamp_id',
+    'CREATE INDEX idx_activities_user_timestamp_id ON user_activities(user_id, activity_timestamp, activity_id)');
+CALL create_index_if_missing('user_activities', 'idx_activities_type_timestamp_id',
+    'CREATE INDEX idx_activities_type_timestamp_id ON user_activities(activity_type, activity_timestamp, activity_id)');
+CALL create_index_if_missing('user_activities', 'idx_activities_success_timestamp_id',
+    'CREATE INDEX idx_activities_success_timestamp_id ON user_activities(success, activity_timestamp, activity_id)');
+
+-- Archive lookups by username and per-user activity pages
+CALL create_index_if_missing('users_archive', 'idx_users_archive_username',
+    'CREATE INDEX idx_users_archive_username ON users_archive(username)');
+CALL create_index_if_missing('user_activities_archive', 'idx_activities_archive_user_timestamp_id',
+    'CREATE INDEX idx_activities_archive_user_timestamp_id ON user_activities_archive(user_id, activity_timestamp, activity_id)');
+
+CALL create_index_if_missing('system_configurations', 'idx_config_key',
+    'CREATE INDEX idx_config_key ON system_configurations(config_key)');
+CALL create_index_if_missing('system_configurations', 'idx_config_type',
+    'CREATE INDEX idx_config_type ON system_configurations(config_type)');
+
+CALL create_index_if_missing('report_snapshots', 'idx_report_snapshots_dedup_status',
+    'CREATE INDEX idx_report_snapshots_dedup_status ON report_snapshots(dedup_key, job_status)');
+-- At most one queued or running job per report across all nodes
+CALL create_index_if_missing('report_snapshots', 'uk_report_snapshots_active_dedup',
+    'CREATE UNIQUE INDEX uk_report_snapshots_active_dedup ON report_snapshots(active_dedup_key)');
+CALL create_index_if_missing('report_snapshots', 'idx_report_snapshots_expires_at',
+    'CREATE INDEX idx_report_snapshots_expires_at ON report_snapshots(expires_at)');
+
+-- Lets the archival job find users deleted before the retention cutoff
+CALL create_index_if_missing('users', 'idx_users_deleted_at',
+    'CREATE INDEX idx_users_deleted_at ON users(deleted_at)');
+
+DROP PROCEDURE create_index_if_missing;
 
 -- Show tables
 SHOW TABLES;
@@ -3,6 +3,7 @@ package org.example.administrator.config;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
@@ -12,6 +13,7 @@ import org.springframework.web.servlet.view.JstlView;
  * Application configuration for Spring Boot
  */
 @Configuration
+@EnableScheduling
 @Slf4j
 public class AppConfig implements WebMvcConfigurer {
 
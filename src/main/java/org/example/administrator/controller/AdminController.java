@@ -3,21 +3,30 @@ package org.example.administrator.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.ReportJobDTO;
 import org.example.administrator.dto.SystemReportDTO;
 import org.example.administrator.dto.UserCreateDTO;
 import org.example.administrator.dto.UserResponseDTO;
 import org.example.administrator.dto.UserUpdateDTO;
+import org.example.administrator.enums.ReportType;
 import org.example.administrator.enums.UserRole;
 import org.example.administrator.enums.UserStatus;
 import org.example.administrator.service.AdminService;
+import org.example.administrator.service.DashboardStatisticsCache;
+import org.example.administrator.service.DashboardStreamService;
+import org.example.administrator.service.ReportJobService;
 import org.example.administrator.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +41,9 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final DashboardStatisticsCache dashboardStatisticsCache;
+    private final DashboardStreamService dashboardStreamService;
+    private final ReportJobService reportJobService;
     private final UserService userService;
 
     /**
@@ -41,10 +53,20 @@ public class AdminController {
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
     public ResponseEntity<Map<String, Object>> getDashboardStatistics() {
         log.info("Getting dashboard statistics");
-        Map<String, Object> statistics = adminService.getDashboardStatistics();
+        Map<String, Object> statistics = dashboardStatisticsCache.getDashboardStatistics();
         return ResponseEntity.ok(statistics);
     }
 
+    /**
+     * Stream dashboard metrics as Server-Sent Events: a "snapshot" event, then "delta" events with changed keys
+     */
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public SseEmitter streamDashboardStatistics() {
+        log.info("Opening dashboard statistics stream");
+        return dashboardStreamService.subscribe();
+    }
+
     /**
      * Get system health status
      */
@@ -90,6 +112,42 @@ public class AdminController {
         return ResponseEntity.ok(report);
     }
 
+    /**
+     * Submit a report to be generated in the background; identical in-flight requests share one job
+     */
+    @PostMapping("/reports/jobs")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<ReportJobDTO> submitReportJob(
+            @RequestParam ReportType type,
+            @RequestParam(defaultValue = "24") int hours,
+            Principal principal) {
+        log.info("Submitting {} report job", type);
+        ReportJobDTO job = reportJobService.submit(type, hours, principal != null ? principal.getName() : null);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/admin/reports/jobs/" + job.getJobId()))
+            .body(job);
+    }
+
+    /**
+     * Get the status and progress of a report job
+     */
+    @GetMapping("/reports/jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<ReportJobDTO> getReportJob(@PathVariable String jobId) {
+        log.info("Getting report job: {}", jobId);
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    /**
+     * Get the result of a completed report job
+     */
+    @GetMapping(value = "/reports/jobs/{jobId}/result", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<String> getReportJobResult(@PathVariable String jobId) {
+        log.info("Getting result of report job: {}", jobId);
+        return ResponseEntity.ok(reportJobService.getResult(jobId));
+    }
+
     /**
      * Get system configuration summary
      */
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.administrator.dto.SystemConfigurationDTO;
+import org.example.administrator.dto.SystemConfigurationPatchDTO;
 import org.example.administrator.entity.SystemConfiguration;
 import org.example.administrator.service.SystemConfigurationService;
 import org.springframework.http.HttpStatus;
@@ -87,6 +88,21 @@ public class SystemConfigurationController {
         return ResponseEntity.ok(configuration);
     }
 
+    /**
+     * Update only the supplied fields of a configuration
+     */
+    @PatchMapping("/{configKey}")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<SystemConfigurationDTO> patchConfiguration(
+            @PathVariable String configKey,
+            @Valid @RequestBody SystemConfigurationPatchDTO patchDTO,
+            @RequestParam String updatedBy) {
+        log.info("Patching configuration: {}", configKey);
+        SystemConfigurationDTO configuration = systemConfigurationService.patchConfiguration(
+            configKey, patchDTO, updatedBy);
+        return ResponseEntity.ok(configuration);
+    }
+
     /**
      * Delete configuration
      */
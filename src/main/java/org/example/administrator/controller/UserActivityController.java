@@ -2,14 +2,22 @@ package org.example.administrator.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.ActivitySeriesDTO;
+import org.example.administrator.dto.CursorPageDTO;
 import org.example.administrator.dto.UserActivityDTO;
+import org.example.administrator.enums.ExportFormat;
+import org.example.administrator.enums.SeriesGranularity;
 import org.example.administrator.service.UserActivityService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,9 +29,14 @@ import java.util.List;
 @RequestMapping("/api/admin/activities")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {
+    UserActivityController.TRUNCATED_HEADER, UserActivityController.NEXT_CURSOR_HEADER, HttpHeaders.LINK
+})
 public class UserActivityController {
 
+    static final String TRUNCATED_HEADER = "X-Result-Truncated";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final UserActivityService userActivityService;
 
     /**
@@ -31,21 +44,38 @@ public class UserActivityController {
      */
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
-    public ResponseEntity<List<UserActivityDTO>> getUserActivities(@PathVariable Long userId) {
+    public ResponseEntity<List<UserActivityDTO>> getUserActivities(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Integer limit) {
         log.info("Getting activities for user: {}", userId);
-        List<UserActivityDTO> activities = userActivityService.getUserActivities(userId);
-        return ResponseEntity.ok(activities);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getUserActivities(userId, null, limit);
+        return boundedResponse(activities);
     }
 
     /**
-     * Get user activities with pagination
+     * Get user activities with pagination, optionally from the archive of deleted users
      */
     @GetMapping("/user/{userId}/paged")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
     public ResponseEntity<Page<UserActivityDTO>> getUserActivities(
-            @PathVariable Long userId, Pageable pageable) {
+            @PathVariable Long userId, Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.info("Getting activities for user: {} with pagination", userId);
-        Page<UserActivityDTO> activities = userActivityService.getUserActivities(userId, pageable);
+        Page<UserActivityDTO> activities = userActivityService.getUserActivities(userId, pageable, includeArchived);
+        return ResponseEntity.ok(activities);
+    }
+
+    /**
+     * Get user activities with keyset pagination
+     */
+    @GetMapping(value = "/user/{userId}/paged", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<CursorPageDTO<UserActivityDTO>> getUserActivities(
+            @PathVariable Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting activities for user: {} with cursor", userId);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getUserActivities(userId, cursor, size);
         return ResponseEntity.ok(activities);
     }
 
@@ -55,10 +85,11 @@ public class UserActivityController {
     @GetMapping("/recent")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
     public ResponseEntity<List<UserActivityDTO>> getRecentActivities(
-            @RequestParam(defaultValue = "24") int hours) {
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) Integer limit) {
         log.info("Getting recent activities for last {} hours", hours);
-        List<UserActivityDTO> activities = userActivityService.getRecentActivities(hours);
-        return ResponseEntity.ok(activities);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getRecentActivities(hours, null, limit);
+        return boundedResponse(activities);
     }
 
     /**
@@ -73,16 +104,31 @@ public class UserActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    /**
+     * Get recent activities with keyset pagination
+     */
+    @GetMapping(value = "/recent/paged", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<CursorPageDTO<UserActivityDTO>> getRecentActivities(
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting recent activities for last {} hours with cursor", hours);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getRecentActivities(hours, cursor, size);
+        return ResponseEntity.ok(activities);
+    }
+
     /**
      * Get activities by type
      */
     @GetMapping("/type/{activityType}")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
     public ResponseEntity<List<UserActivityDTO>> getActivitiesByType(
-            @PathVariable String activityType) {
+            @PathVariable String activityType,
+            @RequestParam(required = false) Integer limit) {
         log.info("Getting activities by type: {}", activityType);
-        List<UserActivityDTO> activities = userActivityService.getActivitiesByType(activityType);
-        return ResponseEntity.ok(activities);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getActivitiesByType(activityType, null, limit);
+        return boundedResponse(activities);
     }
 
     /**
@@ -97,15 +143,30 @@ public class UserActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    /**
+     * Get activities by type with keyset pagination
+     */
+    @GetMapping(value = "/type/{activityType}/paged", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<CursorPageDTO<UserActivityDTO>> getActivitiesByType(
+            @PathVariable String activityType,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting activities by type: {} with cursor", activityType);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getActivitiesByType(activityType, cursor, size);
+        return ResponseEntity.ok(activities);
+    }
+
     /**
      * Get failed activities
      */
     @GetMapping("/failed")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
-    public ResponseEntity<List<UserActivityDTO>> getFailedActivities() {
+    public ResponseEntity<List<UserActivityDTO>> getFailedActivities(
+            @RequestParam(required = false) Integer limit) {
         log.info("Getting failed activities");
-        List<UserActivityDTO> activities = userActivityService.getFailedActivities();
-        return ResponseEntity.ok(activities);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getFailedActivities(null, limit);
+        return boundedResponse(activities);
     }
 
     /**
@@ -119,6 +180,19 @@ public class UserActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    /**
+     * Get failed activities with keyset pagination
+     */
+    @GetMapping(value = "/failed/paged", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<CursorPageDTO<UserActivityDTO>> getFailedActivities(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting failed activities with cursor");
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getFailedActivities(cursor, size);
+        return ResponseEntity.ok(activities);
+    }
+
     /**
      * Get activities within date range
      */
@@ -126,10 +200,12 @@ public class UserActivityController {
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
     public ResponseEntity<List<UserActivityDTO>> getActivitiesBetweenDates(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Integer limit) {
         log.info("Getting activities between {} and {}", startDate, endDate);
-        List<UserActivityDTO> activities = userActivityService.getActivitiesBetweenDates(startDate, endDate);
-        return ResponseEntity.ok(activities);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getActivitiesBetweenDates(
+            startDate, endDate, null, limit);
+        return boundedResponse(activities);
     }
 
     /**
@@ -146,15 +222,46 @@ public class UserActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    /**
+     * Get activities within date range with keyset pagination
+     */
+    @GetMapping(value = "/date-range/paged", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<CursorPageDTO<UserActivityDTO>> getActivitiesBetweenDates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting activities between {} and {} with cursor", startDate, endDate);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getActivitiesBetweenDates(
+            startDate, endDate, cursor, size);
+        return ResponseEntity.ok(activities);
+    }
+
     /**
      * Get activities by IP address
      */
     @GetMapping("/ip/{ipAddress}")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
     public ResponseEntity<List<UserActivityDTO>> getActivitiesByIpAddress(
-            @PathVariable String ipAddress) {
+            @PathVariable String ipAddress,
+            @RequestParam(required = false) Integer limit) {
         log.info("Getting activities by IP address: {}", ipAddress);
-        List<UserActivityDTO> activities = userActivityService.getActivitiesByIpAddress(ipAddress);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getActivitiesByIpAddress(ipAddress, null, limit);
+        return boundedResponse(activities);
+    }
+
+    /**
+     * Get activities by IP address with keyset pagination
+     */
+    @GetMapping(value = "/ip/{ipAddress}/paged", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<CursorPageDTO<UserActivityDTO>> getActivitiesByIpAddress(
+            @PathVariable String ipAddress,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting activities by IP address: {} with cursor", ipAddress);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getActivitiesByIpAddress(ipAddress, cursor, size);
         return ResponseEntity.ok(activities);
     }
 
@@ -164,9 +271,24 @@ public class UserActivityController {
     @GetMapping("/session/{sessionId}")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
     public ResponseEntity<List<UserActivityDTO>> getActivitiesBySessionId(
-            @PathVariable String sessionId) {
+            @PathVariable String sessionId,
+            @RequestParam(required = false) Integer limit) {
         log.info("Getting activities by session ID: {}", sessionId);
-        List<UserActivityDTO> activities = userActivityService.getActivitiesBySessionId(sessionId);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getActivitiesBySessionId(sessionId, null, limit);
+        return boundedResponse(activities);
+    }
+
+    /**
+     * Get activities by session ID with keyset pagination
+     */
+    @GetMapping(value = "/session/{sessionId}/paged", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<CursorPageDTO<UserActivityDTO>> getActivitiesBySessionId(
+            @PathVariable String sessionId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting activities by session ID: {} with cursor", sessionId);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.getActivitiesBySessionId(sessionId, cursor, size);
         return ResponseEntity.ok(activities);
     }
 
@@ -176,10 +298,12 @@ public class UserActivityController {
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
     public ResponseEntity<List<UserActivityDTO>> searchActivitiesByDescription(
-            @RequestParam String searchTerm) {
+            @RequestParam String searchTerm,
+            @RequestParam(required = false) Integer limit) {
         log.info("Searching activities by description: {}", searchTerm);
-        List<UserActivityDTO> activities = userActivityService.searchActivitiesByDescription(searchTerm);
-        return ResponseEntity.ok(activities);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.searchActivitiesByDescription(
+            searchTerm, null, limit);
+        return boundedResponse(activities);
     }
 
     /**
@@ -194,6 +318,42 @@ public class UserActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    /**
+     * Search activities by description with keyset pagination
+     */
+    @GetMapping(value = "/search/paged", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<CursorPageDTO<UserActivityDTO>> searchActivitiesByDescription(
+            @RequestParam String searchTerm,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching activities by description: {} with cursor", searchTerm);
+        CursorPageDTO<UserActivityDTO> activities = userActivityService.searchActivitiesByDescription(
+            searchTerm, cursor, size);
+        return ResponseEntity.ok(activities);
+    }
+
+    /**
+     * Export activities within date range as NDJSON or CSV, streamed straight to the response
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<StreamingResponseBody> exportActivities(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String activityType,
+            @RequestParam(required = false) Boolean success,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        log.info("Exporting activities between {} and {} as {}", startDate, endDate, format);
+        StreamingResponseBody body = outputStream -> userActivityService.exportActivities(
+            startDate, endDate, activityType, success, format, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"activities." + format.getFileExtension() + "\"")
+            .body(body);
+    }
+
     /**
      * Get activity statistics
      */
@@ -212,6 +372,20 @@ public class UserActivityController {
         return ResponseEntity.ok(statistics);
     }
 
+    /**
+     * Get activity counts per time bucket, activity type and outcome for charting
+     */
+    @GetMapping("/series")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<ActivitySeriesDTO> getActivitySeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "HOUR") SeriesGranularity granularity) {
+        log.info("Getting {} activity series between {} and {}", granularity, startDate, endDate);
+        ActivitySeriesDTO series = userActivityService.getActivitySeries(startDate, endDate, granularity);
+        return ResponseEntity.ok(series);
+    }
+
     /**
      * Get most frequent activity types
      */
@@ -222,5 +396,24 @@ public class UserActivityController {
         List<Object[]> activityTypes = userActivityService.getMostFrequentActivityTypes();
         return ResponseEntity.ok(activityTypes);
     }
-}
 
+    /**
+     * Return the rows of a budgeted listing, with truncation metadata and a link
+     * to the cursor endpoint that continues where the listing stopped
+     */
+    private ResponseEntity<List<UserActivityDTO>> boundedResponse(CursorPageDTO<UserActivityDTO> activities) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .header(TRUNCATED_HEADER, String.valueOf(activities.isHasNext()));
+        if (activities.isHasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/paged")
+                .replaceQueryParam("limit")
+                .replaceQueryParam("cursor", activities.getNextCursor())
+                .replaceQueryParam("size", activities.getSize())
+                .toUriString();
+            response.header(NEXT_CURSOR_HEADER, activities.getNextCursor())
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(activities.getContent());
+    }
+}
@@ -3,11 +3,20 @@ package org.example.administrator.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.BulkUserOperationResultDTO;
+import org.example.administrator.dto.BulkUserSelectionDTO;
 import org.example.administrator.dto.UserCreateDTO;
+import org.example.administrator.dto.UserImportResultDTO;
+import org.example.administrator.dto.UserPatchDTO;
 import org.example.administrator.dto.UserResponseDTO;
+import org.example.administrator.dto.UserSuggestionDTO;
 import org.example.administrator.dto.UserUpdateDTO;
+import org.example.administrator.enums.BulkUserAction;
+import org.example.administrator.enums.ExportFormat;
 import org.example.administrator.enums.UserRole;
 import org.example.administrator.enums.UserStatus;
+import org.example.administrator.service.BulkUserOperationService;
+import org.example.administrator.service.UserImportService;
 import org.example.administrator.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,7 +25,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for user management operations
@@ -29,6 +43,8 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final BulkUserOperationService bulkUserOperationService;
 
     /**
      * Create new user
@@ -41,6 +57,21 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(user);
     }
 
+    /**
+     * Import users from a streamed CSV (with header row) or NDJSON body, reporting the outcome of every row
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<UserImportResultDTO> importUsers(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            InputStream body,
+            Principal principal) throws IOException {
+        log.info("Importing users as {}", format);
+        UserImportResultDTO result = userImportService.importUsers(body, format,
+            principal != null ? principal.getName() : null);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get all users with pagination
      */
@@ -53,24 +84,28 @@ public class UserController {
     }
 
     /**
-     * Get user by ID
+     * Get user by ID, optionally looking in the archive of deleted users
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
-    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponseDTO> getUserById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.info("Getting user by ID: {}", id);
-        UserResponseDTO user = userService.getUserById(id);
+        UserResponseDTO user = userService.getUserById(id, includeArchived);
         return ResponseEntity.ok(user);
     }
 
     /**
-     * Get user by username
+     * Get user by username, optionally looking in the archive of deleted users
      */
     @GetMapping("/username/{username}")
     @PreAuthorize("hasRole('ADMIN_OFFICER')")
-    public ResponseEntity<UserResponseDTO> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<UserResponseDTO> getUserByUsername(
+            @PathVariable String username,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.info("Getting user by username: {}", username);
-        UserResponseDTO user = userService.getUserByUsername(username);
+        UserResponseDTO user = userService.getUserByUsername(username, includeArchived);
         return ResponseEntity.ok(user);
     }
 
@@ -86,6 +121,44 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Suggest users whose username or name contains the term, best matches first
+     */
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<List<UserSuggestionDTO>> autocompleteUsers(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Suggesting users for term: {}", term);
+        if (limit < 1 || limit > 50) {
+            throw new IllegalArgumentException("limit must be between 1 and 50");
+        }
+        List<UserSuggestionDTO> suggestions = userService.suggestUsers(term, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    /**
+     * Check whether a username and/or email is still free
+     */
+    @GetMapping("/availability")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<Map<String, Boolean>> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        log.debug("Checking availability of username {}", username);
+        if (username == null && email == null) {
+            throw new IllegalArgumentException("Provide a username or an email to check");
+        }
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        if (username != null) {
+            availability.put("usernameAvailable", userService.isUsernameAvailable(username));
+        }
+        if (email != null) {
+            availability.put("emailAvailable", userService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(availability);
+    }
+
     /**
      * Get users by role
      */
@@ -120,6 +193,18 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Update only the supplied fields of a user
+     */
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<UserResponseDTO> patchUser(
+            @PathVariable Long id, @Valid @RequestBody UserPatchDTO userPatchDTO, @RequestParam String updatedBy) {
+        log.info("Patching user: {}", id);
+        UserResponseDTO user = userService.patchUser(id, userPatchDTO, updatedBy);
+        return ResponseEntity.ok(user);
+    }
+
     /**
      * Block user
      */
@@ -196,6 +281,21 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Apply a state change to the users selected by ID list or filter, reporting affected counts
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN_OFFICER')")
+    public ResponseEntity<BulkUserOperationResultDTO> applyBulkOperation(
+            @RequestParam BulkUserAction action,
+            @RequestParam(required = false) Integer minutes,
+            @RequestParam String performedBy,
+            @RequestBody BulkUserSelectionDTO selection) {
+        log.info("Applying bulk {} to users", action);
+        BulkUserOperationResultDTO result = bulkUserOperationService.apply(action, selection, minutes, performedBy);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get user statistics
      */
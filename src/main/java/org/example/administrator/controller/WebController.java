@@ -2,10 +2,16 @@ package org.example.administrator.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.UserFilterDTO;
+import org.example.administrator.dto.UserFilterResultDTO;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
 import org.example.administrator.service.AdminService;
+import org.example.administrator.service.DashboardStatisticsCache;
 import org.example.administrator.service.UserService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -25,6 +31,7 @@ import java.util.Map;
 public class WebController {
 
     private final AdminService adminService;
+    private final DashboardStatisticsCache dashboardStatisticsCache;
     private final UserService userService;
 
     /**
@@ -36,7 +43,7 @@ public class WebController {
         log.info("Loading dashboard page");
         
         try {
-            Map<String, Object> statistics = adminService.getDashboardStatistics();
+            Map<String, Object> statistics = dashboardStatisticsCache.getDashboardStatistics();
             model.addAttribute("statistics", statistics);
             model.addAttribute("pageTitle", "Dashboard");
         } catch (Exception e) {
@@ -56,21 +63,25 @@ public class WebController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String searchTerm,
-            @RequestParam(required = false) String userRole,
-            @RequestParam(required = false) String userStatus,
+            @RequestParam(required = false) UserRole userRole,
+            @RequestParam(required = false) UserStatus userStatus,
             Model model) {
         
         log.info("Loading users page with page={}, size={}, searchTerm={}, userRole={}, userStatus={}", 
                 page, size, searchTerm, userRole, userStatus);
         
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            
-            // For now, we'll use a simple implementation
-            // In a real application, you would implement filtering in the service layer
-            var users = userService.getAllUsers(pageable);
+            Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+            UserFilterResultDTO result = userService.filterUsers(
+                new UserFilterDTO(searchTerm, userRole, userStatus), pageable);
+            var users = result.getUsers();
             
             model.addAttribute("users", users);
+            model.addAttribute("roleCounts", result.getRoleCounts());
+            model.addAttribute("statusCounts", result.getStatusCounts());
+            model.addAttribute("searchTerm", searchTerm);
+            model.addAttribute("selectedRole", userRole);
+            model.addAttribute("selectedStatus", userStatus);
             model.addAttribute("pageTitle", "User Management");
             model.addAttribute("currentPage", page);
             model.addAttribute("totalPages", users.getTotalPages());
@@ -0,0 +1,24 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.SeriesGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for activity counts per time bucket, activity type and outcome.
+ * Only non-empty buckets are listed, ordered by bucket start.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivitySeriesDTO {
+
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private SeriesGranularity granularity;
+    private List<ActivitySeriesPointDTO> points;
+}
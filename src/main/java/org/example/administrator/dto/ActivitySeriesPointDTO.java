@@ -0,0 +1,21 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one bucket of an activity time series: the count for one activity type and outcome
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivitySeriesPointDTO {
+
+    private LocalDateTime bucketStart;
+    private String activityType;
+    private Boolean success;
+    private Long count;
+}
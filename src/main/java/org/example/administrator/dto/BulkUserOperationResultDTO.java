@@ -0,0 +1,23 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.BulkUserAction;
+
+/**
+ * DTO for the outcome of a bulk user operation.
+ * Matched users already in the target state are counted as unchanged; requested IDs
+ * that do not exist or are deleted are counted as not found.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserOperationResultDTO {
+
+    private BulkUserAction action;
+    private long matched;
+    private long affected;
+    private long unchanged;
+    private long notFound;
+}
@@ -0,0 +1,34 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO selecting the users of a bulk operation: either explicit IDs or a filter.
+ * Filter criteria are combined with AND; inactiveSince matches users who have not
+ * logged in since that time, including those who never have.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserSelectionDTO {
+
+    private List<Long> userIds;
+    private UserRole userRole;
+    private UserStatus userStatus;
+    private LocalDateTime inactiveSince;
+
+    public boolean hasUserIds() {
+        return userIds != null && !userIds.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return userRole != null || userStatus != null || inactiveSince != null;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.ReportJobStatus;
+import org.example.administrator.enums.ReportType;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the status of a background report job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+
+    private String jobId;
+    private ReportType reportType;
+    private String parameters;
+    private ReportJobStatus status;
+    private Integer progress;
+    private String errorMessage;
+    private String requestedBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+}
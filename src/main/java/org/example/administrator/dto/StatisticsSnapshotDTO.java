@@ -0,0 +1,41 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for a point-in-time snapshot of user, activity and configuration statistics
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticsSnapshotDTO {
+
+    private LocalDateTime generatedAt;
+
+    // User statistics; role and status counts exclude deleted users
+    private long totalUsers;
+    private Map<String, Map<String, Long>> usersByRoleAndStatus;
+    private Map<String, Long> usersByRole;
+    private Map<String, Long> usersByStatus;
+
+    // Activity statistics
+    private long totalActivities;
+    private long successfulActivities;
+    private long failedActivities;
+    private long activitiesLast24Hours;
+    private long activitiesLast7Days;
+    private long activitiesLast30Days;
+    private long failedLoginAttempts;
+
+    // System statistics
+    private long totalConfigurations;
+
+    public long getUserCountByStatus(String status) {
+        return usersByStatus.getOrDefault(status, 0L);
+    }
+}
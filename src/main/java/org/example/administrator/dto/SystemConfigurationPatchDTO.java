@@ -0,0 +1,24 @@
+package org.example.administrator.dto;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.entity.SystemConfiguration;
+
+/**
+ * DTO for partially updating system configurations; a null field is left unchanged
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SystemConfigurationPatchDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "Configuration value must not be blank")
+    private String configValue;
+
+    private String configDescription;
+    private SystemConfiguration.ConfigurationType configType;
+    private Boolean isEncrypted;
+    private Boolean isReadOnly;
+}
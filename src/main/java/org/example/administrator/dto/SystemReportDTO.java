@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,6 +23,10 @@ public class SystemReportDTO {
     private Map<String, Object> reportData;
     private String description;
 
+    // Set when some sections did not finish in time; their fields are left empty
+    private boolean partial;
+    private List<String> missingSections;
+
     // User statistics
     private Long totalUsers;
     private Long activeUsers;
@@ -1,5 +1,6 @@
 package org.example.administrator.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,6 +15,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class UserActivityDTO {
 
+    // Time-ordered IDs exceed 2^53, so they are sent as strings to survive JavaScript number parsing
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private Long userId;
     private String username;
@@ -0,0 +1,20 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+
+/**
+ * DTO for the filters of the user list; null criteria are not applied
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserFilterDTO {
+
+    private String searchTerm;
+    private UserRole userRole;
+    private UserStatus userStatus;
+}
@@ -0,0 +1,25 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * DTO for one page of filtered users with facet counts.
+ * Each facet counts the users matching every filter except its own, so the counts show
+ * how many users selecting that role or status would return.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserFilterResultDTO {
+
+    private Page<UserResponseDTO> users;
+    private Map<UserRole, Long> roleCounts;
+    private Map<UserStatus, Long> statusCounts;
+}
@@ -0,0 +1,23 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the report of a bulk user import: totals and one entry per data row
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResultDTO {
+
+    private long totalRows;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+    private List<UserImportRowResultDTO> rows;
+}
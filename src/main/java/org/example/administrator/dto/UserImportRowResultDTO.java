@@ -0,0 +1,21 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.ImportRowStatus;
+
+/**
+ * DTO for the outcome of one row of a bulk user import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRowResultDTO {
+
+    private long lineNumber;
+    private String username;
+    private ImportRowStatus status;
+    private Long userId;
+    private String message;
+}
@@ -0,0 +1,38 @@
+package org.example.administrator.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+
+/**
+ * DTO for partially updating users; a null field is left unchanged and an empty phone number clears it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPatchDTO {
+
+    @Email(message = "Email should be valid")
+    @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+    private String email;
+
+    @Size(max = 50, message = "First name must not exceed 50 characters")
+    @Pattern(regexp = ".*\\S.*", message = "First name must not be blank")
+    private String firstName;
+
+    @Size(max = 50, message = "Last name must not exceed 50 characters")
+    @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank")
+    private String lastName;
+
+    @Size(max = 20, message = "Phone number must not exceed 20 characters")
+    private String phoneNumber;
+
+    private UserRole userRole;
+
+    private UserStatus userStatus;
+}
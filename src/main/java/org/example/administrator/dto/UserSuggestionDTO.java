@@ -0,0 +1,18 @@
+package org.example.administrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one user suggested by search-as-you-type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionDTO {
+
+    private Long id;
+    private String username;
+    private String fullName;
+}
@@ -0,0 +1,45 @@
+package org.example.administrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated activity counts per hour, activity type and outcome
+ */
+@Entity
+@Table(name = "activity_hourly_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_rollups_bucket_type_success",
+                                             columnNames = {"bucket_start", "activity_type", "success"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityHourlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "activity_type", nullable = false, length = 50)
+    private String activityType;
+
+    @Column(name = "success")
+    private Boolean success;
+
+    @Column(name = "activity_count", nullable = false)
+    private Long activityCount;
+
+    public ActivityHourlyRollup(LocalDateTime bucketStart, String activityType, Boolean success, Long activityCount) {
+        this.bucketStart = bucketStart;
+        this.activityType = activityType;
+        this.success = success;
+        this.activityCount = activityCount;
+    }
+}
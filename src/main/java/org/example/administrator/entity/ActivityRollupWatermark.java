@@ -0,0 +1,29 @@
+package org.example.administrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tracks how far activity rollups are complete; every bucket before rolledUpTo has been aggregated
+ */
+@Entity
+@Table(name = "activity_rollup_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityRollupWatermark {
+
+    @Id
+    @Column(name = "rollup_name", length = 50)
+    private String name;
+
+    @Column(name = "rolled_up_to", nullable = false)
+    private LocalDateTime rolledUpTo;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,79 @@
+package org.example.administrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.ReportJobStatus;
+import org.example.administrator.enums.ReportType;
+
+import java.time.LocalDateTime;
+
+/**
+ * ReportSnapshot entity tracking a background report job and holding its serialized result
+ */
+@Entity
+@Table(name = "report_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_report_snapshots_active_dedup", columnNames = "active_dedup_key")
+}, indexes = {
+    @Index(name = "idx_report_snapshots_dedup_status", columnList = "dedup_key, job_status"),
+    @Index(name = "idx_report_snapshots_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSnapshot {
+
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 30)
+    private ReportType reportType;
+
+    @Column(name = "report_parameters", length = 200)
+    private String parameters;
+
+    // Report type plus parameters; identical in-flight requests share one job
+    @Column(name = "dedup_key", nullable = false, length = 250)
+    private String dedupKey;
+
+    // Dedup key while queued or running, NULL once finished; unique, so only one job per report is in flight
+    @Column(name = "active_dedup_key", length = 250)
+    private String activeDedupKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_status", nullable = false, length = 20)
+    private ReportJobStatus status = ReportJobStatus.QUEUED;
+
+    @Column(name = "progress", nullable = false)
+    private Integer progress = 0;
+
+    @Lob
+    @Column(name = "result_json")
+    private String resultJson;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "requested_by")
+    private String requestedBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -6,6 +6,11 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
@@ -15,6 +20,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "system_configurations", 
        uniqueConstraints = @UniqueConstraint(columnNames = "config_key"))
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "system-configurations")
+@NaturalIdCache(region = "system-configurations-natural-id")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,6 +35,7 @@ public class SystemConfiguration {
     private Long id;
 
     @NotBlank(message = "Configuration key is required")
+    @NaturalId(mutable = true)
     @Column(name = "config_key", nullable = false, unique = true, length = 100)
     private String configKey;
 
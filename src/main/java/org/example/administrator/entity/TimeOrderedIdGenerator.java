@@ -0,0 +1,109 @@
+package org.example.administrator.entity;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate identifier generator producing k-sortable 64-bit IDs.
+ * Each ID is laid out as 41 bits of milliseconds since {@link #EPOCH_MILLIS},
+ * 10 bits of node id and a 12-bit per-millisecond sequence, so IDs generated on
+ * one node are strictly increasing and IDs across nodes sort by creation time.
+ * Because the ID is known before the INSERT, Hibernate can batch inserts.
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    /**
+     * Hibernate setting (spring.jpa.properties.admin.id.node-id) holding this node's id
+     */
+    public static final String NODE_ID_SETTING = "admin.id.node-id";
+
+    /**
+     * 2024-01-01T00:00:00Z
+     */
+    public static final long EPOCH_MILLIS = 1704067200000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    // (millis since epoch << SEQUENCE_BITS) | sequence of the last issued ID, shared by all entities
+    private static final AtomicLong lastState = new AtomicLong();
+    private static volatile long nodeId;
+
+    public TimeOrderedIdGenerator(TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object setting = context.getServiceRegistry()
+            .requireService(ConfigurationService.class)
+            .getSettings()
+            .get(NODE_ID_SETTING);
+        if (setting != null) {
+            setNodeId(Long.parseLong(setting.toString().trim()));
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner) {
+        return nextId();
+    }
+
+    /**
+     * Issue the next ID. Lock-free: concurrent callers race on a single CAS.
+     * If the sequence for the current millisecond is exhausted, or the clock moves
+     * backwards, the timestamp component is advanced past the last issued value
+     * instead of waiting, which keeps IDs monotonic on this node.
+     */
+    public static long nextId() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        while (true) {
+            long last = lastState.get();
+            long lastMillis = last >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                next = (lastMillis + 1) << SEQUENCE_BITS;
+            }
+            if (lastState.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (millis << TIMESTAMP_SHIFT) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    /**
+     * Set the node id embedded in generated IDs (0-1023, unique per running instance)
+     */
+    public static void setNodeId(long id) {
+        if (id < 0 || id > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + id);
+        }
+        nodeId = id;
+    }
+
+    /**
+     * Get the creation time encoded in an ID
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS);
+    }
+
+    /**
+     * Get the smallest ID that could have been generated at the given time
+     */
+    public static long lowestIdAt(LocalDateTime time) {
+        long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() - EPOCH_MILLIS;
+        return Math.max(0, millis) << TIMESTAMP_SHIFT;
+    }
+}
@@ -10,6 +10,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.administrator.enums.UserRole;
 import org.example.administrator.enums.UserStatus;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -24,6 +29,10 @@ import java.util.List;
            @UniqueConstraint(columnNames = "username"),
            @UniqueConstraint(columnNames = "email")
        })
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +44,7 @@ public class User {
     private Long id;
 
     @NotBlank(message = "Username is required")
+    @NaturalId
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
     @Column(name = "username", nullable = false, unique = true, length = 50)
     private String username;
@@ -97,6 +107,15 @@ public class User {
     @Column(name = "is_deleted")
     private Boolean isDeleted = false;
 
+    // When the user was soft-deleted; users deleted longer than the retention period are moved to users_archive
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Incremented by every update; state changes are conditional on it so concurrent writers cannot lose updates
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // One-to-many relationship with UserActivity
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<UserActivity> activities = new ArrayList<>();
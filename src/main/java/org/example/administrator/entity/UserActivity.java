@@ -13,14 +13,20 @@ import java.time.LocalDateTime;
  * UserActivity entity for tracking user actions and system activities
  */
 @Entity
-@Table(name = "user_activities")
+@Table(name = "user_activities",
+       indexes = {
+           @Index(name = "idx_activities_timestamp_id", columnList = "activity_timestamp, activity_id"),
+           @Index(name = "idx_activities_user_timestamp_id", columnList = "user_id, activity_timestamp, activity_id"),
+           @Index(name = "idx_activities_type_timestamp_id", columnList = "activity_type, activity_timestamp, activity_id"),
+           @Index(name = "idx_activities_success_timestamp_id", columnList = "success, activity_timestamp, activity_id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserActivity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     @Column(name = "activity_id")
     private Long id;
 
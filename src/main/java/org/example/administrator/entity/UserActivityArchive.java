@@ -0,0 +1,62 @@
+package org.example.administrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An activity of an archived user, moved out of the user_activities table together with the user
+ */
+@Entity
+@Table(name = "user_activities_archive",
+       indexes = {
+           @Index(name = "idx_activities_archive_user_timestamp_id", columnList = "user_id, activity_timestamp, activity_id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserActivityArchive {
+
+    @Id
+    @Column(name = "activity_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "activity_type", nullable = false, length = 50)
+    private String activityType;
+
+    @Column(name = "activity_description", nullable = false, length = 500)
+    private String activityDescription;
+
+    @Column(name = "ip_address", length = 45)
+    private String ipAddress;
+
+    @Column(name = "user_agent", length = 500)
+    private String userAgent;
+
+    @Column(name = "session_id", length = 100)
+    private String sessionId;
+
+    @Column(name = "activity_timestamp", nullable = false)
+    private LocalDateTime activityTimestamp;
+
+    @Column(name = "success")
+    private Boolean success;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "additional_data", length = 2000)
+    private String additionalData;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,81 @@
+package org.example.administrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A soft-deleted user moved out of the users table by the archival job. Keeps the user's ID and
+ * profile but not the password hash or login state. Usernames and emails are not unique here,
+ * since they become free for reuse once the user leaves the users table.
+ */
+@Entity
+@Table(name = "users_archive",
+       indexes = {
+           @Index(name = "idx_users_archive_username", columnList = "username")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserArchive {
+
+    @Id
+    @Column(name = "user_id")
+    private Long id;
+
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "email", nullable = false, length = 100)
+    private String email;
+
+    @Column(name = "first_name", nullable = false, length = 50)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false, length = 50)
+    private String lastName;
+
+    @Column(name = "phone_number", length = 20)
+    private String phoneNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "user_role", nullable = false)
+    private UserRole userRole;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "user_status", nullable = false)
+    private UserStatus userStatus;
+
+    @Column(name = "last_login")
+    private LocalDateTime lastLogin;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    @Column(name = "updated_by")
+    private String updatedBy;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Get the full name of the user
+     */
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.administrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tracks how far a user maintenance sweep has progressed; users up to lastUserId have been handled
+ * in the current pass, and zero means the next pass starts from the beginning
+ */
+@Entity
+@Table(name = "user_sweep_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSweepWatermark {
+
+    @Id
+    @Column(name = "sweep_name", length = 50)
+    private String name;
+
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId;
+
+    @Column(name = "pass_completed_at")
+    private LocalDateTime passCompletedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package org.example.administrator.enums;
+
+/**
+ * Enum representing state changes that can be applied to many users at once
+ */
+public enum BulkUserAction {
+    BLOCK("Block", "USER_BLOCKED", "User account blocked by administrator (bulk)"),
+    UNBLOCK("Unblock", "USER_UNBLOCKED", "User account unblocked by administrator (bulk)"),
+    LOCK("Lock", "ACCOUNT_LOCKED", "User account locked by administrator (bulk)"),
+    UNLOCK("Unlock", "ACCOUNT_UNLOCKED", "User account unlocked by administrator (bulk)"),
+    DELETE("Delete", "USER_DELETED", "User account deleted by administrator (bulk)");
+
+    private final String displayName;
+    private final String activityType;
+    private final String activityDescription;
+
+    BulkUserAction(String displayName, String activityType, String activityDescription) {
+        this.displayName = displayName;
+        this.activityType = activityType;
+        this.activityDescription = activityDescription;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getActivityType() {
+        return activityType;
+    }
+
+    public String getActivityDescription() {
+        return activityDescription;
+    }
+}
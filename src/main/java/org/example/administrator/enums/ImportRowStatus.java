@@ -0,0 +1,21 @@
+package org.example.administrator.enums;
+
+/**
+ * Enum representing the outcome of one row of a bulk import
+ */
+public enum ImportRowStatus {
+    CREATED("Created"),
+    INVALID("Invalid"),
+    DUPLICATE("Duplicate"),
+    FAILED("Failed");
+
+    private final String displayName;
+
+    ImportRowStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.administrator.enums;
+
+/**
+ * Enum representing the lifecycle of a background report job
+ */
+public enum ReportJobStatus {
+    QUEUED("Queued", "Waiting for a free report worker"),
+    RUNNING("Running", "Report is being generated"),
+    COMPLETED("Completed", "Report is ready to fetch"),
+    FAILED("Failed", "Report generation failed");
+
+    private final String displayName;
+    private final String description;
+
+    ReportJobStatus(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Check if the job is still queued or running
+     */
+    public boolean isInFlight() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
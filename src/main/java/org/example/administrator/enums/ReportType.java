@@ -0,0 +1,20 @@
+package org.example.administrator.enums;
+
+/**
+ * Enum representing reports that can be generated as background jobs
+ */
+public enum ReportType {
+    SYSTEM_OVERVIEW("System Overview"),
+    USER_STATISTICS("User Statistics"),
+    ACTIVITY("Activity Report");
+
+    private final String displayName;
+
+    ReportType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.administrator.enums;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Enum representing bucket sizes for activity time series
+ */
+public enum SeriesGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    SeriesGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Start of the bucket containing the timestamp
+     */
+    public LocalDateTime truncate(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+
+    /**
+     * Number of buckets touched by [startDate, endDate]
+     */
+    public long bucketsBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return Duration.between(truncate(startDate), truncate(endDate)).dividedBy(unit.getDuration()) + 1;
+    }
+}
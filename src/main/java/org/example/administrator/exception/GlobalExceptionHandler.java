@@ -1,6 +1,7 @@
 package org.example.administrator.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -109,6 +110,51 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.LOCKED).body(error);
     }
 
+    /**
+     * Handle report job not found exceptions
+     */
+    @ExceptionHandler(ReportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReportJobNotFoundException(ReportJobNotFoundException ex) {
+        log.error("Report job not found: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "REPORT_JOB_NOT_FOUND",
+            ex.getMessage(),
+            HttpStatus.NOT_FOUND.value(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    /**
+     * Handle report not ready exceptions
+     */
+    @ExceptionHandler(ReportNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleReportNotReadyException(ReportNotReadyException ex) {
+        log.warn("Report not ready: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "REPORT_NOT_READY",
+            ex.getMessage(),
+            HttpStatus.CONFLICT.value(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Handle report job rejected exceptions
+     */
+    @ExceptionHandler(ReportJobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleReportJobRejectedException(ReportJobRejectedException ex) {
+        log.warn("Report job rejected: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "REPORT_JOB_REJECTED",
+            ex.getMessage(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     /**
      * Handle validation exceptions
      */
@@ -133,6 +179,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Handle updates that lost a race with a concurrent change to the same record
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.error("Concurrent modification: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "CONCURRENT_MODIFICATION",
+            "The record was changed by another request, please reload and retry",
+            HttpStatus.CONFLICT.value(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     /**
      * Handle illegal argument exceptions
      */
@@ -0,0 +1,11 @@
+package org.example.administrator.exception;
+
+/**
+ * Exception thrown when a report job is not found or its result has expired
+ */
+public class ReportJobNotFoundException extends RuntimeException {
+
+    public ReportJobNotFoundException(String jobId) {
+        super("Report job not found: " + jobId);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.administrator.exception;
+
+/**
+ * Exception thrown when the report job queue is full
+ */
+public class ReportJobRejectedException extends RuntimeException {
+
+    public ReportJobRejectedException(String message) {
+        super(message);
+    }
+}
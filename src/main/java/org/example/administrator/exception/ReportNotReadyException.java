@@ -0,0 +1,13 @@
+package org.example.administrator.exception;
+
+import org.example.administrator.enums.ReportJobStatus;
+
+/**
+ * Exception thrown when the result of a report job that has not completed is requested
+ */
+public class ReportNotReadyException extends RuntimeException {
+
+    public ReportNotReadyException(String jobId, ReportJobStatus status) {
+        super("Report job " + jobId + " is " + status.name().toLowerCase() + "; no result available");
+    }
+}
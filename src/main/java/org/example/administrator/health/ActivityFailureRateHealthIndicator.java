@@ -0,0 +1,87 @@
+package org.example.administrator.health;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.service.ActivityRollupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Activity failure rate over a sliding window, recomputed in the background.
+ * The count only touches the window's slice of the timestamp index; health requests
+ * read the cached result. A rate at or above the threshold reports WARNING once the
+ * window holds enough activities to be meaningful.
+ */
+@Component
+@Slf4j
+public class ActivityFailureRateHealthIndicator implements HealthIndicator {
+
+    private final ActivityRollupService activityRollupService;
+    private final long windowMinutes;
+    private final double threshold;
+    private final long minActivities;
+
+    private volatile Health lastHealth;
+    private volatile Double lastFailureRate;
+
+    public ActivityFailureRateHealthIndicator(ActivityRollupService activityRollupService,
+                                              @Value("${admin.health.failure-rate.window-minutes:15}") long windowMinutes,
+                                              @Value("${admin.health.failure-rate.threshold:0.1}") double threshold,
+                                              @Value("${admin.health.failure-rate.min-activities:20}") long minActivities) {
+        this.activityRollupService = activityRollupService;
+        this.windowMinutes = windowMinutes;
+        this.threshold = threshold;
+        this.minActivities = minActivities;
+    }
+
+    /**
+     * Count outcomes over the window and cache the rate
+     */
+    @Scheduled(fixedDelayString = "${admin.health.failure-rate.interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            Map<Boolean, Long> outcomes = activityRollupService.countActivitiesBySuccess(now.minusMinutes(windowMinutes), now);
+            long failed = outcomes.getOrDefault(false, 0L);
+            long total = outcomes.values().stream().mapToLong(Long::longValue).sum();
+            double failureRate = total > 0 ? (double) failed / total : 0;
+
+            Health.Builder builder = total >= minActivities && failureRate >= threshold
+                ? Health.status(AdminHealthStatus.WARNING)
+                : Health.up();
+            lastHealth = builder
+                .withDetail("windowMinutes", windowMinutes)
+                .withDetail("activities", total)
+                .withDetail("failedActivities", failed)
+                .withDetail("failureRate", failureRate)
+                .withDetail("checkedAt", now)
+                .build();
+            lastFailureRate = failureRate;
+        } catch (Exception e) {
+            log.warn("Activity failure rate check failed: {}", e.getMessage());
+            lastHealth = Health.unknown().withException(e).withDetail("checkedAt", now).build();
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health health = lastHealth;
+        return health != null ? health : Health.unknown().withDetail("reason", "Not computed yet").build();
+    }
+
+    /**
+     * Failure rate from the last completed check, or null before the first one
+     */
+    public Double getFailureRate() {
+        return lastFailureRate;
+    }
+
+    public long getWindowMinutes() {
+        return windowMinutes;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.administrator.health;
+
+import org.example.administrator.service.UserActivityWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Health of the async activity writer from its in-memory queue.
+ * Lag is the age of the oldest activity not yet written. Lag above the threshold reports
+ * WARNING; a queue filled past the high-water mark reports OUT_OF_SERVICE so the instance
+ * is taken out of rotation before activities start being dropped.
+ */
+@Component
+public class ActivityWriterHealthIndicator implements HealthIndicator {
+
+    private final UserActivityWriter userActivityWriter;
+    private final Duration maxLag;
+    private final double queueHighWater;
+
+    public ActivityWriterHealthIndicator(UserActivityWriter userActivityWriter,
+                                         @Value("${admin.health.activity-writer.max-lag-ms:10000}") long maxLagMs,
+                                         @Value("${admin.health.activity-writer.queue-high-water:0.9}") double queueHighWater) {
+        this.userActivityWriter = userActivityWriter;
+        this.maxLag = Duration.ofMillis(maxLagMs);
+        this.queueHighWater = queueHighWater;
+    }
+
+    @Override
+    public Health health() {
+        if (!userActivityWriter.isEnabled()) {
+            return Health.up().withDetail("async", false).build();
+        }
+        if (!userActivityWriter.isRunning()) {
+            return Health.down().withDetail("async", true).withDetail("error", "Writer thread is not running").build();
+        }
+
+        int depth = userActivityWriter.getQueueDepth();
+        int capacity = userActivityWriter.getQueueCapacity();
+        Duration lag = userActivityWriter.getLag();
+        Health.Builder builder;
+        if (depth >= capacity * queueHighWater) {
+            builder = Health.outOfService();
+        } else if (lag.compareTo(maxLag) > 0) {
+            builder = Health.status(AdminHealthStatus.WARNING);
+        } else {
+            builder = Health.up();
+        }
+        return builder
+            .withDetail("async", true)
+            .withDetail("queueDepth", depth)
+            .withDetail("queueCapacity", capacity)
+            .withDetail("lagMs", lag.toMillis())
+            .build();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.administrator.health;
+
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Health statuses used by the admin module's indicators in addition to Spring's built-in ones
+ */
+public final class AdminHealthStatus {
+
+    /**
+     * Working but degraded; still answers 200 and does not take the instance out of rotation
+     */
+    public static final Status WARNING = new Status("WARNING");
+
+    private AdminHealthStatus() {
+    }
+}
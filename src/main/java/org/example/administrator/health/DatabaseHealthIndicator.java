@@ -0,0 +1,96 @@
+package org.example.administrator.health;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database health from a connection ping run in the background.
+ * Health requests are answered from the last ping, so probes never wait on the database;
+ * a ping slower than the threshold reports WARNING, and no completed ping within the
+ * maximum age reports DOWN.
+ */
+@Component
+@Slf4j
+public class DatabaseHealthIndicator implements HealthIndicator {
+
+    private final DataSource dataSource;
+    private final int timeoutSeconds;
+    private final Duration slowThreshold;
+    private final Duration maxAge;
+
+    private volatile Health lastHealth;
+    private volatile LocalDateTime lastCheckedAt;
+
+    public DatabaseHealthIndicator(DataSource dataSource,
+                                   @Value("${admin.health.database.timeout-seconds:2}") int timeoutSeconds,
+                                   @Value("${admin.health.database.slow-ms:500}") long slowMs,
+                                   @Value("${admin.health.database.max-age-ms:60000}") long maxAgeMs) {
+        this.dataSource = dataSource;
+        this.timeoutSeconds = timeoutSeconds;
+        this.slowThreshold = Duration.ofMillis(slowMs);
+        this.maxAge = Duration.ofMillis(maxAgeMs);
+    }
+
+    /**
+     * Ping the database and cache the outcome
+     */
+    @Scheduled(fixedDelayString = "${admin.health.database.interval-ms:10000}")
+    public void refresh() {
+        long start = System.nanoTime();
+        Health.Builder builder;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean valid = connection.isValid(timeoutSeconds);
+            long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (!valid) {
+                builder = Health.down();
+            } else if (latencyMs > slowThreshold.toMillis()) {
+                builder = Health.status(AdminHealthStatus.WARNING);
+            } else {
+                builder = Health.up();
+            }
+            builder.withDetail("latencyMs", latencyMs);
+        } catch (Exception e) {
+            log.warn("Database ping failed: {}", e.getMessage());
+            builder = Health.down(e);
+        }
+
+        LocalDateTime checkedAt = LocalDateTime.now();
+        lastHealth = builder.withDetail("checkedAt", checkedAt).build();
+        lastCheckedAt = checkedAt;
+    }
+
+    @Override
+    public Health health() {
+        if (lastHealth == null) {
+            // Before the first scheduled ping, ping inline once
+            refresh();
+        }
+        Health health = lastHealth;
+        LocalDateTime checkedAt = lastCheckedAt;
+        if (Duration.between(checkedAt, LocalDateTime.now()).compareTo(maxAge) > 0) {
+            return Health.down()
+                .withDetail("error", "No database ping completed since " + checkedAt)
+                .withDetail("checkedAt", checkedAt)
+                .build();
+        }
+        return health;
+    }
+
+    /**
+     * Check if the last ping reached the database, however slowly
+     */
+    public boolean isAvailable() {
+        return !Status.DOWN.equals(health().getStatus());
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.entity.ActivityHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ActivityHourlyRollup entity
+ */
+@Repository
+public interface ActivityHourlyRollupRepository extends JpaRepository<ActivityHourlyRollup, Long> {
+
+    /**
+     * Sum activity counts over buckets starting in [from, to)
+     */
+    @Query("SELECT COALESCE(SUM(r.activityCount), 0) FROM ActivityHourlyRollup r " +
+           "WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    long sumActivityCount(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Sum activity counts per activity type over buckets starting in [from, to)
+     */
+    @Query("SELECT r.activityType, SUM(r.activityCount) FROM ActivityHourlyRollup r " +
+           "WHERE r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.activityType")
+    List<Object[]> sumActivityCountByType(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Sum activity counts per outcome over buckets starting in [from, to)
+     */
+    @Query("SELECT r.success, SUM(r.activityCount) FROM ActivityHourlyRollup r " +
+           "WHERE r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.success")
+    List<Object[]> sumActivityCountBySuccess(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Sum activity counts per hour, activity type and outcome over buckets starting in [from, to)
+     */
+    @Query("SELECT year(r.bucketStart), month(r.bucketStart), day(r.bucketStart), hour(r.bucketStart), " +
+           "r.activityType, r.success, SUM(r.activityCount) FROM ActivityHourlyRollup r " +
+           "WHERE r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY year(r.bucketStart), month(r.bucketStart), day(r.bucketStart), hour(r.bucketStart), " +
+           "r.activityType, r.success")
+    List<Object[]> sumActivityCountByHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Sum activity counts per day, activity type and outcome over buckets starting in [from, to)
+     */
+    @Query("SELECT year(r.bucketStart), month(r.bucketStart), day(r.bucketStart), " +
+           "r.activityType, r.success, SUM(r.activityCount) FROM ActivityHourlyRollup r " +
+           "WHERE r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY year(r.bucketStart), month(r.bucketStart), day(r.bucketStart), r.activityType, r.success")
+    List<Object[]> sumActivityCountByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Compute activity totals, success/failure counts, window counts and failed logins from rolled-up buckets
+     */
+    @Query("SELECT SUM(r.activityCount), " +
+           "SUM(CASE WHEN r.success = true THEN r.activityCount ELSE 0L END), " +
+           "SUM(CASE WHEN r.success = false THEN r.activityCount ELSE 0L END), " +
+           "SUM(CASE WHEN r.bucketStart >= :rollupFrom24Hours AND r.bucketStart < :rollupTo24Hours THEN r.activityCount ELSE 0L END), " +
+           "SUM(CASE WHEN r.bucketStart >= :rollupFrom7Days AND r.bucketStart < :rollupTo7Days THEN r.activityCount ELSE 0L END), " +
+           "SUM(CASE WHEN r.bucketStart >= :rollupFrom30Days AND r.bucketStart < :rollupTo30Days THEN r.activityCount ELSE 0L END), " +
+           "SUM(CASE WHEN r.activityType = :failedLoginType THEN r.activityCount ELSE 0L END) " +
+           "FROM ActivityHourlyRollup r WHERE r.bucketStart < :rolledUpTo")
+    List<Object[]> aggregateActivityStatistics(@Param("rolledUpTo") LocalDateTime rolledUpTo,
+                                               @Param("rollupFrom24Hours") LocalDateTime rollupFrom24Hours,
+                                               @Param("rollupTo24Hours") LocalDateTime rollupTo24Hours,
+                                               @Param("rollupFrom7Days") LocalDateTime rollupFrom7Days,
+                                               @Param("rollupTo7Days") LocalDateTime rollupTo7Days,
+                                               @Param("rollupFrom30Days") LocalDateTime rollupFrom30Days,
+                                               @Param("rollupTo30Days") LocalDateTime rollupTo30Days,
+                                               @Param("failedLoginType") String failedLoginType);
+
+    /**
+     * Find the buckets of the given hours
+     */
+    List<ActivityHourlyRollup> findByBucketStartIn(Collection<LocalDateTime> bucketStarts);
+
+    /**
+     * Delete buckets starting before the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM ActivityHourlyRollup r WHERE r.bucketStart < :cutoff")
+    int deleteBucketsBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Delete the buckets for a single hour
+     */
+    @Modifying
+    @Query("DELETE FROM ActivityHourlyRollup r WHERE r.bucketStart = :bucketStart")
+    int deleteBucket(@Param("bucketStart") LocalDateTime bucketStart);
+}
@@ -0,0 +1,25 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.administrator.entity.ActivityRollupWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for ActivityRollupWatermark entity
+ */
+@Repository
+public interface ActivityRollupWatermarkRepository extends JpaRepository<ActivityRollupWatermark, String> {
+
+    /**
+     * Find a watermark and lock it so only one instance advances it at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM ActivityRollupWatermark w WHERE w.name = :name")
+    Optional<ActivityRollupWatermark> findByNameForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,44 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.entity.ReportSnapshot;
+import org.example.administrator.enums.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository interface for ReportSnapshot entity
+ */
+@Repository
+public interface ReportSnapshotRepository extends JpaRepository<ReportSnapshot, String> {
+
+    /**
+     * Find a job for the same report and parameters in one of the given states
+     */
+    Optional<ReportSnapshot> findFirstByDedupKeyAndStatusIn(String dedupKey, Collection<ReportJobStatus> statuses);
+
+    /**
+     * Fail jobs left queued or running, e.g. by a restart that dropped the in-memory queue
+     */
+    @Modifying
+    @Query("UPDATE ReportSnapshot r SET r.status = :failed, r.errorMessage = :reason, r.completedAt = :now, " +
+           "r.expiresAt = :expiresAt, r.activeDedupKey = NULL WHERE r.status IN :statuses")
+    int failJobsInStatus(@Param("statuses") Collection<ReportJobStatus> statuses,
+                         @Param("failed") ReportJobStatus failed,
+                         @Param("reason") String reason,
+                         @Param("now") LocalDateTime now,
+                         @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Delete finished jobs whose results have expired
+     */
+    @Modifying
+    @Query("DELETE FROM ReportSnapshot r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
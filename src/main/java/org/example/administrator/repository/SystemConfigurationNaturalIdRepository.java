@@ -0,0 +1,16 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.entity.SystemConfiguration;
+
+import java.util.Optional;
+
+/**
+ * Lookups of configurations by their natural ID, answered from the second-level cache when possible
+ */
+public interface SystemConfigurationNaturalIdRepository {
+
+    /**
+     * Find configuration by key
+     */
+    Optional<SystemConfiguration> findByConfigKey(String configKey);
+}
@@ -0,0 +1,36 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.administrator.entity.SystemConfiguration;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Natural ID implementation of the configuration key lookup.
+ * The key resolves to an ID through the natural ID cache and the configuration is then read
+ * from the entity cache, so a repeated lookup issues no query.
+ */
+@RequiredArgsConstructor
+public class SystemConfigurationNaturalIdRepositoryImpl implements SystemConfigurationNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<SystemConfiguration> findByConfigKey(String configKey) {
+        Optional<SystemConfiguration> config = entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(SystemConfiguration.class)
+            .loadOptional(configKey);
+        // Keys compare case-insensitively in the database, so a key may be cached under another
+        // spelling; such an entry goes stale once the configuration is renamed
+        if (config.isPresent() && !config.get().getConfigKey().equalsIgnoreCase(configKey)) {
+            return entityManager.createQuery(
+                    "SELECT sc FROM SystemConfiguration sc WHERE sc.configKey = :configKey", SystemConfiguration.class)
+                .setParameter("configKey", configKey)
+                .getResultStream()
+                .findFirst();
+        }
+        return config;
+    }
+}
@@ -1,24 +1,29 @@
 package org.example.administrator.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.administrator.entity.SystemConfiguration;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Repository interface for SystemConfiguration entity with custom queries
  */
 @Repository
-public interface SystemConfigurationRepository extends JpaRepository<SystemConfiguration, Long> {
+public interface SystemConfigurationRepository extends JpaRepository<SystemConfiguration, Long>,
+                                                       SystemConfigurationNaturalIdRepository {
 
     /**
-     * Find configuration by key
+     * Find all configurations
      */
-    Optional<SystemConfiguration> findByConfigKey(String configKey);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<SystemConfiguration> findAll();
 
     /**
      * Find configurations by type
@@ -28,6 +33,7 @@ public interface SystemConfigurationRepository extends JpaRepository<SystemConfi
     /**
      * Find configurations by type ordered by key
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<SystemConfiguration> findByConfigTypeOrderByConfigKey(SystemConfiguration.ConfigurationType configType);
 
     /**
@@ -76,6 +82,7 @@ public interface SystemConfigurationRepository extends JpaRepository<SystemConfi
     /**
      * Find all configuration keys
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT sc.configKey FROM SystemConfiguration sc ORDER BY sc.configKey")
     List<String> findAllConfigKeys();
 
@@ -99,24 +106,28 @@ public interface SystemConfigurationRepository extends JpaRepository<SystemConfi
     /**
      * Find system-critical configurations
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT sc FROM SystemConfiguration sc WHERE sc.configKey IN ('system.name', 'system.version', 'database.url', 'security.jwt.secret')")
     List<SystemConfiguration> findSystemCriticalConfigurations();
 
     /**
      * Find email-related configurations
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT sc FROM SystemConfiguration sc WHERE sc.configKey LIKE 'email.%' OR sc.configKey LIKE 'mail.%' ORDER BY sc.configKey")
     List<SystemConfiguration> findEmailConfigurations();
 
     /**
      * Find security-related configurations
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT sc FROM SystemConfiguration sc WHERE sc.configKey LIKE 'security.%' OR sc.configKey LIKE 'auth.%' ORDER BY sc.configKey")
     List<SystemConfiguration> findSecurityConfigurations();
 
     /**
      * Find database-related configurations
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT sc FROM SystemConfiguration sc WHERE sc.configKey LIKE 'database.%' OR sc.configKey LIKE 'db.%' ORDER BY sc.configKey")
     List<SystemConfiguration> findDatabaseConfigurations();
 }
@@ -0,0 +1,43 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.dto.UserActivityDTO;
+import org.example.administrator.entity.UserActivityArchive;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Repository interface for UserActivityArchive entity
+ */
+@Repository
+public interface UserActivityArchiveRepository extends JpaRepository<UserActivityArchive, Long> {
+
+    /**
+     * Find archived activities by user as DTOs with pagination
+     */
+    @Query(value = "SELECT new org.example.administrator.dto.UserActivityDTO(" +
+           "ua.id, ua.userId, u.username, ua.activityType, ua.activityDescription, ua.ipAddress, ua.userAgent, " +
+           "ua.sessionId, ua.activityTimestamp, ua.success, ua.errorMessage, ua.additionalData, ua.createdAt) " +
+           "FROM UserActivityArchive ua JOIN UserArchive u ON u.id = ua.userId " +
+           "WHERE ua.userId = :userId ORDER BY ua.activityTimestamp DESC",
+           countQuery = "SELECT COUNT(ua) FROM UserActivityArchive ua WHERE ua.userId = :userId")
+    Page<UserActivityDTO> findActivityDTOsByUser(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Copy all activities of the given users from the user_activities table into the archive
+     */
+    @Modifying
+    @Query("INSERT INTO UserActivityArchive (id, userId, activityType, activityDescription, ipAddress, userAgent, " +
+           "sessionId, activityTimestamp, success, errorMessage, additionalData, createdAt, archivedAt) " +
+           "SELECT ua.id, ua.user.id, ua.activityType, ua.activityDescription, ua.ipAddress, ua.userAgent, " +
+           "ua.sessionId, ua.activityTimestamp, ua.success, ua.errorMessage, ua.additionalData, ua.createdAt, :now " +
+           "FROM UserActivity ua WHERE ua.user.id IN :userIds")
+    int archiveByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+}
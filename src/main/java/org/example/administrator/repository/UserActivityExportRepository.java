@@ -0,0 +1,19 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.entity.UserActivity;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Streaming reads of activities for export
+ */
+public interface UserActivityExportRepository {
+
+    /**
+     * Stream activities within a date range for export, optionally filtered by type and success.
+     * Rows are loaded read-only; the caller must close the stream.
+     */
+    Stream<UserActivity> streamActivitiesForExport(LocalDateTime startDate, LocalDateTime endDate,
+                                                   String activityType, Boolean success);
+}
@@ -0,0 +1,42 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.EntityManager;
+import org.example.administrator.entity.UserActivity;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Export query with a configurable JDBC fetch size. Only this query streams from the server,
+ * so the rest of the application keeps ordinary buffered result sets.
+ */
+public class UserActivityExportRepositoryImpl implements UserActivityExportRepository {
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public UserActivityExportRepositoryImpl(EntityManager entityManager,
+                                            @Value("${admin.activity.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<UserActivity> streamActivitiesForExport(LocalDateTime startDate, LocalDateTime endDate,
+                                                          String activityType, Boolean success) {
+        return entityManager.createQuery(
+                "SELECT ua FROM UserActivity ua JOIN FETCH ua.user WHERE ua.activityTimestamp BETWEEN :startDate AND :endDate " +
+                "AND (:activityType IS NULL OR ua.activityType = :activityType) " +
+                "AND (:success IS NULL OR ua.success = :success) " +
+                "ORDER BY ua.activityTimestamp DESC, ua.id DESC", UserActivity.class)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .setParameter("activityType", activityType)
+            .setParameter("success", success)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+}
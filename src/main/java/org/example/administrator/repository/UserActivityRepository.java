@@ -1,22 +1,35 @@
 package org.example.administrator.repository;
 
+import org.example.administrator.dto.UserActivityDTO;
 import org.example.administrator.entity.User;
 import org.example.administrator.entity.UserActivity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository interface for UserActivity entity with custom queries
  */
 @Repository
-public interface UserActivityRepository extends JpaRepository<UserActivity, Long> {
+public interface UserActivityRepository extends JpaRepository<UserActivity, Long>, UserActivityExportRepository {
+
+    /**
+     * Constructor projection selecting exactly the columns UserActivityDTO needs,
+     * with the username joined in the same statement
+     */
+    String ACTIVITY_DTO_SELECT = "SELECT new org.example.administrator.dto.UserActivityDTO(" +
+        "ua.id, u.id, u.username, ua.activityType, ua.activityDescription, ua.ipAddress, ua.userAgent, " +
+        "ua.sessionId, ua.activityTimestamp, ua.success, ua.errorMessage, ua.additionalData, ua.createdAt) " +
+        "FROM UserActivity ua JOIN ua.user u ";
 
     /**
      * Find activities by user
@@ -132,6 +145,143 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
     long countActivitiesBetweenDates(@Param("startDate") LocalDateTime startDate, 
                                     @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Compute activity totals, success/failure counts, window counts and failed logins for the rows not
+     * covered by hourly rollups: the tail from tailStart onwards, plus each window's head before its first
+     * rolled-up bucket
+     */
+    @Query("SELECT SUM(CASE WHEN ua.activityTimestamp >= :tailStart THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN ua.activityTimestamp >= :tailStart AND ua.success = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN ua.activityTimestamp >= :tailStart AND ua.success = false THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN (ua.activityTimestamp >= :since24Hours AND ua.activityTimestamp < :rollupFrom24Hours) " +
+           "OR (ua.activityTimestamp >= :rollupTo24Hours AND ua.activityTimestamp <= :now) THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN (ua.activityTimestamp >= :since7Days AND ua.activityTimestamp < :rollupFrom7Days) " +
+           "OR (ua.activityTimestamp >= :rollupTo7Days AND ua.activityTimestamp <= :now) THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN (ua.activityTimestamp >= :since30Days AND ua.activityTimestamp < :rollupFrom30Days) " +
+           "OR (ua.activityTimestamp >= :rollupTo30Days AND ua.activityTimestamp <= :now) THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN ua.activityTimestamp >= :tailStart AND ua.activityType = :failedLoginType THEN 1 ELSE 0 END) " +
+           "FROM UserActivity ua WHERE ua.activityTimestamp >= :tailStart " +
+           "OR (ua.activityTimestamp >= :since24Hours AND ua.activityTimestamp < :rollupFrom24Hours) " +
+           "OR (ua.activityTimestamp >= :since7Days AND ua.activityTimestamp < :rollupFrom7Days) " +
+           "OR (ua.activityTimestamp >= :since30Days AND ua.activityTimestamp < :rollupFrom30Days)")
+    List<Object[]> aggregateActivityStatistics(@Param("now") LocalDateTime now,
+                                               @Param("tailStart") LocalDateTime tailStart,
+                                               @Param("since24Hours") LocalDateTime since24Hours,
+                                               @Param("rollupFrom24Hours") LocalDateTime rollupFrom24Hours,
+                                               @Param("rollupTo24Hours") LocalDateTime rollupTo24Hours,
+                                               @Param("since7Days") LocalDateTime since7Days,
+                                               @Param("rollupFrom7Days") LocalDateTime rollupFrom7Days,
+                                               @Param("rollupTo7Days") LocalDateTime rollupTo7Days,
+                                               @Param("since30Days") LocalDateTime since30Days,
+                                               @Param("rollupFrom30Days") LocalDateTime rollupFrom30Days,
+                                               @Param("rollupTo30Days") LocalDateTime rollupTo30Days,
+                                               @Param("failedLoginType") String failedLoginType);
+
+    /**
+     * Count activities in [startDate, rollupFrom) and [rollupTo, endDate], the parts of a range not covered by rollups
+     */
+    @Query("SELECT COUNT(ua) FROM UserActivity ua " +
+           "WHERE (ua.activityTimestamp >= :startDate AND ua.activityTimestamp < :rollupFrom) " +
+           "OR (ua.activityTimestamp >= :rollupTo AND ua.activityTimestamp <= :endDate)")
+    long countActivitiesOutsideRollups(@Param("startDate") LocalDateTime startDate,
+                                       @Param("rollupFrom") LocalDateTime rollupFrom,
+                                       @Param("rollupTo") LocalDateTime rollupTo,
+                                       @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Count activities per type in [startDate, rollupFrom) and [rollupTo, endDate]
+     */
+    @Query("SELECT ua.activityType, COUNT(ua) FROM UserActivity ua " +
+           "WHERE (ua.activityTimestamp >= :startDate AND ua.activityTimestamp < :rollupFrom) " +
+           "OR (ua.activityTimestamp >= :rollupTo AND ua.activityTimestamp <= :endDate) " +
+           "GROUP BY ua.activityType")
+    List<Object[]> countActivitiesByTypeOutsideRollups(@Param("startDate") LocalDateTime startDate,
+                                                       @Param("rollupFrom") LocalDateTime rollupFrom,
+                                                       @Param("rollupTo") LocalDateTime rollupTo,
+                                                       @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Count activities per outcome in [startDate, rollupFrom) and [rollupTo, endDate]
+     */
+    @Query("SELECT ua.success, COUNT(ua) FROM UserActivity ua " +
+           "WHERE (ua.activityTimestamp >= :startDate AND ua.activityTimestamp < :rollupFrom) " +
+           "OR (ua.activityTimestamp >= :rollupTo AND ua.activityTimestamp <= :endDate) " +
+           "GROUP BY ua.success")
+    List<Object[]> countActivitiesBySuccessOutsideRollups(@Param("startDate") LocalDateTime startDate,
+                                                          @Param("rollupFrom") LocalDateTime rollupFrom,
+                                                          @Param("rollupTo") LocalDateTime rollupTo,
+                                                          @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Count activities per minute, activity type and outcome in [startDate, rollupFrom) and [rollupTo, endDate]
+     */
+    @Query("SELECT year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "hour(ua.activityTimestamp), minute(ua.activityTimestamp), ua.activityType, ua.success, COUNT(ua) " +
+           "FROM UserActivity ua " +
+           "WHERE (ua.activityTimestamp >= :startDate AND ua.activityTimestamp < :rollupFrom) " +
+           "OR (ua.activityTimestamp >= :rollupTo AND ua.activityTimestamp <= :endDate) " +
+           "GROUP BY year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "hour(ua.activityTimestamp), minute(ua.activityTimestamp), ua.activityType, ua.success")
+    List<Object[]> countActivitiesByMinuteOutsideRollups(@Param("startDate") LocalDateTime startDate,
+                                                         @Param("rollupFrom") LocalDateTime rollupFrom,
+                                                         @Param("rollupTo") LocalDateTime rollupTo,
+                                                         @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Count activities per hour, activity type and outcome in [startDate, rollupFrom) and [rollupTo, endDate]
+     */
+    @Query("SELECT year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "hour(ua.activityTimestamp), ua.activityType, ua.success, COUNT(ua) FROM UserActivity ua " +
+           "WHERE (ua.activityTimestamp >= :startDate AND ua.activityTimestamp < :rollupFrom) " +
+           "OR (ua.activityTimestamp >= :rollupTo AND ua.activityTimestamp <= :endDate) " +
+           "GROUP BY year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "hour(ua.activityTimestamp), ua.activityType, ua.success")
+    List<Object[]> countActivitiesByHourOutsideRollups(@Param("startDate") LocalDateTime startDate,
+                                                       @Param("rollupFrom") LocalDateTime rollupFrom,
+                                                       @Param("rollupTo") LocalDateTime rollupTo,
+                                                       @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Count activities per day, activity type and outcome in [startDate, rollupFrom) and [rollupTo, endDate]
+     */
+    @Query("SELECT year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "ua.activityType, ua.success, COUNT(ua) FROM UserActivity ua " +
+           "WHERE (ua.activityTimestamp >= :startDate AND ua.activityTimestamp < :rollupFrom) " +
+           "OR (ua.activityTimestamp >= :rollupTo AND ua.activityTimestamp <= :endDate) " +
+           "GROUP BY year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "ua.activityType, ua.success")
+    List<Object[]> countActivitiesByDayOutsideRollups(@Param("startDate") LocalDateTime startDate,
+                                                      @Param("rollupFrom") LocalDateTime rollupFrom,
+                                                      @Param("rollupTo") LocalDateTime rollupTo,
+                                                      @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Count activities in [from, to) grouped by hour, activity type and outcome
+     */
+    @Query("SELECT year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "hour(ua.activityTimestamp), ua.activityType, ua.success, COUNT(ua) FROM UserActivity ua " +
+           "WHERE ua.activityTimestamp >= :from AND ua.activityTimestamp < :to " +
+           "GROUP BY year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "hour(ua.activityTimestamp), ua.activityType, ua.success")
+    List<Object[]> countActivitiesByHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Count activities of the given users before a cutoff grouped by hour, activity type and outcome
+     */
+    @Query("SELECT year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "hour(ua.activityTimestamp), ua.activityType, ua.success, COUNT(ua) FROM UserActivity ua " +
+           "WHERE ua.user.id IN :userIds AND ua.activityTimestamp < :before " +
+           "GROUP BY year(ua.activityTimestamp), month(ua.activityTimestamp), day(ua.activityTimestamp), " +
+           "hour(ua.activityTimestamp), ua.activityType, ua.success")
+    List<Object[]> countActivitiesByHourForUsers(@Param("userIds") Collection<Long> userIds,
+                                                 @Param("before") LocalDateTime before);
+
+    /**
+     * Find the timestamp of the oldest activity
+     */
+    @Query("SELECT MIN(ua.activityTimestamp) FROM UserActivity ua")
+    LocalDateTime findEarliestActivityTimestamp();
+
     /**
      * Find most frequent activity types
      */
@@ -160,10 +310,150 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
     @Query("SELECT ua FROM UserActivity ua WHERE LOWER(ua.activityDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ORDER BY ua.activityTimestamp DESC")
     Page<UserActivity> findActivitiesByDescriptionContaining(@Param("searchTerm") String searchTerm, Pageable pageable);
 
+    /**
+     * Find activities by user as DTOs with pagination
+     */
+    @Query(value = ACTIVITY_DTO_SELECT + "WHERE u.id = :userId ORDER BY ua.activityTimestamp DESC",
+           countQuery = "SELECT COUNT(ua) FROM UserActivity ua WHERE ua.user.id = :userId")
+    Page<UserActivityDTO> findActivityDTOsByUser(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Find activities by user as DTOs after a keyset cursor
+     */
+    @Query(ACTIVITY_DTO_SELECT + "WHERE u.id = :userId AND " +
+           "(ua.activityTimestamp < :cursorTimestamp OR (ua.activityTimestamp = :cursorTimestamp AND ua.id < :cursorId)) " +
+           "ORDER BY ua.activityTimestamp DESC, ua.id DESC")
+    Slice<UserActivityDTO> findActivityDTOsByUserAfterCursor(@Param("userId") Long userId,
+                                                             @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                                             @Param("cursorId") Long cursorId,
+                                                             Pageable pageable);
+
+    /**
+     * Find activities by activity type as DTOs with pagination
+     */
+    @Query(value = ACTIVITY_DTO_SELECT + "WHERE ua.activityType = :activityType ORDER BY ua.activityTimestamp DESC",
+           countQuery = "SELECT COUNT(ua) FROM UserActivity ua WHERE ua.activityType = :activityType")
+    Page<UserActivityDTO> findActivityDTOsByActivityType(@Param("activityType") String activityType, Pageable pageable);
+
+    /**
+     * Find activities by activity type as DTOs after a keyset cursor
+     */
+    @Query(ACTIVITY_DTO_SELECT + "WHERE ua.activityType = :activityType AND " +
+           "(ua.activityTimestamp < :cursorTimestamp OR (ua.activityTimestamp = :cursorTimestamp AND ua.id < :cursorId)) " +
+           "ORDER BY ua.activityTimestamp DESC, ua.id DESC")
+    Slice<UserActivityDTO> findActivityDTOsByActivityTypeAfterCursor(@Param("activityType") String activityType,
+                                                                     @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                                                     @Param("cursorId") Long cursorId,
+                                                                     Pageable pageable);
+
+    /**
+     * Find activities within a date range as DTOs with pagination
+     */
+    @Query(value = ACTIVITY_DTO_SELECT + "WHERE ua.activityTimestamp BETWEEN :startDate AND :endDate ORDER BY ua.activityTimestamp DESC",
+           countQuery = "SELECT COUNT(ua) FROM UserActivity ua WHERE ua.activityTimestamp BETWEEN :startDate AND :endDate")
+    Page<UserActivityDTO> findActivityDTOsBetweenDates(@Param("startDate") LocalDateTime startDate,
+                                                       @Param("endDate") LocalDateTime endDate,
+                                                       Pageable pageable);
+
+    /**
+     * Find activities within a date range as DTOs after a keyset cursor
+     */
+    @Query(ACTIVITY_DTO_SELECT + "WHERE ua.activityTimestamp BETWEEN :startDate AND :endDate AND " +
+           "(ua.activityTimestamp < :cursorTimestamp OR (ua.activityTimestamp = :cursorTimestamp AND ua.id < :cursorId)) " +
+           "ORDER BY ua.activityTimestamp DESC, ua.id DESC")
+    Slice<UserActivityDTO> findActivityDTOsBetweenDatesAfterCursor(@Param("startDate") LocalDateTime startDate,
+                                                                   @Param("endDate") LocalDateTime endDate,
+                                                                   @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                                                   @Param("cursorId") Long cursorId,
+                                                                   Pageable pageable);
+
+    /**
+     * Find recent activities as DTOs with pagination
+     */
+    @Query(value = ACTIVITY_DTO_SELECT + "WHERE ua.activityTimestamp >= :cutoffDate ORDER BY ua.activityTimestamp DESC",
+           countQuery = "SELECT COUNT(ua) FROM UserActivity ua WHERE ua.activityTimestamp >= :cutoffDate")
+    Page<UserActivityDTO> findRecentActivityDTOs(@Param("cutoffDate") LocalDateTime cutoffDate, Pageable pageable);
+
+    /**
+     * Find recent activities as DTOs after a keyset cursor
+     */
+    @Query(ACTIVITY_DTO_SELECT + "WHERE ua.activityTimestamp >= :cutoffDate AND " +
+           "(ua.activityTimestamp < :cursorTimestamp OR (ua.activityTimestamp = :cursorTimestamp AND ua.id < :cursorId)) " +
+           "ORDER BY ua.activityTimestamp DESC, ua.id DESC")
+    Slice<UserActivityDTO> findRecentActivityDTOsAfterCursor(@Param("cutoffDate") LocalDateTime cutoffDate,
+                                                             @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                                             @Param("cursorId") Long cursorId,
+                                                             Pageable pageable);
+
+    /**
+     * Find failed activities as DTOs with pagination
+     */
+    @Query(value = ACTIVITY_DTO_SELECT + "WHERE ua.success = false ORDER BY ua.activityTimestamp DESC",
+           countQuery = "SELECT COUNT(ua) FROM UserActivity ua WHERE ua.success = false")
+    Page<UserActivityDTO> findFailedActivityDTOs(Pageable pageable);
+
+    /**
+     * Find failed activities as DTOs after a keyset cursor
+     */
+    @Query(ACTIVITY_DTO_SELECT + "WHERE ua.success = false AND " +
+           "(ua.activityTimestamp < :cursorTimestamp OR (ua.activityTimestamp = :cursorTimestamp AND ua.id < :cursorId)) " +
+           "ORDER BY ua.activityTimestamp DESC, ua.id DESC")
+    Slice<UserActivityDTO> findFailedActivityDTOsAfterCursor(@Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                                             @Param("cursorId") Long cursorId,
+                                                             Pageable pageable);
+
+    /**
+     * Find activities by IP address as DTOs after a keyset cursor
+     */
+    @Query(ACTIVITY_DTO_SELECT + "WHERE ua.ipAddress = :ipAddress AND " +
+           "(ua.activityTimestamp < :cursorTimestamp OR (ua.activityTimestamp = :cursorTimestamp AND ua.id < :cursorId)) " +
+           "ORDER BY ua.activityTimestamp DESC, ua.id DESC")
+    Slice<UserActivityDTO> findActivityDTOsByIpAddressAfterCursor(@Param("ipAddress") String ipAddress,
+                                                                  @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                                                  @Param("cursorId") Long cursorId,
+                                                                  Pageable pageable);
+
+    /**
+     * Find activities by session ID as DTOs after a keyset cursor
+     */
+    @Query(ACTIVITY_DTO_SELECT + "WHERE ua.sessionId = :sessionId AND " +
+           "(ua.activityTimestamp < :cursorTimestamp OR (ua.activityTimestamp = :cursorTimestamp AND ua.id < :cursorId)) " +
+           "ORDER BY ua.activityTimestamp DESC, ua.id DESC")
+    Slice<UserActivityDTO> findActivityDTOsBySessionIdAfterCursor(@Param("sessionId") String sessionId,
+                                                                  @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                                                  @Param("cursorId") Long cursorId,
+                                                                  Pageable pageable);
+
+    /**
+     * Find activities containing specific text in description as DTOs with pagination
+     */
+    @Query(value = ACTIVITY_DTO_SELECT + "WHERE LOWER(ua.activityDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ORDER BY ua.activityTimestamp DESC",
+           countQuery = "SELECT COUNT(ua) FROM UserActivity ua WHERE LOWER(ua.activityDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Page<UserActivityDTO> findActivityDTOsByDescriptionContaining(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Find activities containing specific text in description as DTOs after a keyset cursor
+     */
+    @Query(ACTIVITY_DTO_SELECT + "WHERE LOWER(ua.activityDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%')) AND " +
+           "(ua.activityTimestamp < :cursorTimestamp OR (ua.activityTimestamp = :cursorTimestamp AND ua.id < :cursorId)) " +
+           "ORDER BY ua.activityTimestamp DESC, ua.id DESC")
+    Slice<UserActivityDTO> findActivityDTOsByDescriptionContainingAfterCursor(@Param("searchTerm") String searchTerm,
+                                                                              @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                                                              @Param("cursorId") Long cursorId,
+                                                                              Pageable pageable);
+
     /**
      * Delete old activities (for cleanup)
      */
+    @Modifying
     @Query("DELETE FROM UserActivity ua WHERE ua.activityTimestamp < :cutoffDate")
     void deleteOldActivities(@Param("cutoffDate") LocalDateTime cutoffDate);
+
+    /**
+     * Delete all activities of the given users
+     */
+    @Modifying
+    @Query("DELETE FROM UserActivity ua WHERE ua.user.id IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
 
@@ -0,0 +1,35 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.entity.UserArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository interface for UserArchive entity
+ */
+@Repository
+public interface UserArchiveRepository extends JpaRepository<UserArchive, Long> {
+
+    /**
+     * Find the most recently archived user with the given username
+     */
+    Optional<UserArchive> findFirstByUsernameOrderByArchivedAtDesc(String username);
+
+    /**
+     * Copy soft-deleted users by ID from the users table into the archive
+     */
+    @Modifying
+    @Query("INSERT INTO UserArchive (id, username, email, firstName, lastName, phoneNumber, userRole, userStatus, " +
+           "lastLogin, createdAt, updatedAt, createdBy, updatedBy, deletedAt, archivedAt) " +
+           "SELECT u.id, u.username, u.email, u.firstName, u.lastName, u.phoneNumber, u.userRole, u.userStatus, " +
+           "u.lastLogin, u.createdAt, u.updatedAt, u.createdBy, u.updatedBy, u.deletedAt, :now " +
+           "FROM User u WHERE u.id IN :ids AND u.isDeleted = true")
+    int archiveDeletedByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
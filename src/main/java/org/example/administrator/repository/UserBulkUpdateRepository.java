@@ -0,0 +1,43 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.enums.UserStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Chunked state changes to, and removal of, many users at once. Unlike JPQL bulk statements, these
+ * evict only the affected users from the second-level cache instead of the whole users region.
+ */
+public interface UserBulkUpdateRepository {
+
+    /**
+     * Set the status of users by ID
+     */
+    int updateStatusByIdIn(Collection<Long> ids, UserStatus userStatus, String updatedBy, LocalDateTime now);
+
+    /**
+     * Lock users by ID until the given time
+     */
+    int lockByIdIn(Collection<Long> ids, LocalDateTime lockedUntil, String updatedBy, LocalDateTime now);
+
+    /**
+     * Clear the failed login attempts and lock of users by ID
+     */
+    int unlockByIdIn(Collection<Long> ids, String updatedBy, LocalDateTime now);
+
+    /**
+     * Soft delete users by ID
+     */
+    int softDeleteByIdIn(Collection<Long> ids, String updatedBy, LocalDateTime now);
+
+    /**
+     * Clear the lock and failed login attempts of non-deleted users by ID whose lock is still expired
+     */
+    int clearExpiredLocksByIdIn(Collection<Long> ids, String updatedBy, LocalDateTime now);
+
+    /**
+     * Permanently remove soft-deleted users by ID
+     */
+    int deleteDeletedByIdIn(Collection<Long> ids);
+}
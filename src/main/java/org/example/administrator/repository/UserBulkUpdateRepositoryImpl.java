@@ -0,0 +1,124 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.UserStatus;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk user updates as plain SQL on the transaction's connection. Hibernate does not see these
+ * statements, so its bulk-operation cleanup never empties the users cache region; instead the
+ * changed users are evicted one by one, both at once and again after commit in case a concurrent
+ * reader cached a row as it was before the update.
+ */
+@RequiredArgsConstructor
+public class UserBulkUpdateRepositoryImpl implements UserBulkUpdateRepository {
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public int updateStatusByIdIn(Collection<Long> ids, UserStatus userStatus, String updatedBy, LocalDateTime now) {
+        return update("UPDATE users SET user_status = :userStatus, updated_by = :updatedBy, updated_at = :now, " +
+                "version = version + 1 WHERE user_id IN (:ids)",
+            parameters(ids, updatedBy, now).addValue("userStatus", userStatus.name()), ids);
+    }
+
+    @Override
+    public int lockByIdIn(Collection<Long> ids, LocalDateTime lockedUntil, String updatedBy, LocalDateTime now) {
+        return update("UPDATE users SET account_locked_until = :lockedUntil, updated_by = :updatedBy, " +
+                "updated_at = :now, version = version + 1 WHERE user_id IN (:ids)",
+            parameters(ids, updatedBy, now).addValue("lockedUntil", lockedUntil), ids);
+    }
+
+    @Override
+    public int unlockByIdIn(Collection<Long> ids, String updatedBy, LocalDateTime now) {
+        return update("UPDATE users SET login_attempts = 0, account_locked_until = NULL, updated_by = :updatedBy, " +
+                "updated_at = :now, version = version + 1 WHERE user_id IN (:ids)",
+            parameters(ids, updatedBy, now), ids);
+    }
+
+    @Override
+    public int softDeleteByIdIn(Collection<Long> ids, String updatedBy, LocalDateTime now) {
+        return update("UPDATE users SET is_deleted = TRUE, updated_by = :updatedBy, updated_at = :now, " +
+                "deleted_at = :now, version = version + 1 WHERE user_id IN (:ids)",
+            parameters(ids, updatedBy, now), ids);
+    }
+
+    @Override
+    public int clearExpiredLocksByIdIn(Collection<Long> ids, String updatedBy, LocalDateTime now) {
+        return update("UPDATE users SET account_locked_until = NULL, login_attempts = 0, updated_by = :updatedBy, " +
+                "updated_at = :now, version = version + 1 " +
+                "WHERE user_id IN (:ids) AND is_deleted = FALSE AND account_locked_until <= :now",
+            parameters(ids, updatedBy, now), ids);
+    }
+
+    @Override
+    public int deleteDeletedByIdIn(Collection<Long> ids) {
+        // Removed usernames may be taken again, so their cached natural ID resolutions have to go as well
+        List<String> usernames = jdbcTemplate.queryForList(
+            "SELECT username FROM users WHERE user_id IN (:ids) AND is_deleted = TRUE",
+            new MapSqlParameterSource("ids", ids), String.class);
+        int deleted = update("DELETE FROM users WHERE user_id IN (:ids) AND is_deleted = TRUE",
+            new MapSqlParameterSource("ids", ids), ids);
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+        NaturalIdDataAccess naturalIdCache = persister.getNaturalIdCacheAccessStrategy();
+        List<Object> keys = usernames.stream()
+            .map(username -> naturalIdCache.generateCacheKey(username, persister, session))
+            .toList();
+        keys.forEach(naturalIdCache::evict);
+        afterCommit(() -> keys.forEach(naturalIdCache::evict));
+        return deleted;
+    }
+
+    private static MapSqlParameterSource parameters(Collection<Long> ids, String updatedBy, LocalDateTime now) {
+        return new MapSqlParameterSource()
+            .addValue("ids", ids)
+            .addValue("updatedBy", updatedBy)
+            .addValue("now", now);
+    }
+
+    /**
+     * Run the statement after flushing pending entity changes, then drop the affected users from the
+     * persistence context and the second-level cache so later reads see the new rows
+     */
+    private int update(String sql, MapSqlParameterSource parameters, Collection<Long> ids) {
+        entityManager.flush();
+        int updated = jdbcTemplate.update(sql, parameters);
+        entityManager.clear();
+        List<Long> evicted = List.copyOf(ids);
+        evict(evicted);
+        afterCommit(() -> evict(evicted));
+        return updated;
+    }
+
+    private void evict(Collection<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(User.class, id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
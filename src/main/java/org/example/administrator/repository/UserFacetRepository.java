@@ -0,0 +1,17 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Grouped counts over users matching a specification
+ */
+public interface UserFacetRepository {
+
+    /**
+     * Count the users matching the specification, grouped by role and status
+     */
+    List<Object[]> countByRoleAndStatus(Specification<User> specification);
+}
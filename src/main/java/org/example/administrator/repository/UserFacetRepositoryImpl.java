@@ -0,0 +1,35 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.example.administrator.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Criteria implementation of the grouped user counts
+ */
+@RequiredArgsConstructor
+public class UserFacetRepositoryImpl implements UserFacetRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Object[]> countByRoleAndStatus(Specification<User> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<User> root = query.from(User.class);
+        query.multiselect(root.get("userRole"), root.get("userStatus"), cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(root.get("userRole"), root.get("userStatus"));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Lookups of users by their natural ID, answered from the second-level cache when possible
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Find user by username
+     */
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,26 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.administrator.entity.User;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Natural ID implementation of the username lookup.
+ * The username resolves to an ID through the natural ID cache and the user is then read from
+ * the entity cache, so a repeated lookup issues no query.
+ */
+@RequiredArgsConstructor
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(User.class)
+            .loadOptional(username);
+    }
+}
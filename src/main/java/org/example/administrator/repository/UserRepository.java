@@ -1,34 +1,67 @@
 package org.example.administrator.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.example.administrator.entity.User;
 import org.example.administrator.enums.UserRole;
 import org.example.administrator.enums.UserStatus;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for User entity with custom queries
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserFacetRepository,
+                                        UserNaturalIdRepository, UserBulkUpdateRepository {
 
     /**
-     * Find user by username
+     * Find user by email
      */
-    Optional<User> findByUsername(String username);
+    Optional<User> findByEmail(String email);
 
     /**
-     * Find user by email
+     * Find the usernames and emails already taken among the given ones
      */
-    Optional<User> findByEmail(String email);
+    @Query("SELECT u.username, u.email FROM User u WHERE u.username IN :usernames OR u.email IN :emails")
+    List<Object[]> findUsernamesAndEmailsIn(@Param("usernames") Collection<String> usernames,
+                                           @Param("emails") Collection<String> emails);
+
+    /**
+     * Find the IDs of users by username
+     */
+    @Query("SELECT u.username, u.id FROM User u WHERE u.username IN :usernames")
+    List<Object[]> findIdsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Stream the username and email of every user, deleted ones included.
+     * Rows are fetched from the server in chunks; the caller must close the stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username, u.email FROM User u")
+    Stream<Object[]> streamUsernamesAndEmails();
+
+    /**
+     * Stream the ID, username, first name and last name of every non-deleted user.
+     * Rows are fetched from the server in chunks; the caller must close the stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.id, u.username, u.firstName, u.lastName FROM User u WHERE u.isDeleted = false")
+    Stream<Object[]> streamSearchableNames();
 
     /**
      * Find user by username or email
@@ -104,6 +137,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     long countByUserStatusAndIsDeletedFalse(UserStatus userStatus);
 
+    /**
+     * Count users grouped by role, status and deletion flag
+     */
+    @Query("SELECT u.userRole, u.userStatus, u.isDeleted, COUNT(u) FROM User u GROUP BY u.userRole, u.userStatus, u.isDeleted")
+    List<Object[]> countUsersByRoleStatusAndDeleted();
+
     /**
      * Find users with failed login attempts
      */
@@ -119,9 +158,73 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Find users who haven't logged in recently
      */
-    @Query("SELECT u FROM User u WHERE u.lastLogin < :cutoffDate OR u.lastLogin IS NULL AND u.isDeleted = false")
+    @Query("SELECT u FROM User u WHERE (u.lastLogin < :cutoffDate OR u.lastLogin IS NULL) AND u.isDeleted = false")
     List<User> findInactiveUsers(@Param("cutoffDate") LocalDateTime cutoffDate);
 
+    /**
+     * Find the IDs of non-deleted users matching the filter, in ID order after the given ID.
+     * Null criteria are ignored.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.isDeleted = false AND u.id > :afterId " +
+           "AND (:userRole IS NULL OR u.userRole = :userRole) " +
+           "AND (:userStatus IS NULL OR u.userStatus = :userStatus) " +
+           "AND (:inactiveSince IS NULL OR u.lastLogin IS NULL OR u.lastLogin < :inactiveSince) " +
+           "ORDER BY u.id")
+    List<Long> findIdsByFilterAfter(@Param("userRole") UserRole userRole,
+                                    @Param("userStatus") UserStatus userStatus,
+                                    @Param("inactiveSince") LocalDateTime inactiveSince,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
+    /**
+     * Find the state of non-deleted users by ID and lock their rows until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id, u.userRole, u.userStatus, u.loginAttempts, u.accountLockedUntil FROM User u " +
+           "WHERE u.id IN :ids AND u.isDeleted = false")
+    List<Object[]> findStatesByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lock a user's row until the transaction ends and return its current version
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Find the IDs of non-deleted users whose account lock has expired, in ID order after the given
+     * ID, and lock their rows until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND u.isDeleted = false " +
+           "AND u.accountLockedUntil <= :now ORDER BY u.id")
+    List<Long> findIdsWithExpiredLockAfterForUpdate(@Param("afterId") Long afterId,
+                                                    @Param("now") LocalDateTime now,
+                                                    Pageable pageable);
+
+    /**
+     * Find the ID and role of non-deleted users in the given status who have not logged in since
+     * the cutoff (or, never having logged in, were created before it), in ID order after the given
+     * ID, and lock their rows until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id, u.userRole FROM User u WHERE u.id > :afterId AND u.isDeleted = false " +
+           "AND u.userStatus = :userStatus " +
+           "AND (u.lastLogin < :cutoff OR (u.lastLogin IS NULL AND u.createdAt < :cutoff)) ORDER BY u.id")
+    List<Object[]> findInactiveUsersAfterForUpdate(@Param("afterId") Long afterId,
+                                                   @Param("userStatus") UserStatus userStatus,
+                                                   @Param("cutoff") LocalDateTime cutoff,
+                                                   Pageable pageable);
+
+    /**
+     * Find the IDs of users soft-deleted before the cutoff, lowest first, and lock their rows until
+     * the transaction ends. Users deleted before deletion times were recorded count from their last update.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.isDeleted = true AND (u.deletedAt < :cutoff " +
+           "OR (u.deletedAt IS NULL AND u.updatedAt < :cutoff)) ORDER BY u.id")
+    List<Long> findIdsDeletedBeforeForUpdate(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
     /**
      * Check if username exists
      */
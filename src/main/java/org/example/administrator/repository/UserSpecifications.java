@@ -0,0 +1,56 @@
+package org.example.administrator.repository;
+
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Composable filters over users. Factories given a null or blank criterion return a
+ * specification that matches everything, so filters can be combined unconditionally.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Users that are not soft-deleted
+     */
+    public static Specification<User> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("isDeleted"));
+    }
+
+    /**
+     * Users with the given role
+     */
+    public static Specification<User> hasRole(UserRole userRole) {
+        return (root, query, cb) -> userRole == null ? null : cb.equal(root.get("userRole"), userRole);
+    }
+
+    /**
+     * Users with the given status
+     */
+    public static Specification<User> hasStatus(UserStatus userStatus) {
+        return (root, query, cb) -> userStatus == null ? null : cb.equal(root.get("userStatus"), userStatus);
+    }
+
+    /**
+     * Users whose first name, last name or username contains the term, ignoring case
+     */
+    public static Specification<User> nameContains(String searchTerm) {
+        return (root, query, cb) -> {
+            if (searchTerm == null || searchTerm.isBlank()) {
+                return null;
+            }
+            String pattern = "%" + searchTerm.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            return cb.or(
+                cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                cb.like(cb.lower(root.get("lastName")), pattern, '\\'),
+                cb.like(cb.lower(root.get("username")), pattern, '\\'));
+        };
+    }
+}
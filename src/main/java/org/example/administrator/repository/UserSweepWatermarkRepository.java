@@ -0,0 +1,25 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.administrator.entity.UserSweepWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for UserSweepWatermark entity
+ */
+@Repository
+public interface UserSweepWatermarkRepository extends JpaRepository<UserSweepWatermark, String> {
+
+    /**
+     * Find a watermark and lock it so instances sweeping at the same time take turns chunk by chunk
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM UserSweepWatermark w WHERE w.name = :name")
+    Optional<UserSweepWatermark> findByNameForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,61 @@
+package org.example.administrator.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.administrator.dto.UserActivityDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for activity listings.
+ * Activities are ordered by (activityTimestamp DESC, id DESC); a cursor marks the
+ * last row of the previous page and the next page starts strictly after it.
+ */
+@Getter
+@AllArgsConstructor
+public class ActivityCursor {
+
+    // Upper bound accepted by MySQL DATETIME, used as the position before the first row
+    private static final LocalDateTime MAX_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    public static final ActivityCursor FIRST = new ActivityCursor(MAX_TIMESTAMP, Long.MAX_VALUE);
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    /**
+     * Create a cursor positioned after the given activity
+     */
+    public static ActivityCursor after(UserActivityDTO activity) {
+        return new ActivityCursor(activity.getActivityTimestamp(), activity.getId());
+    }
+
+    /**
+     * Decode a cursor string; a blank cursor means the first page
+     */
+    public static ActivityCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new ActivityCursor(
+                LocalDateTime.parse(decoded.substring(0, separator)),
+                Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encode this cursor as an opaque URL-safe string
+     */
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
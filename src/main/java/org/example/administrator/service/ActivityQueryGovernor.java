@@ -0,0 +1,73 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.CursorPageDTO;
+import org.example.administrator.dto.UserActivityDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Enforces a row budget on activity listings.
+ * Every listing is executed as a keyset query limited to the budget; when more rows
+ * match, the result is marked as truncated and carries the cursor to continue from.
+ */
+@Component
+@Slf4j
+public class ActivityQueryGovernor {
+
+    private final int maxRows;
+    private final MeterRegistry meterRegistry;
+
+    public ActivityQueryGovernor(MeterRegistry meterRegistry,
+                                 @Value("${admin.activity.query.max-rows:1000}") int maxRows) {
+        this.meterRegistry = meterRegistry;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Resolve the number of rows a query may return; no limit means the full budget
+     */
+    public int rowBudget(Integer requestedRows) {
+        if (requestedRows == null) {
+            return maxRows;
+        }
+        return Math.max(1, Math.min(requestedRows, maxRows));
+    }
+
+    /**
+     * Run a keyset query within the row budget and convert it to a cursor page
+     */
+    public CursorPageDTO<UserActivityDTO> execute(String queryName, Integer requestedRows,
+                                                  Function<Pageable, Slice<UserActivityDTO>> query) {
+        int budget = rowBudget(requestedRows);
+        Slice<UserActivityDTO> slice = query.apply(PageRequest.of(0, budget));
+        List<UserActivityDTO> content = slice.getContent();
+
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            nextCursor = ActivityCursor.after(content.get(content.size() - 1)).encode();
+            truncationCounter(queryName).increment();
+            log.debug("Activity query {} truncated at {} rows", queryName, budget);
+        }
+        return new CursorPageDTO<>(content, content.size(), slice.hasNext(), nextCursor);
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    private Counter truncationCounter(String queryName) {
+        return Counter.builder("admin.activity.query.truncated")
+            .description("Activity listings cut off at the row budget")
+            .tag("query", queryName)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,443 @@
+package org.example.administrator.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.ActivitySeriesPointDTO;
+import org.example.administrator.dto.StatisticsSnapshotDTO;
+import org.example.administrator.entity.ActivityHourlyRollup;
+import org.example.administrator.entity.ActivityRollupWatermark;
+import org.example.administrator.enums.SeriesGranularity;
+import org.example.administrator.repository.ActivityHourlyRollupRepository;
+import org.example.administrator.repository.ActivityRollupWatermarkRepository;
+import org.example.administrator.repository.UserActivityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service maintaining hourly activity rollups and answering activity counts from them.
+ * A catch-up job aggregates every complete hour up to a persisted watermark; counts over
+ * a range read whole hours below the watermark from the rollup table and only the
+ * partial hour at the start and the unrolled tail from user_activities.
+ */
+@Service
+@Slf4j
+@Transactional
+public class ActivityRollupService {
+
+    static final String HOURLY = "hourly";
+    static final LocalDateTime ALL_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime ALL_TIME_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final UserActivityRepository userActivityRepository;
+    private final ActivityHourlyRollupRepository rollupRepository;
+    private final ActivityRollupWatermarkRepository watermarkRepository;
+    private final boolean enabled;
+    private final long lagMinutes;
+    private final int maxHoursPerRun;
+    private final long maxSeriesBuckets;
+
+    private record SeriesKey(LocalDateTime bucketStart, String activityType, Boolean success) {
+    }
+
+    private static final Comparator<SeriesKey> SERIES_ORDER = Comparator.comparing(SeriesKey::bucketStart)
+        .thenComparing(SeriesKey::activityType, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(SeriesKey::success, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // May lag the stored watermark but never runs ahead of it, so reads never count a bucket twice
+    private volatile LocalDateTime rolledUpTo;
+
+    public ActivityRollupService(UserActivityRepository userActivityRepository,
+                                 ActivityHourlyRollupRepository rollupRepository,
+                                 ActivityRollupWatermarkRepository watermarkRepository,
+                                 @Value("${admin.activity.rollup.enabled:true}") boolean enabled,
+                                 @Value("${admin.activity.rollup.lag-minutes:5}") long lagMinutes,
+                                 @Value("${admin.activity.rollup.max-hours-per-run:720}") int maxHoursPerRun,
+                                 @Value("${admin.activity.series.max-buckets:5000}") long maxSeriesBuckets) {
+        this.userActivityRepository = userActivityRepository;
+        this.rollupRepository = rollupRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.enabled = enabled;
+        this.lagMinutes = lagMinutes;
+        this.maxHoursPerRun = maxHoursPerRun;
+        this.maxSeriesBuckets = maxSeriesBuckets;
+    }
+
+    /**
+     * Load the stored watermark once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadWatermark() {
+        rolledUpTo = watermarkRepository.findById(HOURLY)
+            .map(ActivityRollupWatermark::getRolledUpTo)
+            .orElse(null);
+        log.info("Activity rollups complete up to {}", rolledUpTo);
+    }
+
+    /**
+     * Periodically roll up complete hours
+     */
+    @Scheduled(initialDelayString = "${admin.activity.rollup.interval-ms:60000}",
+               fixedDelayString = "${admin.activity.rollup.interval-ms:60000}")
+    public void scheduledRollUp() {
+        if (!enabled) {
+            return;
+        }
+        int buckets = rollUp();
+        if (buckets > 0) {
+            log.debug("Rolled up {} activity buckets", buckets);
+        }
+    }
+
+    /**
+     * Aggregate every hour between the watermark and the lag cutoff into rollup buckets.
+     * The watermark row is locked so only one instance advances it at a time.
+     */
+    public int rollUp() {
+        LocalDateTime target = floorHour(LocalDateTime.now().minusMinutes(lagMinutes));
+
+        LocalDateTime from = watermarkRepository.findByNameForUpdate(HOURLY)
+            .map(ActivityRollupWatermark::getRolledUpTo)
+            .orElse(null);
+        if (from == null) {
+            LocalDateTime earliest = userActivityRepository.findEarliestActivityTimestamp();
+            from = earliest == null ? target : floorHour(earliest);
+        }
+
+        LocalDateTime to = from.plusHours(maxHoursPerRun);
+        if (to.isAfter(target)) {
+            to = target;
+        }
+
+        int buckets = 0;
+        if (from.isBefore(to)) {
+            List<ActivityHourlyRollup> rollups = toRollups(userActivityRepository.countActivitiesByHour(from, to));
+            rollupRepository.saveAll(rollups);
+            buckets = rollups.size();
+            log.info("Rolled up activities from {} to {} into {} buckets", from, to, buckets);
+        } else {
+            to = from;
+        }
+
+        watermarkRepository.save(new ActivityRollupWatermark(HOURLY, to, LocalDateTime.now()));
+        publishWatermark(to);
+        return buckets;
+    }
+
+    /**
+     * Count activities between two timestamps (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public long countActivitiesBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime[] split = split(startDate, endDate, rolledUpTo);
+        long count = userActivityRepository.countActivitiesOutsideRollups(startDate, split[0], split[1], endDate);
+        if (split[0].isBefore(split[1])) {
+            count += rollupRepository.sumActivityCount(split[0], split[1]);
+        }
+        return count;
+    }
+
+    /**
+     * Count activities per type between two timestamps (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countActivitiesByType(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime[] split = split(startDate, endDate, rolledUpTo);
+        Map<String, Long> counts = new HashMap<>();
+        mergeTypeCounts(counts,
+            userActivityRepository.countActivitiesByTypeOutsideRollups(startDate, split[0], split[1], endDate));
+        if (split[0].isBefore(split[1])) {
+            mergeTypeCounts(counts, rollupRepository.sumActivityCountByType(split[0], split[1]));
+        }
+        return counts;
+    }
+
+    /**
+     * Count activities per outcome between two timestamps (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public Map<Boolean, Long> countActivitiesBySuccess(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime[] split = split(startDate, endDate, rolledUpTo);
+        Map<Boolean, Long> counts = new HashMap<>();
+        for (Object[] row : userActivityRepository.countActivitiesBySuccessOutsideRollups(
+                startDate, split[0], split[1], endDate)) {
+            counts.merge((Boolean) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        if (split[0].isBefore(split[1])) {
+            for (Object[] row : rollupRepository.sumActivityCountBySuccess(split[0], split[1])) {
+                counts.merge((Boolean) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Count activities per bucket, activity type and outcome between two timestamps (inclusive).
+     * Hour and day buckets read whole rolled-up hours from the rollup table; minute buckets are
+     * finer than the rollups and always come from user_activities.
+     */
+    @Transactional(readOnly = true)
+    public List<ActivitySeriesPointDTO> countActivitySeries(LocalDateTime startDate, LocalDateTime endDate,
+                                                            SeriesGranularity granularity) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        long buckets = granularity.bucketsBetween(startDate, endDate);
+        if (buckets > maxSeriesBuckets) {
+            throw new IllegalArgumentException("Range spans " + buckets + " " + granularity.name().toLowerCase() +
+                " buckets; at most " + maxSeriesBuckets + " are allowed, use a coarser granularity");
+        }
+        LocalDateTime[] split = granularity == SeriesGranularity.MINUTE
+            ? new LocalDateTime[] {startDate, startDate}
+            : split(startDate, endDate, rolledUpTo);
+        boolean useRollups = split[0].isBefore(split[1]);
+
+        Map<SeriesKey, Long> counts = new TreeMap<>(SERIES_ORDER);
+        switch (granularity) {
+            case MINUTE -> mergeSeries(counts,
+                userActivityRepository.countActivitiesByMinuteOutsideRollups(startDate, split[0], split[1], endDate));
+            case HOUR -> {
+                mergeSeries(counts,
+                    userActivityRepository.countActivitiesByHourOutsideRollups(startDate, split[0], split[1], endDate));
+                if (useRollups) {
+                    mergeSeries(counts, rollupRepository.sumActivityCountByHour(split[0], split[1]));
+                }
+            }
+            case DAY -> {
+                mergeSeries(counts,
+                    userActivityRepository.countActivitiesByDayOutsideRollups(startDate, split[0], split[1], endDate));
+                if (useRollups) {
+                    mergeSeries(counts, rollupRepository.sumActivityCountByDay(split[0], split[1]));
+                }
+            }
+        }
+
+        List<ActivitySeriesPointDTO> points = new ArrayList<>(counts.size());
+        counts.forEach((key, count) ->
+            points.add(new ActivitySeriesPointDTO(key.bucketStart(), key.activityType(), key.success(), count)));
+        return points;
+    }
+
+    /**
+     * Count activities per type over all time
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countActivitiesByType() {
+        return countActivitiesByType(ALL_TIME, ALL_TIME_END);
+    }
+
+    /**
+     * Fill the activity part of a statistics snapshot as of its generation time
+     */
+    @Transactional(readOnly = true)
+    public void applyActivityStatistics(StatisticsSnapshotDTO snapshot, String failedLoginType) {
+        LocalDateTime now = snapshot.getGeneratedAt();
+        LocalDateTime watermark = rolledUpTo;
+        if (watermark != null && watermark.isAfter(floorHour(now))) {
+            watermark = floorHour(now);
+        }
+        LocalDateTime since24Hours = now.minusHours(24);
+        LocalDateTime since7Days = now.minusDays(7);
+        LocalDateTime since30Days = now.minusDays(30);
+        LocalDateTime[] split24Hours = split(since24Hours, now, watermark);
+        LocalDateTime[] split7Days = split(since7Days, now, watermark);
+        LocalDateTime[] split30Days = split(since30Days, now, watermark);
+
+        long[] counts = toLongs(userActivityRepository.aggregateActivityStatistics(now,
+            watermark == null ? ALL_TIME : watermark,
+            since24Hours, split24Hours[0], split24Hours[1],
+            since7Days, split7Days[0], split7Days[1],
+            since30Days, split30Days[0], split30Days[1],
+            failedLoginType).get(0));
+        // Without a watermark everything came from the raw scan; skip the rollup round trip
+        if (watermark != null) {
+            long[] rolledUp = toLongs(rollupRepository.aggregateActivityStatistics(watermark,
+                split24Hours[0], split24Hours[1],
+                split7Days[0], split7Days[1],
+                split30Days[0], split30Days[1],
+                failedLoginType).get(0));
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += rolledUp[i];
+            }
+        }
+
+        snapshot.setTotalActivities(counts[0]);
+        snapshot.setSuccessfulActivities(counts[1]);
+        snapshot.setFailedActivities(counts[2]);
+        snapshot.setActivitiesLast24Hours(counts[3]);
+        snapshot.setActivitiesLast7Days(counts[4]);
+        snapshot.setActivitiesLast30Days(counts[5]);
+        snapshot.setFailedLoginAttempts(counts[6]);
+    }
+
+    /**
+     * Drop rollups for activities deleted before the cutoff; the hour containing the cutoff is rebuilt
+     * from the remaining rows
+     */
+    public void discardBefore(LocalDateTime cutoffDate) {
+        LocalDateTime watermark = watermarkRepository.findByNameForUpdate(HOURLY)
+            .map(ActivityRollupWatermark::getRolledUpTo)
+            .orElse(null);
+        if (watermark == null) {
+            return;
+        }
+
+        LocalDateTime cutoffHour = floorHour(cutoffDate);
+        int deleted = rollupRepository.deleteBucketsBefore(cutoffHour);
+        if (cutoffHour.isBefore(cutoffDate) && cutoffHour.isBefore(watermark)) {
+            rollupRepository.deleteBucket(cutoffHour);
+            rollupRepository.saveAll(toRollups(
+                userActivityRepository.countActivitiesByHour(cutoffHour, cutoffHour.plusHours(1))));
+        }
+        log.info("Discarded {} activity rollup buckets before {}", deleted, cutoffDate);
+    }
+
+    /**
+     * Take the rolled-up activities of the given users out of their buckets before the activities
+     * themselves are removed, so the rollups keep matching user_activities; emptied buckets are dropped
+     */
+    public void discardUserActivities(Collection<Long> userIds) {
+        LocalDateTime watermark = watermarkRepository.findByNameForUpdate(HOURLY)
+            .map(ActivityRollupWatermark::getRolledUpTo)
+            .orElse(null);
+        if (watermark == null) {
+            return;
+        }
+
+        List<ActivityHourlyRollup> removed = toRollups(
+            userActivityRepository.countActivitiesByHourForUsers(userIds, watermark));
+        if (removed.isEmpty()) {
+            return;
+        }
+        Map<SeriesKey, ActivityHourlyRollup> buckets = new HashMap<>();
+        for (ActivityHourlyRollup bucket : rollupRepository.findByBucketStartIn(
+                removed.stream().map(ActivityHourlyRollup::getBucketStart).distinct().toList())) {
+            buckets.put(key(bucket), bucket);
+        }
+        for (ActivityHourlyRollup activities : removed) {
+            ActivityHourlyRollup bucket = buckets.get(key(activities));
+            if (bucket == null) {
+                continue;
+            }
+            long remaining = bucket.getActivityCount() - activities.getActivityCount();
+            if (remaining > 0) {
+                bucket.setActivityCount(remaining);
+            } else {
+                rollupRepository.delete(bucket);
+            }
+        }
+    }
+
+    public LocalDateTime getRolledUpTo() {
+        return rolledUpTo;
+    }
+
+    /**
+     * Split [startDate, endDate] into whole rolled-up hours [rollupFrom, rollupTo) and the raw remainder.
+     * When no whole hour is rolled up both bounds collapse onto one point inside the range, so the raw
+     * queries cover all of it.
+     */
+    private LocalDateTime[] split(LocalDateTime startDate, LocalDateTime endDate, LocalDateTime watermark) {
+        LocalDateTime rollupFrom = ceilHour(startDate);
+        LocalDateTime rollupTo = watermark == null ? rollupFrom : min(floorHour(endDate), watermark);
+        if (!rollupFrom.isBefore(rollupTo)) {
+            LocalDateTime point = watermark == null || watermark.isBefore(startDate)
+                ? startDate
+                : min(watermark, endDate);
+            if (point.isBefore(startDate)) {
+                point = startDate;
+            }
+            return new LocalDateTime[] {point, point};
+        }
+        return new LocalDateTime[] {rollupFrom, rollupTo};
+    }
+
+    private List<ActivityHourlyRollup> toRollups(List<Object[]> rows) {
+        List<ActivityHourlyRollup> rollups = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            LocalDateTime bucketStart = LocalDateTime.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                ((Number) row[2]).intValue(), ((Number) row[3]).intValue(), 0);
+            rollups.add(new ActivityHourlyRollup(bucketStart, (String) row[4], (Boolean) row[5],
+                ((Number) row[6]).longValue()));
+        }
+        return rollups;
+    }
+
+    private static SeriesKey key(ActivityHourlyRollup rollup) {
+        return new SeriesKey(rollup.getBucketStart(), rollup.getActivityType(), rollup.getSuccess());
+    }
+
+    private void mergeTypeCounts(Map<String, Long> counts, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            counts.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+    }
+
+    /**
+     * Merge rows of (year, month, day[, hour[, minute]], type, success, count) into the series
+     */
+    private void mergeSeries(Map<SeriesKey, Long> counts, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            int timeParts = row.length - 3;
+            LocalDateTime bucketStart = LocalDateTime.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                ((Number) row[2]).intValue(),
+                timeParts > 3 ? ((Number) row[3]).intValue() : 0,
+                timeParts > 4 ? ((Number) row[4]).intValue() : 0);
+            SeriesKey key = new SeriesKey(bucketStart, (String) row[timeParts], (Boolean) row[timeParts + 1]);
+            counts.merge(key, ((Number) row[timeParts + 2]).longValue(), Long::sum);
+        }
+    }
+
+    // SUM over no rows is NULL
+    private long[] toLongs(Object[] row) {
+        long[] values = new long[row.length];
+        for (int i = 0; i < row.length; i++) {
+            values[i] = row[i] == null ? 0 : ((Number) row[i]).longValue();
+        }
+        return values;
+    }
+
+    /**
+     * Expose the new watermark to readers only once it is committed
+     */
+    private void publishWatermark(LocalDateTime watermark) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rolledUpTo = watermark;
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rolledUpTo = watermark;
+            }
+        });
+    }
+
+    private static LocalDateTime floorHour(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static LocalDateTime ceilHour(LocalDateTime timestamp) {
+        LocalDateTime floor = floorHour(timestamp);
+        return floor.equals(timestamp) ? floor : floor.plusHours(1);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -2,18 +2,22 @@ package org.example.administrator.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.CursorPageDTO;
+import org.example.administrator.dto.StatisticsSnapshotDTO;
 import org.example.administrator.dto.SystemReportDTO;
 import org.example.administrator.dto.UserActivityDTO;
 import org.example.administrator.dto.UserResponseDTO;
 import org.example.administrator.entity.SystemConfiguration;
 import org.example.administrator.entity.User;
-import org.example.administrator.enums.UserRole;
 import org.example.administrator.enums.UserStatus;
+import org.example.administrator.health.ActivityFailureRateHealthIndicator;
+import org.example.administrator.health.DatabaseHealthIndicator;
 import org.example.administrator.repository.UserActivityRepository;
-import org.example.administrator.repository.UserRepository;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -31,16 +35,30 @@ import java.util.stream.Collectors;
 @Transactional
 public class AdminService {
 
+    private static final int DASHBOARD_ACTIVITY_ROWS = 10;
+
+    // Report sections computed concurrently
+    private static final String USERS_SECTION = "users";
+    private static final String ACTIVITIES_SECTION = "activities";
+    private static final String RECENT_ACTIVITIES_SECTION = "recentActivities";
+    private static final String CONFIGURATIONS_SECTION = "configurations";
+    private static final String WINDOW_SECTION = "activitiesInWindow";
+    private static final String OUTCOMES_SECTION = "activitiesByOutcome";
+    private static final String TYPES_SECTION = "activitiesByType";
+
     private final UserService userService;
     private final UserActivityService userActivityService;
     private final SystemConfigurationService systemConfigurationService;
-    private final UserRepository userRepository;
+    private final StatisticsService statisticsService;
+    private final ReportSectionExecutor reportSectionExecutor;
+    private final DatabaseHealthIndicator databaseHealthIndicator;
+    private final ActivityFailureRateHealthIndicator activityFailureRateHealthIndicator;
     private final UserActivityRepository userActivityRepository;
 
     /**
      * Generate system overview report
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SystemReportDTO generateSystemOverviewReport() {
         log.info("Generating system overview report");
 
@@ -50,46 +68,34 @@ public class AdminService {
         report.setGeneratedAt(LocalDateTime.now());
         report.setGeneratedBy("SYSTEM");
 
-        // User statistics
-        report.setTotalUsers(userService.getUserCount());
-        report.setActiveUsers(userService.getUserCountByStatus(UserStatus.ACTIVE));
-        report.setBlockedUsers(userService.getUserCountByStatus(UserStatus.BLOCKED));
-        report.setPendingUsers(userService.getUserCountByStatus(UserStatus.PENDING));
-
-        // Users by role
-        Map<String, Long> usersByRole = new HashMap<>();
-        for (UserRole role : UserRole.values()) {
-            usersByRole.put(role.name(), userService.getUserCountByRole(role));
-        }
-        report.setUsersByRole(usersByRole);
-
-        // Users by status
-        Map<String, Long> usersByStatus = new HashMap<>();
-        for (UserStatus status : UserStatus.values()) {
-            usersByStatus.put(status.name(), userService.getUserCountByStatus(status));
-        }
-        report.setUsersByStatus(usersByStatus);
-
-        // Activity statistics
-        report.setTotalActivities(userActivityService.getTotalActivityCount());
-        report.setSuccessfulActivities(userActivityService.getActivityCountBySuccess(true));
-        report.setFailedActivities(userActivityService.getActivityCountBySuccess(false));
-        report.setActivitiesLast24Hours(userActivityService.getActivityCountBetweenDates(
-            LocalDateTime.now().minusHours(24), LocalDateTime.now()));
-        report.setActivitiesLast7Days(userActivityService.getActivityCountBetweenDates(
-            LocalDateTime.now().minusDays(7), LocalDateTime.now()));
-        report.setActivitiesLast30Days(userActivityService.getActivityCountBetweenDates(
-            LocalDateTime.now().minusDays(30), LocalDateTime.now()));
+        LocalDateTime now = report.getGeneratedAt();
+        ReportSectionExecutor.Sections sections = reportSectionExecutor.run(Map.of(
+            USERS_SECTION, statisticsService::getUserStatistics,
+            ACTIVITIES_SECTION, () -> statisticsService.getActivityStatistics(now),
+            CONFIGURATIONS_SECTION, systemConfigurationService::getTotalConfigurationCount));
+
+        sections.<StatisticsSnapshotDTO>get(USERS_SECTION).ifPresent(users -> {
+            applyUserStatistics(report, users);
+            report.setLockedAccounts(users.getUserCountByStatus(UserStatus.BLOCKED.name()));
+        });
+
+        // Activity and security statistics
+        sections.<StatisticsSnapshotDTO>get(ACTIVITIES_SECTION).ifPresent(activities -> {
+            report.setTotalActivities(activities.getTotalActivities());
+            report.setSuccessfulActivities(activities.getSuccessfulActivities());
+            report.setFailedActivities(activities.getFailedActivities());
+            report.setActivitiesLast24Hours(activities.getActivitiesLast24Hours());
+            report.setActivitiesLast7Days(activities.getActivitiesLast7Days());
+            report.setActivitiesLast30Days(activities.getActivitiesLast30Days());
+            report.setFailedLoginAttempts(activities.getFailedLoginAttempts());
+        });
 
         // System statistics
-        report.setTotalConfigurations(systemConfigurationService.getTotalConfigurationCount());
+        sections.<Long>get(CONFIGURATIONS_SECTION).ifPresent(report::setTotalConfigurations);
         report.setSystemVersion("1.0.0");
         report.setLastSystemRestart(LocalDateTime.now().minusDays(1)); // Placeholder
 
-        // Security statistics
-        report.setFailedLoginAttempts(userActivityService.getActivityCountByType("LOGIN_FAILED"));
-        report.setLockedAccounts(userService.getUserCountByStatus(UserStatus.BLOCKED));
-
+        markPartial(report, sections);
         log.info("System overview report generated successfully");
         return report;
     }
@@ -97,7 +103,7 @@ public class AdminService {
     /**
      * Generate user statistics report
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SystemReportDTO generateUserStatisticsReport() {
         log.info("Generating user statistics report");
 
@@ -107,30 +113,17 @@ public class AdminService {
         report.setGeneratedAt(LocalDateTime.now());
         report.setGeneratedBy("SYSTEM");
 
-        // User counts
-        report.setTotalUsers(userService.getUserCount());
-        report.setActiveUsers(userService.getUserCountByStatus(UserStatus.ACTIVE));
-        report.setBlockedUsers(userService.getUserCountByStatus(UserStatus.BLOCKED));
-        report.setPendingUsers(userService.getUserCountByStatus(UserStatus.PENDING));
-
-        // Users by role
-        Map<String, Long> usersByRole = new HashMap<>();
-        for (UserRole role : UserRole.values()) {
-            usersByRole.put(role.name(), userService.getUserCountByRole(role));
-        }
-        report.setUsersByRole(usersByRole);
+        LocalDateTime now = report.getGeneratedAt();
+        ReportSectionExecutor.Sections sections = reportSectionExecutor.run(Map.of(
+            USERS_SECTION, statisticsService::getUserStatistics,
+            RECENT_ACTIVITIES_SECTION, () -> userActivityService.getActivityCountBetweenDates(now.minusHours(24), now)));
 
-        // Users by status
-        Map<String, Long> usersByStatus = new HashMap<>();
-        for (UserStatus status : UserStatus.values()) {
-            usersByStatus.put(status.name(), userService.getUserCountByStatus(status));
-        }
-        report.setUsersByStatus(usersByStatus);
+        sections.<StatisticsSnapshotDTO>get(USERS_SECTION).ifPresent(users -> applyUserStatistics(report, users));
 
         // Recent user activities
-        List<UserActivityDTO> recentActivities = userActivityService.getRecentActivities(24);
-        report.setActivitiesLast24Hours((long) recentActivities.size());
+        sections.<Long>get(RECENT_ACTIVITIES_SECTION).ifPresent(report::setActivitiesLast24Hours);
 
+        markPartial(report, sections);
         log.info("User statistics report generated successfully");
         return report;
     }
@@ -138,7 +131,7 @@ public class AdminService {
     /**
      * Generate activity report
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SystemReportDTO generateActivityReport(int hours) {
         log.info("Generating activity report for last {} hours", hours);
 
@@ -151,27 +144,40 @@ public class AdminService {
         LocalDateTime startDate = LocalDateTime.now().minusHours(hours);
         LocalDateTime endDate = LocalDateTime.now();
 
+        ReportSectionExecutor.Sections sections = reportSectionExecutor.run(Map.of(
+            WINDOW_SECTION, () -> userActivityService.getActivityCountBetweenDates(startDate, endDate),
+            OUTCOMES_SECTION, () -> userActivityService.getActivityCountBySuccessBetweenDates(startDate, endDate),
+            TYPES_SECTION, () -> userActivityService.getMostFrequentActivityTypes(startDate, endDate)));
+
         // Activity statistics
-        report.setTotalActivities(userActivityService.getActivityCountBetweenDates(startDate, endDate));
-        report.setSuccessfulActivities(userActivityService.getActivityCountBySuccess(true));
-        report.setFailedActivities(userActivityService.getActivityCountBySuccess(false));
+        sections.<Long>get(WINDOW_SECTION).ifPresent(total -> {
+            report.setTotalActivities(total);
+            report.setActivitiesLast24Hours(total);
+        });
+        sections.<Map<Boolean, Long>>get(OUTCOMES_SECTION).ifPresent(outcomes -> {
+            report.setSuccessfulActivities(outcomes.getOrDefault(true, 0L));
+            report.setFailedActivities(outcomes.getOrDefault(false, 0L));
+        });
 
         // Activities by type
-        Map<String, Long> activitiesByType = new HashMap<>();
-        List<Object[]> activityTypes = userActivityService.getMostFrequentActivityTypes();
-        for (Object[] activityType : activityTypes) {
-            activitiesByType.put((String) activityType[0], (Long) activityType[1]);
-        }
-        report.setActivitiesByType(activitiesByType);
-
-        // Recent activities
-        List<UserActivityDTO> recentActivities = userActivityService.getRecentActivities(hours);
-        report.setActivitiesLast24Hours((long) recentActivities.size());
-
+        sections.<List<Object[]>>get(TYPES_SECTION).ifPresent(activityTypes -> {
+            Map<String, Long> activitiesByType = new HashMap<>();
+            for (Object[] activityType : activityTypes) {
+                activitiesByType.put((String) activityType[0], (Long) activityType[1]);
+            }
+            report.setActivitiesByType(activitiesByType);
+        });
+
+        markPartial(report, sections);
         log.info("Activity report generated successfully");
         return report;
     }
 
+    private void markPartial(SystemReportDTO report, ReportSectionExecutor.Sections sections) {
+        report.setPartial(sections.isPartial());
+        report.setMissingSections(sections.getMissing());
+    }
+
     /**
      * Get system health status
      */
@@ -181,33 +187,36 @@ public class AdminService {
 
         Map<String, Object> healthStatus = new HashMap<>();
 
-        // Database connectivity
-        try {
-            userRepository.count();
-            healthStatus.put("database", "HEALTHY");
-        } catch (Exception e) {
-            healthStatus.put("database", "UNHEALTHY");
-            log.error("Database connectivity issue", e);
-        }
+        // Database connectivity, from the last background ping
+        Health database = databaseHealthIndicator.health();
+        healthStatus.put("database", databaseHealthIndicator.isAvailable() ? "HEALTHY" : "UNHEALTHY");
+        healthStatus.put("databaseLatencyMs", database.getDetails().get("latencyMs"));
+
+        StatisticsSnapshotDTO snapshot = statisticsService.getSnapshot();
 
         // User system status
-        long totalUsers = userService.getUserCount();
-        long activeUsers = userService.getUserCountByStatus(UserStatus.ACTIVE);
+        long totalUsers = snapshot.getTotalUsers();
+        long activeUsers = snapshot.getUserCountByStatus(UserStatus.ACTIVE.name());
         healthStatus.put("totalUsers", totalUsers);
         healthStatus.put("activeUsers", activeUsers);
         healthStatus.put("userSystem", totalUsers > 0 ? "HEALTHY" : "WARNING");
 
         // Activity system status
-        long totalActivities = userActivityService.getTotalActivityCount();
-        long failedActivities = userActivityService.getActivityCountBySuccess(false);
-        double failureRate = totalActivities > 0 ? (double) failedActivities / totalActivities : 0;
+        long totalActivities = snapshot.getTotalActivities();
+        long failedActivities = snapshot.getFailedActivities();
+        // Recent failure rate from the sliding window; all-time rate until the first window is counted
+        Double windowFailureRate = activityFailureRateHealthIndicator.getFailureRate();
+        double failureRate = windowFailureRate != null ? windowFailureRate
+            : totalActivities > 0 ? (double) failedActivities / totalActivities : 0;
         healthStatus.put("totalActivities", totalActivities);
         healthStatus.put("failedActivities", failedActivities);
         healthStatus.put("failureRate", failureRate);
+        healthStatus.put("failureRateWindowMinutes",
+            windowFailureRate != null ? activityFailureRateHealthIndicator.getWindowMinutes() : null);
         healthStatus.put("activitySystem", failureRate < 0.1 ? "HEALTHY" : "WARNING");
 
         // Configuration system status
-        long totalConfigurations = systemConfigurationService.getTotalConfigurationCount();
+        long totalConfigurations = snapshot.getTotalConfigurations();
         healthStatus.put("totalConfigurations", totalConfigurations);
         healthStatus.put("configurationSystem", totalConfigurations > 0 ? "HEALTHY" : "WARNING");
 
@@ -233,43 +242,38 @@ public class AdminService {
 
         Map<String, Object> statistics = new HashMap<>();
 
+        StatisticsSnapshotDTO snapshot = statisticsService.getSnapshot();
+
         // User statistics
-        statistics.put("totalUsers", userService.getUserCount());
-        statistics.put("activeUsers", userService.getUserCountByStatus(UserStatus.ACTIVE));
-        statistics.put("blockedUsers", userService.getUserCountByStatus(UserStatus.BLOCKED));
-        statistics.put("pendingUsers", userService.getUserCountByStatus(UserStatus.PENDING));
+        statistics.put("totalUsers", snapshot.getTotalUsers());
+        statistics.put("activeUsers", snapshot.getUserCountByStatus(UserStatus.ACTIVE.name()));
+        statistics.put("blockedUsers", snapshot.getUserCountByStatus(UserStatus.BLOCKED.name()));
+        statistics.put("pendingUsers", snapshot.getUserCountByStatus(UserStatus.PENDING.name()));
 
         // Activity statistics
-        statistics.put("totalActivities", userActivityService.getTotalActivityCount());
-        statistics.put("activitiesLast24Hours", userActivityService.getActivityCountBetweenDates(
-            LocalDateTime.now().minusHours(24), LocalDateTime.now()));
-        statistics.put("activitiesLast7Days", userActivityService.getActivityCountBetweenDates(
-            LocalDateTime.now().minusDays(7), LocalDateTime.now()));
+        statistics.put("totalActivities", snapshot.getTotalActivities());
+        statistics.put("activitiesLast24Hours", snapshot.getActivitiesLast24Hours());
+        statistics.put("activitiesLast7Days", snapshot.getActivitiesLast7Days());
 
         // System statistics
-        statistics.put("totalConfigurations", systemConfigurationService.getTotalConfigurationCount());
+        statistics.put("totalConfigurations", snapshot.getTotalConfigurations());
 
         // Recent activities
-        List<UserActivityDTO> recentActivities = userActivityService.getRecentActivities(24);
-        statistics.put("recentActivities", recentActivities);
+        CursorPageDTO<UserActivityDTO> recentActivities = userActivityService.getRecentActivities(
+            24, null, DASHBOARD_ACTIVITY_ROWS);
+        statistics.put("recentActivities", recentActivities.getContent());
+        statistics.put("recentActivitiesTruncated", recentActivities.isHasNext());
 
         // Failed activities
-        List<UserActivityDTO> failedActivities = userActivityService.getFailedActivities();
-        statistics.put("failedActivities", failedActivities);
-
-        // Users by role
-        Map<String, Long> usersByRole = new HashMap<>();
-        for (UserRole role : UserRole.values()) {
-            usersByRole.put(role.name(), userService.getUserCountByRole(role));
-        }
-        statistics.put("usersByRole", usersByRole);
+        CursorPageDTO<UserActivityDTO> failedActivities = userActivityService.getFailedActivities(
+            null, DASHBOARD_ACTIVITY_ROWS);
+        statistics.put("failedActivities", failedActivities.getContent());
+        statistics.put("failedActivitiesTruncated", failedActivities.isHasNext());
 
-        // Users by status
-        Map<String, Long> usersByStatus = new HashMap<>();
-        for (UserStatus status : UserStatus.values()) {
-            usersByStatus.put(status.name(), userService.getUserCountByStatus(status));
-        }
-        statistics.put("usersByStatus", usersByStatus);
+        // Users by role and status
+        statistics.put("usersByRole", snapshot.getUsersByRole());
+        statistics.put("usersByStatus", snapshot.getUsersByStatus());
+        statistics.put("usersByRoleAndStatus", snapshot.getUsersByRoleAndStatus());
 
         statistics.put("timestamp", LocalDateTime.now());
 
@@ -277,6 +281,18 @@ public class AdminService {
         return statistics;
     }
 
+    /**
+     * Copy the user counts of a snapshot into a report
+     */
+    private void applyUserStatistics(SystemReportDTO report, StatisticsSnapshotDTO snapshot) {
+        report.setTotalUsers(snapshot.getTotalUsers());
+        report.setActiveUsers(snapshot.getUserCountByStatus(UserStatus.ACTIVE.name()));
+        report.setBlockedUsers(snapshot.getUserCountByStatus(UserStatus.BLOCKED.name()));
+        report.setPendingUsers(snapshot.getUserCountByStatus(UserStatus.PENDING.name()));
+        report.setUsersByRole(snapshot.getUsersByRole());
+        report.setUsersByStatus(snapshot.getUsersByStatus());
+    }
+
     /**
      * Clean up old data
      */
@@ -0,0 +1,188 @@
+package org.example.administrator.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.BulkUserOperationResultDTO;
+import org.example.administrator.dto.BulkUserSelectionDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.BulkUserAction;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserRepository;
+import org.example.administrator.service.UserPopulationCounters.UserState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Applies one state change to many users with set-based updates.
+ * Users are processed chunk-size at a time, each chunk in its own transaction: the rows
+ * are locked and read once, users already in the target state are skipped, the rest are
+ * changed with one UPDATE and get their activities written as one JDBC batch. Chunks
+ * committed before a failure stay applied.
+ */
+@Service
+@Slf4j
+public class BulkUserOperationService {
+
+    private final UserRepository userRepository;
+    private final UserActivityWriter userActivityWriter;
+    private final UserPopulationCounters userPopulationCounters;
+    private final UserSearchIndex userSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkUserOperationService(UserRepository userRepository,
+                                    UserActivityWriter userActivityWriter,
+                                    UserPopulationCounters userPopulationCounters,
+                                    UserSearchIndex userSearchIndex,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${admin.users.bulk.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.userActivityWriter = userActivityWriter;
+        this.userPopulationCounters = userPopulationCounters;
+        this.userSearchIndex = userSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * A locked user row as it was before the change
+     */
+    private record Target(Long id, UserState state, int loginAttempts, LocalDateTime accountLockedUntil) {
+    }
+
+    /**
+     * Running totals across chunks
+     */
+    private static class Tally {
+
+        private long matched;
+        private long affected;
+        private long notFound;
+    }
+
+    /**
+     * Apply the action to the selected users. Lock requires a positive number of minutes.
+     */
+    public BulkUserOperationResultDTO apply(BulkUserAction action, BulkUserSelectionDTO selection,
+                                            Integer minutes, String performedBy) {
+        if (selection.hasUserIds() == selection.hasFilter()) {
+            throw new IllegalArgumentException("Select users either by userIds or by a filter, not both");
+        }
+        if (action == BulkUserAction.LOCK && (minutes == null || minutes <= 0)) {
+            throw new IllegalArgumentException("Locking requires a positive number of minutes");
+        }
+        log.info("Applying bulk {} for {}", action, performedBy);
+
+        // Every user in the operation is locked until the same time
+        LocalDateTime lockedUntil = action == BulkUserAction.LOCK ? LocalDateTime.now().plusMinutes(minutes) : null;
+        Tally tally = new Tally();
+
+        if (selection.hasUserIds()) {
+            List<Long> ids = selection.getUserIds().stream().filter(Objects::nonNull).distinct().toList();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                int found = transactionTemplate.execute(status -> applyChunk(action, chunk, lockedUntil, performedBy, tally));
+                tally.notFound += chunk.size() - found;
+            }
+        } else {
+            long afterId = 0;
+            int selected;
+            do {
+                long after = afterId;
+                List<Long> chunk = transactionTemplate.execute(status -> {
+                    List<Long> ids = userRepository.findIdsByFilterAfter(selection.getUserRole(),
+                        selection.getUserStatus(), selection.getInactiveSince(), after, PageRequest.of(0, chunkSize));
+                    if (!ids.isEmpty()) {
+                        applyChunk(action, ids, lockedUntil, performedBy, tally);
+                    }
+                    return ids;
+                });
+                selected = chunk.size();
+                if (selected > 0) {
+                    afterId = chunk.get(selected - 1);
+                }
+            } while (selected == chunkSize);
+        }
+
+        BulkUserOperationResultDTO result = new BulkUserOperationResultDTO(action, tally.matched, tally.affected,
+            tally.matched - tally.affected, tally.notFound);
+        log.info("Bulk {} finished: {} matched, {} affected", action, result.getMatched(), result.getAffected());
+        return result;
+    }
+
+    /**
+     * Change one chunk of users and return how many of its IDs exist and are not deleted
+     */
+    private int applyChunk(BulkUserAction action, List<Long> ids, LocalDateTime lockedUntil,
+                           String performedBy, Tally tally) {
+        List<Object[]> rows = userRepository.findStatesByIdInForUpdate(ids);
+        List<Target> targets = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Target target = new Target((Long) row[0], new UserState((UserRole) row[1], (UserStatus) row[2], false),
+                row[3] != null ? (Integer) row[3] : 0, (LocalDateTime) row[4]);
+            if (changes(action, target)) {
+                targets.add(target);
+            }
+        }
+        tally.matched += rows.size();
+        if (targets.isEmpty()) {
+            return rows.size();
+        }
+
+        List<Long> targetIds = targets.stream().map(Target::id).toList();
+        LocalDateTime now = LocalDateTime.now();
+        switch (action) {
+            case BLOCK -> userRepository.updateStatusByIdIn(targetIds, UserStatus.BLOCKED, performedBy, now);
+            case UNBLOCK -> userRepository.updateStatusByIdIn(targetIds, UserStatus.ACTIVE, performedBy, now);
+            case LOCK -> userRepository.lockByIdIn(targetIds, lockedUntil, performedBy, now);
+            case UNLOCK -> userRepository.unlockByIdIn(targetIds, performedBy, now);
+            case DELETE -> userRepository.softDeleteByIdIn(targetIds, performedBy, now);
+        }
+
+        List<UserActivity> activities = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            User user = new User();
+            user.setId(target.id());
+            activities.add(UserActivity.createSuccessActivity(user, action.getActivityType(),
+                action.getActivityDescription()));
+            userPopulationCounters.recordTransition(target.state(), stateAfter(action, target.state()));
+            if (action == BulkUserAction.DELETE) {
+                userSearchIndex.remove(target.id());
+            }
+        }
+        userActivityWriter.insertBatch(activities);
+
+        tally.affected += targets.size();
+        return rows.size();
+    }
+
+    /**
+     * Whether the action would change the user; users already in the target state are skipped
+     */
+    private boolean changes(BulkUserAction action, Target target) {
+        return switch (action) {
+            case BLOCK -> target.state().status() != UserStatus.BLOCKED;
+            case UNBLOCK -> target.state().status() == UserStatus.BLOCKED;
+            case UNLOCK -> target.loginAttempts() > 0 || target.accountLockedUntil() != null;
+            case LOCK, DELETE -> true;
+        };
+    }
+
+    private UserState stateAfter(BulkUserAction action, UserState before) {
+        return switch (action) {
+            case BLOCK -> new UserState(before.role(), UserStatus.BLOCKED, false);
+            case UNBLOCK -> new UserState(before.role(), UserStatus.ACTIVE, false);
+            case DELETE -> new UserState(before.role(), before.status(), true);
+            case LOCK, UNLOCK -> before;
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.administrator.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate cache for dashboard statistics.
+ * A snapshot is served as fresh until refresh-ahead of its TTL, when one background
+ * refresh starts; past the TTL it is served as stale for up to max-stale while that
+ * refresh runs. Concurrent misses share a single computation.
+ */
+@Component
+@Slf4j
+public class DashboardStatisticsCache {
+
+    public static final String GENERATED_AT = "snapshotGeneratedAt";
+    public static final String AGE_SECONDS = "snapshotAgeSeconds";
+    public static final String STALE = "snapshotStale";
+
+    private final Supplier<Map<String, Object>> loader;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration maxStale;
+    private final ExecutorService refreshExecutor;
+    private final AtomicReference<CompletableFuture<Snapshot>> refreshing = new AtomicReference<>();
+
+    private volatile Snapshot current;
+
+    @Autowired
+    public DashboardStatisticsCache(AdminService adminService,
+                                    @Value("${admin.dashboard.cache.ttl-ms:30000}") long ttlMs,
+                                    @Value("${admin.dashboard.cache.refresh-ahead-ms:5000}") long refreshAheadMs,
+                                    @Value("${admin.dashboard.cache.max-stale-ms:300000}") long maxStaleMs) {
+        this(adminService::getDashboardStatistics, Clock.systemDefaultZone(),
+            Duration.ofMillis(ttlMs), Duration.ofMillis(refreshAheadMs), Duration.ofMillis(maxStaleMs));
+    }
+
+    DashboardStatisticsCache(Supplier<Map<String, Object>> loader, Clock clock,
+                             Duration ttl, Duration refreshAhead, Duration maxStale) {
+        this.loader = loader;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.maxStale = maxStale;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("dashboard-refresh").daemon().factory());
+    }
+
+    private record Snapshot(Map<String, Object> statistics, Instant computedAt) {
+    }
+
+    /**
+     * Get dashboard statistics, annotated with when they were computed and whether they are stale
+     */
+    public Map<String, Object> getDashboardStatistics() {
+        Snapshot snapshot = current;
+        Instant now = clock.instant();
+
+        if (snapshot != null) {
+            Duration age = Duration.between(snapshot.computedAt(), now);
+            if (age.compareTo(ttl.minus(refreshAhead)) < 0) {
+                return annotate(snapshot, now, false);
+            }
+            if (age.compareTo(ttl.plus(maxStale)) < 0) {
+                refresh();
+                return annotate(snapshot, now, age.compareTo(ttl) >= 0);
+            }
+        }
+
+        try {
+            Snapshot refreshed = refresh().join();
+            return annotate(refreshed, clock.instant(), false);
+        } catch (CompletionException e) {
+            if (snapshot == null) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            log.warn("Dashboard statistics refresh failed; serving snapshot from {}", snapshot.computedAt(), e.getCause());
+            return annotate(snapshot, now, true);
+        }
+    }
+
+    /**
+     * Start a refresh unless one is already running, and return the running one
+     */
+    private CompletableFuture<Snapshot> refresh() {
+        while (true) {
+            CompletableFuture<Snapshot> running = refreshing.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Snapshot> future = new CompletableFuture<>();
+            if (refreshing.compareAndSet(null, future)) {
+                refreshExecutor.execute(() -> compute(future));
+                return future;
+            }
+        }
+    }
+
+    private void compute(CompletableFuture<Snapshot> future) {
+        // Clear the in-flight marker before completing, so callers woken by the result can start the next refresh
+        try {
+            Snapshot snapshot = new Snapshot(loader.get(), clock.instant());
+            current = snapshot;
+            refreshing.compareAndSet(future, null);
+            future.complete(snapshot);
+            log.debug("Dashboard statistics refreshed");
+        } catch (Throwable e) {
+            refreshing.compareAndSet(future, null);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private Map<String, Object> annotate(Snapshot snapshot, Instant now, boolean stale) {
+        Map<String, Object> statistics = new HashMap<>(snapshot.statistics());
+        statistics.put(GENERATED_AT, LocalDateTime.ofInstant(snapshot.computedAt(), clock.getZone()));
+        statistics.put(AGE_SECONDS, Math.max(0, Duration.between(snapshot.computedAt(), now).toSeconds()));
+        statistics.put(STALE, stale);
+        return statistics;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        refreshExecutor.shutdownNow();
+        refreshExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
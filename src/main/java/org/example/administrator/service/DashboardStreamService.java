@@ -0,0 +1,156 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes dashboard metrics to connected admins over Server-Sent Events.
+ * Metrics are computed once per tick regardless of how many dashboards are open;
+ * a new subscriber gets the full payload as a "snapshot" event, after which only
+ * changed keys are broadcast as "delta" events. Nothing is computed while no one
+ * is connected.
+ */
+@Service
+@Slf4j
+public class DashboardStreamService {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String DELTA_EVENT = "delta";
+    static final String HEALTH_KEY = "health";
+
+    private final DashboardStatisticsCache dashboardStatisticsCache;
+    private final AdminService adminService;
+    private final long emitterTimeoutMs;
+    private final long intervalMs;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    // Serializes computing and sending so every subscriber sees the same sequence of deltas
+    private final ReentrantLock broadcastLock = new ReentrantLock();
+
+    private Map<String, Object> latest;
+    private long latestAtMillis;
+
+    public DashboardStreamService(DashboardStatisticsCache dashboardStatisticsCache,
+                                  AdminService adminService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${admin.dashboard.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                  @Value("${admin.dashboard.stream.interval-ms:5000}") long intervalMs) {
+        this.dashboardStatisticsCache = dashboardStatisticsCache;
+        this.adminService = adminService;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.intervalMs = intervalMs;
+        Gauge.builder("admin.dashboard.stream.subscribers", emitters, List::size)
+            .description("Dashboards connected to the metrics stream")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream for one dashboard and send it the current metrics
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(emitter);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter) {
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+
+        broadcastLock.lock();
+        try {
+            if (latest == null || System.currentTimeMillis() - latestAtMillis >= intervalMs) {
+                refresh();
+            }
+            if (send(emitter, SNAPSHOT_EVENT, latest)) {
+                emitters.add(emitter);
+            }
+        } finally {
+            broadcastLock.unlock();
+        }
+        log.debug("Dashboard stream subscribed; {} connected", emitters.size());
+    }
+
+    /**
+     * Compute the metrics once and push what changed to every connected dashboard
+     */
+    @Scheduled(initialDelayString = "${admin.dashboard.stream.interval-ms:5000}",
+               fixedDelayString = "${admin.dashboard.stream.interval-ms:5000}")
+    public void broadcast() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        broadcastLock.lock();
+        try {
+            Map<String, Object> previous = latest;
+            refresh();
+            Map<String, Object> changes = delta(previous, latest);
+            if (changes.isEmpty()) {
+                return;
+            }
+            for (SseEmitter emitter : emitters) {
+                if (!send(emitter, DELTA_EVENT, changes)) {
+                    emitters.remove(emitter);
+                }
+            }
+        } finally {
+            broadcastLock.unlock();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    private void refresh() {
+        Map<String, Object> payload = new HashMap<>(dashboardStatisticsCache.getDashboardStatistics());
+        payload.put(HEALTH_KEY, adminService.getSystemHealthStatus());
+        latest = payload;
+        latestAtMillis = System.currentTimeMillis();
+    }
+
+    private boolean send(SseEmitter emitter, String event, Map<String, Object> data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; completing releases the async request
+            log.debug("Dropping dashboard stream subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Top-level entries of current that differ from previous; removed keys map to null
+     */
+    static Map<String, Object> delta(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> changes = new HashMap<>();
+        if (previous == null) {
+            changes.putAll(current);
+            return changes;
+        }
+        current.forEach((key, value) -> {
+            if (!Objects.equals(previous.get(key), value)) {
+                changes.put(key, value);
+            }
+        });
+        previous.keySet().stream()
+            .filter(key -> !current.containsKey(key))
+            .forEach(key -> changes.put(key, null));
+        return changes;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.administrator.service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Helpers for updates that write only the entity fields whose values actually change
+ */
+final class FieldChanges {
+
+    private FieldChanges() {
+    }
+
+    /**
+     * Set a supplied value that differs from the current one and record the field as changed;
+     * a null value means the field was not supplied and is left alone
+     */
+    static <T> void applyChange(String field, T value, T current, Consumer<T> setter, List<String> changed) {
+        if (value != null && !value.equals(current)) {
+            setter.accept(value);
+            changed.add(field);
+        }
+    }
+
+    /**
+     * Set a value, null included, that differs from the current one and record the field as changed
+     */
+    static <T> void replace(String field, T value, T current, Consumer<T> setter, List<String> changed) {
+        if (!Objects.equals(value, current)) {
+            setter.accept(value);
+            changed.add(field);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.example.administrator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.ReportJobDTO;
+import org.example.administrator.dto.SystemReportDTO;
+import org.example.administrator.entity.ReportSnapshot;
+import org.example.administrator.enums.ReportJobStatus;
+import org.example.administrator.enums.ReportType;
+import org.example.administrator.exception.ReportJobNotFoundException;
+import org.example.administrator.exception.ReportJobRejectedException;
+import org.example.administrator.exception.ReportNotReadyException;
+import org.example.administrator.repository.ReportSnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates reports as background jobs on a bounded worker pool.
+ * A submitted job is persisted in report_snapshots and polled by id; its result is
+ * stored there as JSON until it expires. Submitting a report that is already queued
+ * or running with the same parameters, on any node, returns the existing job; a unique
+ * index on the in-flight dedup key settles concurrent submissions.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final List<ReportJobStatus> IN_FLIGHT = List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+    private static final int RUNNING_PROGRESS = 10;
+    private static final int COMPLETED_PROGRESS = 100;
+
+    private final ReportSnapshotRepository reportSnapshotRepository;
+    private final AdminService adminService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long retentionHours;
+    private final ThreadPoolExecutor workers;
+
+    public ReportJobService(ReportSnapshotRepository reportSnapshotRepository,
+                            AdminService adminService,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${admin.reports.jobs.workers:2}") int workerCount,
+                            @Value("${admin.reports.jobs.queue-capacity:20}") int queueCapacity,
+                            @Value("${admin.reports.jobs.retention-hours:24}") long retentionHours) {
+        this.reportSnapshotRepository = reportSnapshotRepository;
+        this.adminService = adminService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionHours = retentionHours;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("report-job-", 1).daemon().factory());
+    }
+
+    /**
+     * Queue a report, or return the job already generating the same report
+     */
+    public ReportJobDTO submit(ReportType reportType, Integer hours, String requestedBy) {
+        String parameters = parametersFor(reportType, hours);
+        String dedupKey = reportType.name() + "?" + parameters;
+
+        Optional<ReportSnapshot> existing = reportSnapshotRepository.findFirstByDedupKeyAndStatusIn(dedupKey, IN_FLIGHT);
+        if (existing.isPresent()) {
+            log.info("Report {} already in flight as job {}", dedupKey, existing.get().getJobId());
+            return convertToDTO(existing.get());
+        }
+
+        ReportSnapshot snapshot = new ReportSnapshot();
+        snapshot.setJobId(UUID.randomUUID().toString());
+        snapshot.setReportType(reportType);
+        snapshot.setParameters(parameters);
+        snapshot.setDedupKey(dedupKey);
+        snapshot.setActiveDedupKey(dedupKey);
+        snapshot.setRequestedBy(requestedBy);
+        ReportSnapshot saved;
+        try {
+            saved = reportSnapshotRepository.saveAndFlush(snapshot);
+        } catch (DataIntegrityViolationException e) {
+            // Another request queued the same report between the lookup and the insert
+            return reportSnapshotRepository.findFirstByDedupKeyAndStatusIn(dedupKey, IN_FLIGHT)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> e);
+        }
+
+        try {
+            workers.execute(() -> generate(saved.getJobId(), reportType, hours));
+        } catch (RejectedExecutionException e) {
+            fail(saved, "Report queue is full");
+            throw new ReportJobRejectedException("Report queue is full; try again later");
+        }
+        log.info("Queued report job {} for {}", saved.getJobId(), dedupKey);
+        return convertToDTO(saved);
+    }
+
+    /**
+     * Get the status and progress of a job
+     */
+    public ReportJobDTO getJob(String jobId) {
+        return convertToDTO(findJob(jobId));
+    }
+
+    /**
+     * Get the serialized result of a completed job
+     */
+    public String getResult(String jobId) {
+        ReportSnapshot snapshot = findJob(jobId);
+        if (snapshot.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ReportNotReadyException(jobId, snapshot.getStatus());
+        }
+        return snapshot.getResultJson();
+    }
+
+    /**
+     * Delete jobs whose results have expired
+     */
+    @Scheduled(initialDelayString = "${admin.reports.jobs.purge-interval-ms:600000}",
+               fixedDelayString = "${admin.reports.jobs.purge-interval-ms:600000}")
+    public int purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+            reportSnapshotRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} expired report jobs", deleted);
+        }
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * Fail jobs that were queued or running when the application last stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer failed = transactionTemplate.execute(status ->
+            reportSnapshotRepository.failJobsInStatus(IN_FLIGHT, ReportJobStatus.FAILED,
+                "Interrupted by application restart", now, now.plusHours(retentionHours)));
+        if (failed != null && failed > 0) {
+            log.warn("Marked {} interrupted report jobs as failed", failed);
+        }
+    }
+
+    private void generate(String jobId, ReportType reportType, Integer hours) {
+        ReportSnapshot snapshot = reportSnapshotRepository.findById(jobId).orElse(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            snapshot.setStatus(ReportJobStatus.RUNNING);
+            snapshot.setStartedAt(LocalDateTime.now());
+            snapshot.setProgress(RUNNING_PROGRESS);
+            snapshot = reportSnapshotRepository.save(snapshot);
+
+            SystemReportDTO report = switch (reportType) {
+                case SYSTEM_OVERVIEW -> adminService.generateSystemOverviewReport();
+                case USER_STATISTICS -> adminService.generateUserStatisticsReport();
+                case ACTIVITY -> adminService.generateActivityReport(hours);
+            };
+            String resultJson = objectMapper.writeValueAsString(report);
+
+            LocalDateTime completedAt = LocalDateTime.now();
+            snapshot.setResultJson(resultJson);
+            snapshot.setStatus(ReportJobStatus.COMPLETED);
+            snapshot.setActiveDedupKey(null);
+            snapshot.setProgress(COMPLETED_PROGRESS);
+            snapshot.setCompletedAt(completedAt);
+            snapshot.setExpiresAt(completedAt.plusHours(retentionHours));
+            reportSnapshotRepository.save(snapshot);
+            log.info("Report job {} completed", jobId);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Report job {} failed", jobId, e);
+            fail(snapshot, e.getMessage());
+        }
+    }
+
+    private void fail(ReportSnapshot snapshot, String reason) {
+        LocalDateTime completedAt = LocalDateTime.now();
+        snapshot.setStatus(ReportJobStatus.FAILED);
+        snapshot.setActiveDedupKey(null);
+        snapshot.setErrorMessage(reason == null ? "Report generation failed" : truncate(reason));
+        snapshot.setCompletedAt(completedAt);
+        snapshot.setExpiresAt(completedAt.plusHours(retentionHours));
+        snapshot.setResultJson(null);
+        reportSnapshotRepository.save(snapshot);
+    }
+
+    private ReportSnapshot findJob(String jobId) {
+        return reportSnapshotRepository.findById(jobId)
+            .filter(snapshot -> snapshot.getExpiresAt() == null || snapshot.getExpiresAt().isAfter(LocalDateTime.now()))
+            .orElseThrow(() -> new ReportJobNotFoundException(jobId));
+    }
+
+    private static String parametersFor(ReportType reportType, Integer hours) {
+        if (reportType != ReportType.ACTIVITY) {
+            return "";
+        }
+        if (hours == null || hours <= 0) {
+            throw new IllegalArgumentException("Activity report hours must be positive");
+        }
+        return "hours=" + hours;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    private ReportJobDTO convertToDTO(ReportSnapshot snapshot) {
+        return new ReportJobDTO(
+            snapshot.getJobId(),
+            snapshot.getReportType(),
+            snapshot.getParameters(),
+            snapshot.getStatus(),
+            snapshot.getProgress(),
+            snapshot.getErrorMessage(),
+            snapshot.getRequestedBy(),
+            snapshot.getCreatedAt(),
+            snapshot.getStartedAt(),
+            snapshot.getCompletedAt(),
+            snapshot.getExpiresAt()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdownNow();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.administrator.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent report sections concurrently on virtual threads.
+ * Each section gets its own read-only transaction, and so its own connection, and
+ * must finish within the section deadline; sections that time out or fail are left
+ * out and reported as missing. The transaction timeout makes the database cancel a
+ * section's statements once the deadline passes, and a shared permit count keeps the
+ * sections of all running reports from taking every pooled connection.
+ */
+@Component
+@Slf4j
+public class ReportSectionExecutor {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration sectionTimeout;
+    private final Semaphore sectionPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ReportSectionExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${admin.reports.section-timeout-ms:5000}") long sectionTimeoutMs,
+                                 @Value("${admin.reports.max-concurrent-sections:4}") int maxConcurrentSections,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        if (maxConcurrentSections < 1 || maxConcurrentSections >= connectionPoolSize) {
+            throw new IllegalArgumentException("admin.reports.max-concurrent-sections must be between 1 and "
+                + (connectionPoolSize - 1) + " to leave connections for other requests");
+        }
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Transaction timeouts are whole seconds; Spring passes the remaining time on as each query's timeout
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMs + 999)));
+        this.sectionTimeout = Duration.ofMillis(sectionTimeoutMs);
+        this.sectionPermits = new Semaphore(maxConcurrentSections);
+    }
+
+    /**
+     * Results of the sections that completed, and the names of those that did not
+     */
+    public static class Sections {
+
+        private final Map<String, Object> results = new HashMap<>();
+        private final List<String> missing = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        public <T> Optional<T> get(String name) {
+            return Optional.ofNullable((T) results.get(name));
+        }
+
+        public boolean isPartial() {
+            return !missing.isEmpty();
+        }
+
+        public List<String> getMissing() {
+            return missing;
+        }
+    }
+
+    /**
+     * Start every section at once and collect the results, waiting at most the section deadline
+     */
+    public Sections run(Map<String, Supplier<?>> sections) {
+        Map<String, Future<?>> futures = new LinkedHashMap<>();
+        sections.forEach((name, section) ->
+            futures.put(name, executor.submit(() -> runSection(section))));
+
+        long deadline = System.nanoTime() + sectionTimeout.toNanos();
+        Sections result = new Sections();
+        futures.forEach((name, future) -> {
+            try {
+                result.results.put(name, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                result.missing.add(name);
+                log.warn("Report section '{}' did not finish within {} ms", name, sectionTimeout.toMillis());
+            } catch (ExecutionException e) {
+                result.missing.add(name);
+                log.error("Report section '{}' failed", name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                result.missing.add(name);
+            }
+        });
+        return result;
+    }
+
+    private Object runSection(Supplier<?> section) throws InterruptedException {
+        sectionPermits.acquire();
+        try {
+            return readOnlyTransaction.execute(status -> section.get());
+        } finally {
+            sectionPermits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
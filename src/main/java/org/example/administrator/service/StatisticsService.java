@@ -0,0 +1,125 @@
+package org.example.administrator.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.StatisticsSnapshotDTO;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.SystemConfigurationRepository;
+import org.example.administrator.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Service computing dashboard and report statistics in a fixed number of queries.
+ * Users are read from the in-memory population counters, or counted with one GROUP BY
+ * over role, status and deletion flag until those are seeded; activity
+ * totals and time windows come from hourly rollups plus one scan of the unrolled rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class StatisticsService {
+
+    static final String FAILED_LOGIN_TYPE = "LOGIN_FAILED";
+
+    private final UserRepository userRepository;
+    private final UserPopulationCounters userPopulationCounters;
+    private final ActivityRollupService activityRollupService;
+    private final SystemConfigurationRepository systemConfigurationRepository;
+
+    /**
+     * Compute a statistics snapshot as of now
+     */
+    public StatisticsSnapshotDTO getSnapshot() {
+        StatisticsSnapshotDTO snapshot = new StatisticsSnapshotDTO();
+        snapshot.setGeneratedAt(LocalDateTime.now());
+
+        applyUserStatistics(snapshot);
+        activityRollupService.applyActivityStatistics(snapshot, FAILED_LOGIN_TYPE);
+        snapshot.setTotalConfigurations(systemConfigurationRepository.count());
+
+        log.debug("Statistics snapshot computed: {} users, {} activities",
+            snapshot.getTotalUsers(), snapshot.getTotalActivities());
+        return snapshot;
+    }
+
+    /**
+     * Compute only the user part of a snapshot, for reports that assemble sections separately
+     */
+    public StatisticsSnapshotDTO getUserStatistics() {
+        StatisticsSnapshotDTO snapshot = new StatisticsSnapshotDTO();
+        snapshot.setGeneratedAt(LocalDateTime.now());
+        applyUserStatistics(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Compute only the activity part of a snapshot as of the given time
+     */
+    public StatisticsSnapshotDTO getActivityStatistics(LocalDateTime now) {
+        StatisticsSnapshotDTO snapshot = new StatisticsSnapshotDTO();
+        snapshot.setGeneratedAt(now);
+        activityRollupService.applyActivityStatistics(snapshot, FAILED_LOGIN_TYPE);
+        return snapshot;
+    }
+
+    private void applyUserStatistics(StatisticsSnapshotDTO snapshot) {
+        if (userPopulationCounters.isReady()) {
+            applyUserCounts(snapshot, userPopulationCounters.getTotal(), userPopulationCounters::getCount);
+        } else {
+            applyUserCounts(snapshot, userRepository.countUsersByRoleStatusAndDeleted());
+        }
+    }
+
+    /**
+     * Fold (role, status, deleted, count) rows into the user totals
+     */
+    private void applyUserCounts(StatisticsSnapshotDTO snapshot, List<Object[]> rows) {
+        long[][] counts = new long[UserRole.values().length][UserStatus.values().length];
+        long total = 0;
+        for (Object[] row : rows) {
+            long count = ((Number) row[3]).longValue();
+            total += count;
+            // Deleted users still count towards the total, matching count() on the table
+            if (Boolean.FALSE.equals(row[2])) {
+                counts[((UserRole) row[0]).ordinal()][((UserStatus) row[1]).ordinal()] += count;
+            }
+        }
+        applyUserCounts(snapshot, total, (role, status) -> counts[role.ordinal()][status.ordinal()]);
+    }
+
+    private void applyUserCounts(StatisticsSnapshotDTO snapshot, long total,
+                                 ToLongBiFunction<UserRole, UserStatus> counts) {
+        Map<String, Map<String, Long>> byRoleAndStatus = new HashMap<>();
+        Map<String, Long> byRole = new HashMap<>();
+        Map<String, Long> byStatus = new HashMap<>();
+        for (UserStatus status : UserStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        for (UserRole role : UserRole.values()) {
+            Map<String, Long> statuses = new HashMap<>();
+            long roleTotal = 0;
+            for (UserStatus status : UserStatus.values()) {
+                long count = counts.applyAsLong(role, status);
+                statuses.put(status.name(), count);
+                byStatus.merge(status.name(), count, Long::sum);
+                roleTotal += count;
+            }
+            byRoleAndStatus.put(role.name(), statuses);
+            byRole.put(role.name(), roleTotal);
+        }
+
+        snapshot.setTotalUsers(total);
+        snapshot.setUsersByRoleAndStatus(byRoleAndStatus);
+        snapshot.setUsersByRole(byRole);
+        snapshot.setUsersByStatus(byStatus);
+    }
+}
@@ -3,6 +3,7 @@ package org.example.administrator.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.administrator.dto.SystemConfigurationDTO;
+import org.example.administrator.dto.SystemConfigurationPatchDTO;
 import org.example.administrator.entity.SystemConfiguration;
 import org.example.administrator.exception.ConfigurationNotFoundException;
 import org.example.administrator.repository.SystemConfigurationRepository;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -76,16 +78,26 @@ public class SystemConfigurationService {
                 .orElseThrow(() -> new ConfigurationNotFoundException(configDTO.getId().toString()));
         }
 
-        // Update configuration fields
-        config.setConfigKey(configDTO.getConfigKey());
-        config.setConfigValue(configDTO.getConfigValue());
-        config.setConfigDescription(configDTO.getConfigDescription());
-        config.setConfigType(configDTO.getConfigType());
-        config.setIsEncrypted(configDTO.getIsEncrypted());
-        config.setIsReadOnly(configDTO.getIsReadOnly());
+        // Replace every field; values equal to the current ones leave the row untouched
+        List<String> changed = new ArrayList<>();
+        FieldChanges.replace("configKey", configDTO.getConfigKey(), config.getConfigKey(),
+            config::setConfigKey, changed);
+        FieldChanges.replace("configValue", configDTO.getConfigValue(), config.getConfigValue(),
+            config::setConfigValue, changed);
+        FieldChanges.replace("configDescription", configDTO.getConfigDescription(), config.getConfigDescription(),
+            config::setConfigDescription, changed);
+        FieldChanges.replace("configType", configDTO.getConfigType(), config.getConfigType(),
+            config::setConfigType, changed);
+        FieldChanges.replace("isEncrypted", configDTO.getIsEncrypted(), config.getIsEncrypted(),
+            config::setIsEncrypted, changed);
+        FieldChanges.replace("isReadOnly", configDTO.getIsReadOnly(), config.getIsReadOnly(),
+            config::setIsReadOnly, changed);
 
         if (isNew) {
             config.setCreatedBy(updatedBy);
+        } else if (changed.isEmpty()) {
+            log.info("Configuration {} unchanged, nothing to save", config.getConfigKey());
+            return convertToDTO(config);
         } else {
             config.setUpdatedBy(updatedBy);
         }
@@ -118,6 +130,46 @@ public class SystemConfigurationService {
         return convertToDTO(savedConfig);
     }
 
+    /**
+     * Update the supplied fields of a configuration. Nothing is written when every supplied value
+     * matches the current one, and only changed columns are written otherwise.
+     */
+    public SystemConfigurationDTO patchConfiguration(String configKey, SystemConfigurationPatchDTO patch, String updatedBy) {
+        log.info("Patching configuration: {}", configKey);
+
+        SystemConfiguration config = configurationRepository.findByConfigKey(configKey)
+            .orElseThrow(() -> new ConfigurationNotFoundException(configKey));
+
+        // Read-only is judged by the stored flag, before the patch can clear it
+        boolean wasReadOnly = Boolean.TRUE.equals(config.getIsReadOnly());
+        List<String> changed = new ArrayList<>();
+        FieldChanges.applyChange("configValue", patch.getConfigValue(), config.getConfigValue(),
+            config::setConfigValue, changed);
+        FieldChanges.applyChange("configDescription", patch.getConfigDescription(), config.getConfigDescription(),
+            config::setConfigDescription, changed);
+        FieldChanges.applyChange("configType", patch.getConfigType(), config.getConfigType(),
+            config::setConfigType, changed);
+        FieldChanges.applyChange("isEncrypted", patch.getIsEncrypted(), config.getIsEncrypted(),
+            config::setIsEncrypted, changed);
+        FieldChanges.applyChange("isReadOnly", patch.getIsReadOnly(), config.getIsReadOnly(),
+            config::setIsReadOnly, changed);
+
+        if (changed.isEmpty()) {
+            log.info("Configuration {} unchanged, nothing to save", configKey);
+            return convertToDTO(config);
+        }
+        // Only clearing the read-only flag itself is allowed on a read-only configuration
+        if (wasReadOnly && !changed.equals(List.of("isReadOnly"))) {
+            throw new IllegalArgumentException("Cannot update read-only configuration: " + configKey);
+        }
+        config.setUpdatedBy(updatedBy);
+
+        SystemConfiguration savedConfig = configurationRepository.save(config);
+
+        log.info("Configuration patched successfully: {} ({})", savedConfig.getConfigKey(), changed);
+        return convertToDTO(savedConfig);
+    }
+
     /**
      * Delete configuration
      */
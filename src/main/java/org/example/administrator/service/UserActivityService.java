@@ -1,20 +1,36 @@
 package org.example.administrator.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.ActivitySeriesDTO;
+import org.example.administrator.dto.CursorPageDTO;
 import org.example.administrator.dto.UserActivityDTO;
 import org.example.administrator.entity.User;
 import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.ExportFormat;
+import org.example.administrator.enums.SeriesGranularity;
+import org.example.administrator.repository.UserActivityArchiveRepository;
 import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserArchiveRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Service class for user activity logging and monitoring
@@ -25,7 +41,18 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserActivityService {
 
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+    private static final String CSV_HEADER = "id,userId,username,activityType,activityDescription,ipAddress," +
+        "userAgent,sessionId,activityTimestamp,success,errorMessage,additionalData,createdAt";
+
     private final UserActivityRepository userActivityRepository;
+    private final UserActivityArchiveRepository userActivityArchiveRepository;
+    private final UserArchiveRepository userArchiveRepository;
+    private final UserActivityWriter userActivityWriter;
+    private final ActivityQueryGovernor activityQueryGovernor;
+    private final ActivityRollupService activityRollupService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     /**
      * Log user activity
@@ -39,24 +66,8 @@ public class UserActivityService {
      */
     public UserActivity logActivity(User user, String activityType, String description, 
                                   boolean success, String additionalData, HttpServletRequest request) {
-        log.info("Logging activity for user {}: {} - {}", user.getUsername(), activityType, description);
-
-        UserActivity activity = new UserActivity();
-        activity.setUser(user);
-        activity.setActivityType(activityType);
-        activity.setActivityDescription(description);
-        activity.setSuccess(success);
-        activity.setAdditionalData(additionalData);
-
-        if (request != null) {
-            activity.setIpAddress(getClientIpAddress(request));
-            activity.setUserAgent(request.getHeader("User-Agent"));
-            activity.setSessionId(request.getSession().getId());
-        }
-
-        UserActivity savedActivity = userActivityRepository.save(activity);
-        log.info("Activity logged successfully: {}", savedActivity.getId());
-        return savedActivity;
+        UserActivity activity = buildActivity(user, activityType, description, success, additionalData, request);
+        return record(activity);
     }
 
     /**
@@ -70,48 +81,40 @@ public class UserActivityService {
      * Log failed activity
      */
     public UserActivity logFailureActivity(User user, String activityType, String description, String errorMessage) {
-        UserActivity activity = logActivity(user, activityType, description, false);
+        UserActivity activity = buildActivity(user, activityType, description, false, null, null);
         activity.setErrorMessage(errorMessage);
-        return userActivityRepository.save(activity);
+        return record(activity);
     }
 
     /**
-     * Get user activities
+     * Get user activities with pagination
      */
     @Transactional(readOnly = true)
-    public List<UserActivityDTO> getUserActivities(Long userId) {
-        User user = new User();
-        user.setId(userId);
-        
-        return userActivityRepository.findByUserOrderByActivityTimestampDesc(user)
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public Page<UserActivityDTO> getUserActivities(Long userId, Pageable pageable) {
+        return userActivityRepository.findActivityDTOsByUser(userId, pageable);
     }
 
     /**
-     * Get user activities with pagination
+     * Get user activities with pagination, reading the archive when the user has been archived.
+     * A user's activities are archived together with the user, so they are never split across both.
      */
     @Transactional(readOnly = true)
-    public Page<UserActivityDTO> getUserActivities(Long userId, Pageable pageable) {
-        User user = new User();
-        user.setId(userId);
-        
-        return userActivityRepository.findByUserOrderByActivityTimestampDesc(user, pageable)
-            .map(this::convertToDTO);
+    public Page<UserActivityDTO> getUserActivities(Long userId, Pageable pageable, boolean includeArchived) {
+        if (includeArchived && userArchiveRepository.existsById(userId)) {
+            return userActivityArchiveRepository.findActivityDTOsByUser(userId, pageable);
+        }
+        return getUserActivities(userId, pageable);
     }
 
     /**
-     * Get recent activities
+     * Get user activities with keyset pagination
      */
     @Transactional(readOnly = true)
-    public List<UserActivityDTO> getRecentActivities(int hours) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusHours(hours);
-        
-        return userActivityRepository.findRecentActivities(cutoffDate)
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public CursorPageDTO<UserActivityDTO> getUserActivities(Long userId, String cursor, Integer size) {
+        ActivityCursor position = ActivityCursor.decode(cursor);
+        return activityQueryGovernor.execute("user", size, pageable ->
+            userActivityRepository.findActivityDTOsByUserAfterCursor(
+                userId, position.getTimestamp(), position.getId(), pageable));
     }
 
     /**
@@ -121,19 +124,19 @@ public class UserActivityService {
     public Page<UserActivityDTO> getRecentActivities(int hours, Pageable pageable) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusHours(hours);
         
-        return userActivityRepository.findRecentActivities(cutoffDate, pageable)
-            .map(this::convertToDTO);
+        return userActivityRepository.findRecentActivityDTOs(cutoffDate, pageable);
     }
 
     /**
-     * Get activities by type
+     * Get recent activities with keyset pagination
      */
     @Transactional(readOnly = true)
-    public List<UserActivityDTO> getActivitiesByType(String activityType) {
-        return userActivityRepository.findByActivityTypeOrderByActivityTimestampDesc(activityType)
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public CursorPageDTO<UserActivityDTO> getRecentActivities(int hours, String cursor, Integer size) {
+        LocalDateTime cutoffDate = LocalDateTime.now().minusHours(hours);
+        ActivityCursor position = ActivityCursor.decode(cursor);
+        return activityQueryGovernor.execute("recent", size, pageable ->
+            userActivityRepository.findRecentActivityDTOsAfterCursor(
+                cutoffDate, position.getTimestamp(), position.getId(), pageable));
     }
 
     /**
@@ -141,19 +144,18 @@ public class UserActivityService {
      */
     @Transactional(readOnly = true)
     public Page<UserActivityDTO> getActivitiesByType(String activityType, Pageable pageable) {
-        return userActivityRepository.findByActivityTypeOrderByActivityTimestampDesc(activityType, pageable)
-            .map(this::convertToDTO);
+        return userActivityRepository.findActivityDTOsByActivityType(activityType, pageable);
     }
 
     /**
-     * Get failed activities
+     * Get activities by type with keyset pagination
      */
     @Transactional(readOnly = true)
-    public List<UserActivityDTO> getFailedActivities() {
-        return userActivityRepository.findFailedActivities()
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public CursorPageDTO<UserActivityDTO> getActivitiesByType(String activityType, String cursor, Integer size) {
+        ActivityCursor position = ActivityCursor.decode(cursor);
+        return activityQueryGovernor.execute("type", size, pageable ->
+            userActivityRepository.findActivityDTOsByActivityTypeAfterCursor(
+                activityType, position.getTimestamp(), position.getId(), pageable));
     }
 
     /**
@@ -161,19 +163,18 @@ public class UserActivityService {
      */
     @Transactional(readOnly = true)
     public Page<UserActivityDTO> getFailedActivities(Pageable pageable) {
-        return userActivityRepository.findFailedActivities(pageable)
-            .map(this::convertToDTO);
+        return userActivityRepository.findFailedActivityDTOs(pageable);
     }
 
     /**
-     * Get activities within date range
+     * Get failed activities with keyset pagination
      */
     @Transactional(readOnly = true)
-    public List<UserActivityDTO> getActivitiesBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        return userActivityRepository.findActivitiesBetweenDates(startDate, endDate)
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public CursorPageDTO<UserActivityDTO> getFailedActivities(String cursor, Integer size) {
+        ActivityCursor position = ActivityCursor.decode(cursor);
+        return activityQueryGovernor.execute("failed", size, pageable ->
+            userActivityRepository.findFailedActivityDTOsAfterCursor(
+                position.getTimestamp(), position.getId(), pageable));
     }
 
     /**
@@ -181,41 +182,41 @@ public class UserActivityService {
      */
     @Transactional(readOnly = true)
     public Page<UserActivityDTO> getActivitiesBetweenDates(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
-        return userActivityRepository.findActivitiesBetweenDates(startDate, endDate, pageable)
-            .map(this::convertToDTO);
+        return userActivityRepository.findActivityDTOsBetweenDates(startDate, endDate, pageable);
     }
 
     /**
-     * Get activities by IP address
+     * Get activities within date range with keyset pagination
      */
     @Transactional(readOnly = true)
-    public List<UserActivityDTO> getActivitiesByIpAddress(String ipAddress) {
-        return userActivityRepository.findByIpAddressOrderByActivityTimestampDesc(ipAddress)
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public CursorPageDTO<UserActivityDTO> getActivitiesBetweenDates(LocalDateTime startDate, LocalDateTime endDate,
+                                                                    String cursor, Integer size) {
+        ActivityCursor position = ActivityCursor.decode(cursor);
+        return activityQueryGovernor.execute("date-range", size, pageable ->
+            userActivityRepository.findActivityDTOsBetweenDatesAfterCursor(
+                startDate, endDate, position.getTimestamp(), position.getId(), pageable));
     }
 
     /**
-     * Get activities by session ID
+     * Get activities by IP address with keyset pagination
      */
     @Transactional(readOnly = true)
-    public List<UserActivityDTO> getActivitiesBySessionId(String sessionId) {
-        return userActivityRepository.findBySessionIdOrderByActivityTimestampDesc(sessionId)
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public CursorPageDTO<UserActivityDTO> getActivitiesByIpAddress(String ipAddress, String cursor, Integer size) {
+        ActivityCursor position = ActivityCursor.decode(cursor);
+        return activityQueryGovernor.execute("ip", size, pageable ->
+            userActivityRepository.findActivityDTOsByIpAddressAfterCursor(
+                ipAddress, position.getTimestamp(), position.getId(), pageable));
     }
 
     /**
-     * Search activities by description
+     * Get activities by session ID with keyset pagination
      */
     @Transactional(readOnly = true)
-    public List<UserActivityDTO> searchActivitiesByDescription(String searchTerm) {
-        return userActivityRepository.findActivitiesByDescriptionContaining(searchTerm)
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public CursorPageDTO<UserActivityDTO> getActivitiesBySessionId(String sessionId, String cursor, Integer size) {
+        ActivityCursor position = ActivityCursor.decode(cursor);
+        return activityQueryGovernor.execute("session", size, pageable ->
+            userActivityRepository.findActivityDTOsBySessionIdAfterCursor(
+                sessionId, position.getTimestamp(), position.getId(), pageable));
     }
 
     /**
@@ -223,8 +224,63 @@ public class UserActivityService {
      */
     @Transactional(readOnly = true)
     public Page<UserActivityDTO> searchActivitiesByDescription(String searchTerm, Pageable pageable) {
-        return userActivityRepository.findActivitiesByDescriptionContaining(searchTerm, pageable)
-            .map(this::convertToDTO);
+        return userActivityRepository.findActivityDTOsByDescriptionContaining(searchTerm, pageable);
+    }
+
+    /**
+     * Search activities by description with keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserActivityDTO> searchActivitiesByDescription(String searchTerm, String cursor, Integer size) {
+        ActivityCursor position = ActivityCursor.decode(cursor);
+        return activityQueryGovernor.execute("search", size, pageable ->
+            userActivityRepository.findActivityDTOsByDescriptionContainingAfterCursor(
+                searchTerm, position.getTimestamp(), position.getId(), pageable));
+    }
+
+    /**
+     * Stream activities within a date range to the output in the given format.
+     * Rows are written as they are read and detached immediately, so memory use
+     * does not grow with the size of the range.
+     */
+    @Transactional(readOnly = true)
+    public long exportActivities(LocalDateTime startDate, LocalDateTime endDate, String activityType,
+                                 Boolean success, ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Exporting activities between {} and {} as {}", startDate, endDate, format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<UserActivity> activities = userActivityRepository.streamActivitiesForExport(
+                startDate, endDate, activityType, success)) {
+            Iterator<UserActivity> iterator = activities.iterator();
+            while (iterator.hasNext()) {
+                UserActivity activity = iterator.next();
+                UserActivityDTO dto = convertToDTO(activity);
+                entityManager.detach(activity);
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+
+                // Detaching activities leaves their users behind; drop those periodically too
+                if (++rows % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} activities", rows);
+        return rows;
     }
 
     /**
@@ -254,7 +310,30 @@ public class UserActivityService {
 
     @Transactional(readOnly = true)
     public long getActivityCountBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        return userActivityRepository.countActivitiesBetweenDates(startDate, endDate);
+        return activityRollupService.countActivitiesBetween(startDate, endDate);
+    }
+
+    /**
+     * Get activity counts per time bucket, activity type and outcome
+     */
+    @Transactional(readOnly = true)
+    public ActivitySeriesDTO getActivitySeries(LocalDateTime startDate, LocalDateTime endDate,
+                                               SeriesGranularity granularity) {
+        return new ActivitySeriesDTO(startDate, endDate, granularity,
+            activityRollupService.countActivitySeries(startDate, endDate, granularity));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Boolean, Long> getActivityCountBySuccessBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
+        return activityRollupService.countActivitiesBySuccess(startDate, endDate);
+    }
+
+    /**
+     * Get activity types by frequency between two timestamps
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getMostFrequentActivityTypes(LocalDateTime startDate, LocalDateTime endDate) {
+        return sortByCount(activityRollupService.countActivitiesByType(startDate, endDate));
     }
 
     /**
@@ -262,7 +341,7 @@ public class UserActivityService {
      */
     @Transactional(readOnly = true)
     public List<Object[]> getMostFrequentActivityTypes() {
-        return userActivityRepository.findMostFrequentActivityTypes();
+        return sortByCount(activityRollupService.countActivitiesByType());
     }
 
     /**
@@ -271,9 +350,86 @@ public class UserActivityService {
     public void cleanupOldActivities(int daysToKeep) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
         userActivityRepository.deleteOldActivities(cutoffDate);
+        activityRollupService.discardBefore(cutoffDate);
         log.info("Cleaned up activities older than {} days", daysToKeep);
     }
 
+    private static List<Object[]> sortByCount(Map<String, Long> countsByType) {
+        return countsByType.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .map(entry -> new Object[] {entry.getKey(), entry.getValue()})
+            .toList();
+    }
+
+    /**
+     * Build an activity entity from the given details
+     */
+    private UserActivity buildActivity(User user, String activityType, String description,
+                                       boolean success, String additionalData, HttpServletRequest request) {
+        UserActivity activity = new UserActivity();
+        activity.setUser(user);
+        activity.setActivityType(activityType);
+        activity.setActivityDescription(description);
+        activity.setSuccess(success);
+        activity.setAdditionalData(additionalData);
+
+        if (request != null) {
+            activity.setIpAddress(getClientIpAddress(request));
+            activity.setUserAgent(request.getHeader("User-Agent"));
+            activity.setSessionId(request.getSession().getId());
+        }
+        return activity;
+    }
+
+    /**
+     * Persist an activity, either through the async writer or synchronously
+     */
+    private UserActivity record(UserActivity activity) {
+        log.debug("Logging activity for user {}: {} - {}", activity.getUser().getUsername(),
+            activity.getActivityType(), activity.getActivityDescription());
+
+        if (userActivityWriter.isActive()) {
+            userActivityWriter.submitAfterCommit(activity);
+            return activity;
+        }
+
+        UserActivity savedActivity = userActivityRepository.save(activity);
+        log.debug("Activity logged successfully: {}", savedActivity.getId());
+        return savedActivity;
+    }
+
+    /**
+     * Write one activity as a CSV row
+     */
+    private void writeCsvRow(Writer writer, UserActivityDTO dto) throws IOException {
+        Object[] values = {
+            dto.getId(), dto.getUserId(), dto.getUsername(), dto.getActivityType(), dto.getActivityDescription(),
+            dto.getIpAddress(), dto.getUserAgent(), dto.getSessionId(), dto.getActivityTimestamp(), dto.getSuccess(),
+            dto.getErrorMessage(), dto.getAdditionalData(), dto.getCreatedAt()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Format a value as a CSV field, quoting it when needed
+     */
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
     /**
      * Get client IP address from request
      */
@@ -0,0 +1,341 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.entity.TimeOrderedIdGenerator;
+import org.example.administrator.entity.UserActivity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous, batched writer for user activity rows.
+ * Activities are queued in a bounded in-memory buffer and flushed by a single
+ * background thread using JDBC batch inserts, either when a batch fills up or
+ * when the flush interval elapses.
+ */
+@Component
+@Slf4j
+public class UserActivityWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO user_activities (activity_id, user_id, activity_type, activity_description, ip_address, user_agent, " +
+        "session_id, activity_timestamp, success, error_message, additional_data, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final BlockingQueue<UserActivity> queue;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder backpressureCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final AtomicInteger lastBatchSize = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public UserActivityWriter(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${admin.activity.writer.async-enabled:false}") boolean enabled,
+                              @Value("${admin.activity.writer.queue-capacity:10000}") int queueCapacity,
+                              @Value("${admin.activity.writer.batch-size:500}") int batchSize,
+                              @Value("${admin.activity.writer.flush-interval-ms:200}") long flushIntervalMs,
+                              @Value("${admin.activity.writer.offer-timeout-ms:50}") long offerTimeoutMs,
+                              @Value("${admin.activity.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        registerMetrics(meterRegistry);
+    }
+
+    /**
+     * Start the background writer thread when async writing is enabled
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runLoop, "activity-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Async activity writer started (batchSize={}, flushIntervalMs={}, capacity={})",
+            batchSize, flushIntervalMs, queue.remainingCapacity());
+    }
+
+    /**
+     * Stop accepting new activities and flush everything still queued
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything the writer thread did not get to is flushed on the caller's thread
+        List<UserActivity> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            writeBatch(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        log.info("Async activity writer stopped (written={}, dropped={}, failed={})",
+            writtenCount.sum(), droppedCount.sum(), failedCount.sum());
+    }
+
+    /**
+     * Check if activities should be routed through this writer
+     */
+    public boolean isActive() {
+        return enabled && running;
+    }
+
+    /**
+     * Queue an activity once the surrounding transaction commits, or immediately if there is none
+     */
+    public void submitAfterCommit(UserActivity activity) {
+        // Assign the ID up front so callers can reference the activity before it is written
+        if (activity.getId() == null) {
+            activity.setId(TimeOrderedIdGenerator.nextId());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(activity);
+                }
+            });
+        } else {
+            submit(activity);
+        }
+    }
+
+    /**
+     * Queue an activity for writing, waiting briefly if the queue is full
+     */
+    public boolean submit(UserActivity activity) {
+        if (activity.getId() == null) {
+            activity.setId(TimeOrderedIdGenerator.nextId());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (activity.getActivityTimestamp() == null) {
+            activity.setActivityTimestamp(now);
+        }
+        if (activity.getCreatedAt() == null) {
+            activity.setCreatedAt(now);
+        }
+
+        if (queue.offer(activity)) {
+            enqueuedCount.increment();
+            return true;
+        }
+
+        backpressureCount.increment();
+        try {
+            if (queue.offer(activity, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueuedCount.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        droppedCount.increment();
+        log.warn("Activity queue full, dropping {} activity for user {}",
+            activity.getActivityType(), activity.getUser().getId());
+        return false;
+    }
+
+    /**
+     * Get writer statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("running", running);
+        statistics.put("queueDepth", queue.size());
+        statistics.put("queueRemainingCapacity", queue.remainingCapacity());
+        statistics.put("enqueued", enqueuedCount.sum());
+        statistics.put("written", writtenCount.sum());
+        statistics.put("dropped", droppedCount.sum());
+        statistics.put("failed", failedCount.sum());
+        statistics.put("backpressureEvents", backpressureCount.sum());
+        statistics.put("batches", batchCount.sum());
+        statistics.put("lastBatchSize", lastBatchSize.get());
+        return statistics;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * How long the oldest queued activity has been waiting to be written; zero when the queue is empty
+     */
+    public Duration getLag() {
+        UserActivity oldest = queue.peek();
+        if (oldest == null || oldest.getCreatedAt() == null) {
+            return Duration.ZERO;
+        }
+        Duration lag = Duration.between(oldest.getCreatedAt(), LocalDateTime.now());
+        return lag.isNegative() ? Duration.ZERO : lag;
+    }
+
+    private void runLoop() {
+        List<UserActivity> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                UserActivity first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Top up the batch until it is full or the flush interval has elapsed
+     */
+    private void fillBatch(List<UserActivity> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            UserActivity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Insert activities immediately with one JDBC batch, on the caller's thread and in its transaction
+     */
+    public void insertBatch(List<UserActivity> activities) {
+        LocalDateTime now = LocalDateTime.now();
+        for (UserActivity activity : activities) {
+            if (activity.getId() == null) {
+                activity.setId(TimeOrderedIdGenerator.nextId());
+            }
+            if (activity.getActivityTimestamp() == null) {
+                activity.setActivityTimestamp(now);
+            }
+            if (activity.getCreatedAt() == null) {
+                activity.setCreatedAt(now);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, activities, activities.size(), (ps, activity) -> {
+            ps.setLong(1, activity.getId());
+            ps.setLong(2, activity.getUser().getId());
+            ps.setString(3, activity.getActivityType());
+            ps.setString(4, activity.getActivityDescription());
+            ps.setString(5, activity.getIpAddress());
+            ps.setString(6, activity.getUserAgent());
+            ps.setString(7, activity.getSessionId());
+            ps.setTimestamp(8, Timestamp.valueOf(activity.getActivityTimestamp()));
+            if (activity.getSuccess() != null) {
+                ps.setBoolean(9, activity.getSuccess());
+            } else {
+                ps.setNull(9, Types.BOOLEAN);
+            }
+            ps.setString(10, activity.getErrorMessage());
+            ps.setString(11, activity.getAdditionalData());
+            ps.setTimestamp(12, Timestamp.valueOf(activity.getCreatedAt()));
+        });
+    }
+
+    private void writeBatch(List<UserActivity> batch) {
+        try {
+            insertBatch(batch);
+            writtenCount.add(batch.size());
+            batchCount.increment();
+            lastBatchSize.set(batch.size());
+            log.debug("Flushed {} activities", batch.size());
+        } catch (DataAccessException e) {
+            failedCount.add(batch.size());
+            log.error("Failed to write batch of {} activities", batch.size(), e);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        Gauge.builder("admin.activity.writer.queue.depth", queue, BlockingQueue::size)
+            .description("Activities waiting to be written")
+            .register(registry);
+        Gauge.builder("admin.activity.writer.batch.size", lastBatchSize, AtomicInteger::get)
+            .description("Size of the most recently flushed batch")
+            .register(registry);
+        FunctionCounter.builder("admin.activity.writer.written", writtenCount, LongAdder::sum)
+            .register(registry);
+        FunctionCounter.builder("admin.activity.writer.dropped", droppedCount, LongAdder::sum)
+            .register(registry);
+        FunctionCounter.builder("admin.activity.writer.failed", failedCount, LongAdder::sum)
+            .register(registry);
+        FunctionCounter.builder("admin.activity.writer.backpressure", backpressureCount, LongAdder::sum)
+            .register(registry);
+        FunctionCounter.builder("admin.activity.writer.batches", batchCount, LongAdder::sum)
+            .register(registry);
+    }
+}
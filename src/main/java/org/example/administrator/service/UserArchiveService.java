@@ -0,0 +1,144 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.repository.UserActivityArchiveRepository;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserArchiveRepository;
+import org.example.administrator.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves users soft-deleted longer than retention-days out of the users table into users_archive,
+ * so the hot table and its indexes only hold live users and recent deletions.
+ * Users are moved chunk-size at a time, each chunk in its own transaction: the rows are locked,
+ * copied into the archive with one INSERT ... SELECT and removed with one DELETE. Their
+ * activities are moved to user_activities_archive the same way, or dropped when activity
+ * archiving is off, since an activity cannot outlive its user in user_activities. Either way they
+ * are taken out of the hourly rollups in the same transaction, so rollup-backed counts keep
+ * agreeing with the raw rows and cover live activities only.
+ */
+@Service
+@Slf4j
+public class UserArchiveService {
+
+    private final UserRepository userRepository;
+    private final UserActivityRepository userActivityRepository;
+    private final UserArchiveRepository userArchiveRepository;
+    private final UserActivityArchiveRepository userActivityArchiveRepository;
+    private final UserPopulationCounters userPopulationCounters;
+    private final ActivityRollupService activityRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final boolean archiveActivities;
+    private final Counter archivedUsers;
+    private final Counter archivedActivities;
+
+    public UserArchiveService(UserRepository userRepository,
+                              UserActivityRepository userActivityRepository,
+                              UserArchiveRepository userArchiveRepository,
+                              UserActivityArchiveRepository userActivityArchiveRepository,
+                              UserPopulationCounters userPopulationCounters,
+                              ActivityRollupService activityRollupService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${admin.users.archive.enabled:false}") boolean enabled,
+                              @Value("${admin.users.archive.retention-days:90}") int retentionDays,
+                              @Value("${admin.users.archive.chunk-size:500}") int chunkSize,
+                              @Value("${admin.users.archive.activities:true}") boolean archiveActivities) {
+        if (retentionDays < 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("User archive retention days must not be negative and chunk size must be positive");
+        }
+        this.userRepository = userRepository;
+        this.userActivityRepository = userActivityRepository;
+        this.userArchiveRepository = userArchiveRepository;
+        this.userActivityArchiveRepository = userActivityArchiveRepository;
+        this.userPopulationCounters = userPopulationCounters;
+        this.activityRollupService = activityRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.archiveActivities = archiveActivities;
+        this.archivedUsers = Counter.builder("admin.users.archive.users")
+            .description("Soft-deleted users moved to the archive")
+            .register(meterRegistry);
+        this.archivedActivities = Counter.builder("admin.users.archive.activities")
+            .description("Activities moved to the archive with their users")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Outcome of one chunk: users selected, users and activities moved
+     */
+    private record ChunkResult(int selected, int users, int activities) {
+    }
+
+    /**
+     * Periodically archive users deleted longer than the retention period
+     */
+    @Scheduled(initialDelayString = "${admin.users.archive.interval-ms:86400000}",
+               fixedDelayString = "${admin.users.archive.interval-ms:86400000}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveDeletedUsers();
+        }
+    }
+
+    /**
+     * Archive every user soft-deleted more than retention-days ago and return how many were moved.
+     * Chunks committed before a failure stay archived.
+     */
+    public long archiveDeletedUsers() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long users = 0;
+        int selected;
+        do {
+            ChunkResult result = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            selected = result.selected();
+            users += result.users();
+            archivedUsers.increment(result.users());
+            archivedActivities.increment(result.activities());
+        } while (selected == chunkSize);
+
+        if (users > 0) {
+            log.info("Archived {} users deleted before {}", users, cutoff);
+        }
+        return users;
+    }
+
+    /**
+     * Move one chunk of deleted users and their activities
+     */
+    private ChunkResult archiveChunk(LocalDateTime cutoff) {
+        // Archived users leave the table, so each chunk simply takes the lowest remaining IDs
+        List<Long> ids = userRepository.findIdsDeletedBeforeForUpdate(cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return new ChunkResult(0, 0, 0);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int activities = 0;
+        if (archiveActivities) {
+            activities = userActivityArchiveRepository.archiveByUserIdIn(ids, now);
+        }
+        activityRollupService.discardUserActivities(ids);
+        userActivityRepository.deleteByUserIdIn(ids);
+        userArchiveRepository.archiveDeletedByIdIn(ids, now);
+        int users = userRepository.deleteDeletedByIdIn(ids);
+
+        userPopulationCounters.recordDeletedRemoved(users);
+        return new ChunkResult(ids.size(), users, activities);
+    }
+}
@@ -0,0 +1,241 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the normalized usernames and emails of all users, deleted ones included.
+ * A negative answer means no user has the identifier, so the existence query can be skipped;
+ * a positive answer may be false and must be confirmed against the database. The filter is
+ * built with a streaming scan at startup, extended as users are added or change email, and
+ * periodically rebuilt to pick up changes made elsewhere and to resize. Until it is built,
+ * every identifier is reported as possibly present. An identifier the filter has missed, e.g.
+ * one added by another instance since the last rebuild, is still rejected by the unique
+ * constraints on insert.
+ */
+@Component
+@Slf4j
+public class UserIdentifierFilter {
+
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter skippedCounter;
+    private final Counter possibleCounter;
+
+    private volatile BloomFilter current;
+    // Filter being rebuilt; additions go to it as well so none are lost when it is swapped in
+    private volatile BloomFilter building;
+
+    public UserIdentifierFilter(UserRepository userRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${admin.users.identifier-filter.enabled:true}") boolean enabled,
+                                @Value("${admin.users.identifier-filter.expected-insertions:200000}") long expectedInsertions,
+                                @Value("${admin.users.identifier-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.skippedCounter = Counter.builder("admin.users.identifier-filter.lookups")
+            .tag("result", "absent")
+            .description("Identifier existence checks answered by the filter without a query")
+            .register(meterRegistry);
+        this.possibleCounter = Counter.builder("admin.users.identifier-filter.lookups")
+            .tag("result", "possible")
+            .description("Identifier existence checks that had to be confirmed by a query")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Build the filter once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a new filter sized for the current user count from a streaming scan and swap it in
+     */
+    @Scheduled(initialDelayString = "${admin.users.identifier-filter.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${admin.users.identifier-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // Two identifiers per user, with room to double before the next rebuild
+        long insertions = Math.max(expectedInsertions, userRepository.count() * 4);
+        BloomFilter filter = new BloomFilter(insertions, falsePositiveRate);
+        building = filter;
+        try {
+            long users = readOnlyTransaction.execute(status -> {
+                long scanned = 0;
+                try (Stream<Object[]> rows = userRepository.streamUsernamesAndEmails()) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        filter.put(USERNAME_PREFIX + normalize((String) row[0]));
+                        filter.put(EMAIL_PREFIX + normalize((String) row[1]));
+                        scanned++;
+                    }
+                }
+                return scanned;
+            });
+            current = filter;
+            log.info("User identifier filter built from {} users ({} bits)", users, filter.bitSize());
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Whether a user may have the username; false means certainly not
+     */
+    public boolean mightContainUsername(String username) {
+        return mightContain(USERNAME_PREFIX + normalize(username));
+    }
+
+    /**
+     * Whether a user may have the email; false means certainly not
+     */
+    public boolean mightContainEmail(String email) {
+        return mightContain(EMAIL_PREFIX + normalize(email));
+    }
+
+    /**
+     * Record a user's username and email; call before the insert or update commits
+     */
+    public void add(String username, String email) {
+        if (!enabled) {
+            return;
+        }
+        for (BloomFilter filter : new BloomFilter[] {current, building}) {
+            if (filter != null) {
+                if (username != null) {
+                    filter.put(USERNAME_PREFIX + normalize(username));
+                }
+                if (email != null) {
+                    filter.put(EMAIL_PREFIX + normalize(email));
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether lookups are answered from the filter
+     */
+    public boolean isReady() {
+        return enabled && current != null;
+    }
+
+    private boolean mightContain(String key) {
+        BloomFilter filter = current;
+        if (!enabled || filter == null) {
+            return true;
+        }
+        boolean possible = filter.mightContain(key);
+        (possible ? possibleCounter : skippedCounter).increment();
+        return possible;
+    }
+
+    /**
+     * Identifiers are compared case-insensitively by the database collation, so the filter is too
+     */
+    private static String normalize(String identifier) {
+        return identifier == null ? "" : identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Fixed-size Bloom filter over strings, safe for concurrent puts and lookups.
+     * Bit positions come from two 64-bit hashes combined as h1 + i * h2.
+     */
+    static class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitSize;
+        private final int hashCount;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (Math.max(64, m) + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitSize = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long hash = hash(key);
+            long h1 = mix(hash);
+            long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitSize);
+                long mask = 1L << bit;
+                bits.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            long h1 = mix(hash);
+            long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitSize);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitSize() {
+            return bitSize;
+        }
+
+        /**
+         * FNV-1a over the UTF-8 bytes
+         */
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        /**
+         * MurmurHash3 finalizer, spreading FNV's weak low bits across the word
+         */
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb93e89c82ca1L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package org.example.administrator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.UserCreateDTO;
+import org.example.administrator.dto.UserImportResultDTO;
+import org.example.administrator.dto.UserImportRowResultDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.ExportFormat;
+import org.example.administrator.enums.ImportRowStatus;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserRepository;
+import org.example.administrator.service.UserPopulationCounters.UserState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import from streamed CSV or NDJSON.
+ * Rows are read and processed in chunks: each chunk is validated, checked for taken
+ * usernames and emails with one IN query, has its passwords hashed on a bounded pool,
+ * and is inserted with its USER_CREATED activities as JDBC batches in one transaction.
+ * If the batch fails, typically because a concurrent write took a username or email after
+ * the check, the chunk is retried row by row so only the conflicting rows are rejected.
+ * Every data row gets an entry in the returned report; created users are always recorded
+ * as created by the importing principal.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (username, email, password, first_name, last_name, phone_number, user_role, user_status, " +
+        "login_attempts, created_at, updated_at, created_by, is_deleted, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, FALSE, 0)";
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+        List.of("username", "email", "password", "firstName", "lastName", "userRole");
+
+    private final UserRepository userRepository;
+    private final UserActivityWriter userActivityWriter;
+    private final UserPopulationCounters userPopulationCounters;
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final UserSearchIndex userSearchIndex;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService hashPool;
+
+    public UserImportService(UserRepository userRepository,
+                             UserActivityWriter userActivityWriter,
+                             UserPopulationCounters userPopulationCounters,
+                             UserIdentifierFilter userIdentifierFilter,
+                             UserSearchIndex userSearchIndex,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${admin.users.import.chunk-size:500}") int chunkSize,
+                             @Value("${admin.users.import.hash-threads:4}") int hashThreads) {
+        this.userRepository = userRepository;
+        this.userActivityWriter = userActivityWriter;
+        this.userPopulationCounters = userPopulationCounters;
+        this.userIdentifierFilter = userIdentifierFilter;
+        this.userSearchIndex = userSearchIndex;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.hashPool = Executors.newFixedThreadPool(hashThreads,
+            Thread.ofPlatform().name("password-hash-", 1).daemon().factory());
+    }
+
+    /**
+     * A parsed data row and, once decided, its outcome
+     */
+    private static class ImportRow {
+
+        private final UserImportRowResultDTO result;
+        private final UserCreateDTO user;
+        private String passwordHash;
+
+        private ImportRow(long lineNumber, UserCreateDTO user) {
+            this.user = user;
+            this.result = new UserImportRowResultDTO(lineNumber, user != null ? user.getUsername() : null, null, null, null);
+        }
+
+        private boolean isPending() {
+            return result.getStatus() == null;
+        }
+
+        private void reject(ImportRowStatus status, String message) {
+            result.setStatus(status);
+            result.setMessage(message);
+            result.setUserId(null);
+        }
+    }
+
+    /**
+     * Import users from the stream, committing chunk by chunk
+     */
+    public UserImportResultDTO importUsers(InputStream input, ExportFormat format, String importedBy) throws IOException {
+        log.info("Importing users from {} for {}", format, importedBy);
+
+        List<UserImportRowResultDTO> results = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ExportFormat.CSV && columns == null) {
+                columns = parseCsvHeader(line);
+                continue;
+            }
+
+            chunk.add(format == ExportFormat.CSV ? parseCsvRow(lineNumber, line, columns) : parseJsonRow(lineNumber, line));
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, seenUsernames, seenEmails, importedBy);
+                chunk.forEach(row -> results.add(row.result));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, seenUsernames, seenEmails, importedBy);
+            chunk.forEach(row -> results.add(row.result));
+        }
+
+        Map<ImportRowStatus, Long> counts = results.stream()
+            .collect(Collectors.groupingBy(UserImportRowResultDTO::getStatus, Collectors.counting()));
+        UserImportResultDTO report = new UserImportResultDTO(results.size(),
+            counts.getOrDefault(ImportRowStatus.CREATED, 0L),
+            counts.getOrDefault(ImportRowStatus.DUPLICATE, 0L),
+            counts.getOrDefault(ImportRowStatus.INVALID, 0L),
+            counts.getOrDefault(ImportRowStatus.FAILED, 0L),
+            results);
+        log.info("User import finished: {} rows, {} created", report.getTotalRows(), report.getCreated());
+        return report;
+    }
+
+    private void processChunk(List<ImportRow> chunk, Set<String> seenUsernames, Set<String> seenEmails,
+                              String importedBy) {
+        // Validation and duplicates within the import
+        for (ImportRow row : chunk) {
+            if (!row.isPending()) {
+                continue;
+            }
+            Set<ConstraintViolation<UserCreateDTO>> violations = validator.validate(row.user);
+            if (!violations.isEmpty()) {
+                row.reject(ImportRowStatus.INVALID, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            } else if (!seenUsernames.add(key(row.user.getUsername()))) {
+                row.reject(ImportRowStatus.DUPLICATE, "Username appears earlier in the import");
+            } else if (!seenEmails.add(key(row.user.getEmail()))) {
+                row.reject(ImportRowStatus.DUPLICATE, "Email appears earlier in the import");
+            }
+        }
+
+        // Duplicates against existing users
+        List<ImportRow> candidates = chunk.stream().filter(ImportRow::isPending).toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (Object[] taken : userRepository.findUsernamesAndEmailsIn(
+                candidates.stream().map(row -> row.user.getUsername()).toList(),
+                candidates.stream().map(row -> row.user.getEmail()).toList())) {
+            takenUsernames.add(key((String) taken[0]));
+            takenEmails.add(key((String) taken[1]));
+        }
+        for (ImportRow row : candidates) {
+            if (takenUsernames.contains(key(row.user.getUsername()))) {
+                row.reject(ImportRowStatus.DUPLICATE, "Username already exists");
+            } else if (takenEmails.contains(key(row.user.getEmail()))) {
+                row.reject(ImportRowStatus.DUPLICATE, "Email already exists");
+            }
+        }
+
+        List<ImportRow> toHash = candidates.stream().filter(ImportRow::isPending).toList();
+        if (toHash.isEmpty()) {
+            return;
+        }
+        // Hash before opening the transaction so no connection is held while the CPU works
+        hashPasswords(toHash);
+        List<ImportRow> toInsert = toHash.stream().filter(ImportRow::isPending).toList();
+        if (toInsert.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(toInsert, importedBy));
+        } catch (DataAccessException e) {
+            log.warn("Batch insert of {} imported users failed, retrying row by row: {}",
+                toInsert.size(), e.getMostSpecificCause().getMessage());
+            toInsert.forEach(row -> insertAlone(row, importedBy));
+        }
+    }
+
+    /**
+     * Insert a single row in its own transaction, rejecting it alone if it conflicts or fails.
+     * The constraint message does not reliably name the column, so a conflict is attributed by
+     * looking the username and email up again.
+     */
+    private void insertAlone(ImportRow row, String importedBy) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(List.of(row), importedBy));
+        } catch (DataIntegrityViolationException e) {
+            List<Object[]> taken = userRepository.findUsernamesAndEmailsIn(
+                List.of(row.user.getUsername()), List.of(row.user.getEmail()));
+            if (taken.stream().anyMatch(user -> key((String) user[0]).equals(key(row.user.getUsername())))) {
+                row.reject(ImportRowStatus.DUPLICATE, "Username already exists");
+            } else if (!taken.isEmpty()) {
+                row.reject(ImportRowStatus.DUPLICATE, "Email already exists");
+            } else {
+                row.reject(ImportRowStatus.FAILED, "Insert failed: " + e.getMostSpecificCause().getMessage());
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to insert import line {}", row.result.getLineNumber(), e);
+            row.reject(ImportRowStatus.FAILED, "Insert failed: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Hash the rows' passwords in parallel; a row whose hash fails is marked FAILED and left out of the insert
+     */
+    private void hashPasswords(List<ImportRow> rows) {
+        List<Callable<String>> tasks = rows.stream()
+            .map(row -> (Callable<String>) () -> passwordEncoder.encode(row.user.getPassword()))
+            .toList();
+        List<Future<String>> hashes;
+        try {
+            hashes = hashPool.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rows.forEach(row -> row.reject(ImportRowStatus.FAILED, "Interrupted while hashing password"));
+            return;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            try {
+                row.passwordHash = hashes.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                row.reject(ImportRowStatus.FAILED, "Interrupted while hashing password");
+            } catch (ExecutionException e) {
+                log.error("Password hashing failed for import line {}", row.result.getLineNumber(), e.getCause());
+                row.reject(ImportRowStatus.FAILED, "Password hashing failed");
+            }
+        }
+    }
+
+    private void insert(List<ImportRow> rows, String importedBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows, rows.size(), (ps, row) -> {
+            UserCreateDTO user = row.user;
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, row.passwordHash);
+            ps.setString(4, user.getFirstName());
+            ps.setString(5, user.getLastName());
+            ps.setString(6, user.getPhoneNumber());
+            ps.setString(7, user.getUserRole().name());
+            ps.setString(8, user.getUserStatus().name());
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+            ps.setString(11, importedBy);
+        });
+
+        // IDs are assigned by the database; read them back with one query
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] row : userRepository.findIdsByUsernameIn(rows.stream().map(row -> row.user.getUsername()).toList())) {
+            ids.put((String) row[0], (Long) row[1]);
+        }
+
+        List<UserActivity> activities = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            User created = new User();
+            created.setId(ids.get(row.user.getUsername()));
+            activities.add(UserActivity.createSuccessActivity(created, "USER_CREATED",
+                "User account created by bulk import"));
+            userIdentifierFilter.add(row.user.getUsername(), row.user.getEmail());
+            userSearchIndex.put(created.getId(), row.user.getUsername(), row.user.getFirstName(), row.user.getLastName());
+            userPopulationCounters.recordTransition(null,
+                new UserState(row.user.getUserRole(), row.user.getUserStatus(), false));
+            row.result.setStatus(ImportRowStatus.CREATED);
+            row.result.setUserId(created.getId());
+        }
+        userActivityWriter.insertBatch(activities);
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> header = parseCsvFields(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private ImportRow parseCsvRow(long lineNumber, String line, Map<String, Integer> columns) {
+        List<String> fields = parseCsvFields(line);
+        UserCreateDTO user = new UserCreateDTO();
+        user.setUsername(field(fields, columns, "username"));
+        user.setEmail(field(fields, columns, "email"));
+        user.setPassword(field(fields, columns, "password"));
+        user.setFirstName(field(fields, columns, "firstName"));
+        user.setLastName(field(fields, columns, "lastName"));
+        user.setPhoneNumber(field(fields, columns, "phoneNumber"));
+
+        ImportRow row = new ImportRow(lineNumber, user);
+        try {
+            String role = field(fields, columns, "userRole");
+            user.setUserRole(role != null ? UserRole.valueOf(role) : null);
+            String status = field(fields, columns, "userStatus");
+            user.setUserStatus(status != null ? UserStatus.valueOf(status) : UserStatus.PENDING);
+        } catch (IllegalArgumentException e) {
+            row.reject(ImportRowStatus.INVALID, "Unknown user role or status");
+        }
+        return row;
+    }
+
+    private ImportRow parseJsonRow(long lineNumber, String line) {
+        try {
+            UserCreateDTO user = objectMapper.readValue(line, UserCreateDTO.class);
+            if (user.getUserStatus() == null) {
+                user.setUserStatus(UserStatus.PENDING);
+            }
+            return new ImportRow(lineNumber, user);
+        } catch (JsonProcessingException e) {
+            ImportRow row = new ImportRow(lineNumber, null);
+            row.reject(ImportRowStatus.INVALID, "Malformed JSON: " + e.getOriginalMessage());
+            return row;
+        }
+    }
+
+    /**
+     * Usernames and emails are unique regardless of case
+     */
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Split one CSV record, honouring quoted fields and doubled quotes; records span a single line
+     */
+    private static List<String> parseCsvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        hashPool.shutdownNow();
+        hashPool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,231 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory user counts per role and status, kept in step with UserService mutations.
+ * Role and status cells exclude soft-deleted users; the total includes them, matching
+ * count() on the table. Counts are seeded from one GROUP BY at startup, adjusted after
+ * each committed change and periodically reconciled against the database.
+ */
+@Component
+@Slf4j
+public class UserPopulationCounters {
+
+    private static final UserRole[] ROLES = UserRole.values();
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final LongAdder[][] counts = new LongAdder[ROLES.length][STATUSES.length];
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final Counter reconciliationCounter;
+    private final Counter correctionCounter;
+
+    private volatile boolean seeded;
+
+    public UserPopulationCounters(UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${admin.users.counters.enabled:true}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        for (int role = 0; role < ROLES.length; role++) {
+            for (int status = 0; status < STATUSES.length; status++) {
+                counts[role][status] = new LongAdder();
+            }
+        }
+        Gauge.builder("admin.users.counters.drift", lastDrift, AtomicLong::get)
+            .description("Users miscounted by the in-memory counters at the last reconciliation")
+            .register(meterRegistry);
+        this.reconciliationCounter = Counter.builder("admin.users.counters.reconciliations")
+            .description("Reconciliations of the in-memory user counters against the database")
+            .register(meterRegistry);
+        this.correctionCounter = Counter.builder("admin.users.counters.corrections")
+            .description("Reconciliations that found and corrected drift")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Role, status and deletion flag of a user at one point in time
+     */
+    public record UserState(UserRole role, UserStatus status, boolean deleted) {
+
+        public static UserState of(User user) {
+            return new UserState(user.getUserRole(), user.getUserStatus(), Boolean.TRUE.equals(user.getIsDeleted()));
+        }
+    }
+
+    /**
+     * Seed the counters once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Recount from the database, record the drift and correct the in-memory counts
+     */
+    @Scheduled(initialDelayString = "${admin.users.counters.reconcile-interval-ms:300000}",
+               fixedDelayString = "${admin.users.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        // Snapshot the counters before the query and later move each by the database count minus its
+        // snapshot. A transition applied after the snapshot is kept instead of being overwritten; one
+        // committed while the query runs may be counted twice, which the next reconciliation corrects.
+        long totalSnapshot = total.sum();
+        long[][] snapshot = new long[ROLES.length][STATUSES.length];
+        for (int role = 0; role < ROLES.length; role++) {
+            for (int status = 0; status < STATUSES.length; status++) {
+                snapshot[role][status] = counts[role][status].sum();
+            }
+        }
+
+        long[][] actual = new long[ROLES.length][STATUSES.length];
+        long actualTotal = 0;
+        List<Object[]> rows = userRepository.countUsersByRoleStatusAndDeleted();
+        for (Object[] row : rows) {
+            long count = ((Number) row[3]).longValue();
+            actualTotal += count;
+            if (Boolean.FALSE.equals(row[2])) {
+                actual[((UserRole) row[0]).ordinal()][((UserStatus) row[1]).ordinal()] += count;
+            }
+        }
+
+        // Adding the difference rather than resetting also means readers never see a zeroed counter
+        long drift = correct(total, totalSnapshot, actualTotal);
+        for (int role = 0; role < ROLES.length; role++) {
+            for (int status = 0; status < STATUSES.length; status++) {
+                drift += correct(counts[role][status], snapshot[role][status], actual[role][status]);
+            }
+        }
+
+        reconciliationCounter.increment();
+        if (seeded) {
+            lastDrift.set(drift);
+            if (drift > 0) {
+                correctionCounter.increment();
+                log.warn("User counters drifted by {} from the database; corrected", drift);
+            }
+        }
+        seeded = true;
+    }
+
+    /**
+     * Apply a user's change of role, status or deletion once the surrounding transaction commits.
+     * Pass a null before state for a newly created user.
+     */
+    public void recordTransition(UserState before, UserState after) {
+        if (!enabled || after.equals(before)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(before, after);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(before, after);
+            }
+        });
+    }
+
+    /**
+     * Take already soft-deleted users removed from the users table out of the total once the
+     * surrounding transaction commits
+     */
+    public void recordDeletedRemoved(long users) {
+        if (!enabled || users == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            total.add(-users);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                total.add(-users);
+            }
+        });
+    }
+
+    /**
+     * Whether counts can be served from memory
+     */
+    public boolean isReady() {
+        return enabled && seeded;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getCount(UserRole role, UserStatus status) {
+        return counts[role.ordinal()][status.ordinal()].sum();
+    }
+
+    public long getCountByRole(UserRole role) {
+        long sum = 0;
+        for (LongAdder cell : counts[role.ordinal()]) {
+            sum += cell.sum();
+        }
+        return sum;
+    }
+
+    public long getCountByStatus(UserStatus status) {
+        long sum = 0;
+        for (LongAdder[] byStatus : counts) {
+            sum += byStatus[status.ordinal()].sum();
+        }
+        return sum;
+    }
+
+    public long getLastDrift() {
+        return lastDrift.get();
+    }
+
+    /**
+     * Add the difference between the actual count and the counter's snapshot; returns its size
+     */
+    private static long correct(LongAdder counter, long snapshot, long actual) {
+        long delta = actual - snapshot;
+        counter.add(delta);
+        return Math.abs(delta);
+    }
+
+    private void apply(UserState before, UserState after) {
+        if (before == null) {
+            total.increment();
+        } else if (!before.deleted()) {
+            counts[before.role().ordinal()][before.status().ordinal()].decrement();
+        }
+        if (!after.deleted()) {
+            counts[after.role().ordinal()][after.status().ordinal()].increment();
+        }
+    }
+}
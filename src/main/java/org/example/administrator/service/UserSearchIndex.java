@@ -0,0 +1,324 @@
+package org.example.administrator.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.UserSuggestionDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over the username and full name of non-deleted users.
+ * A term of three or more characters is answered by intersecting the posting lists of its
+ * trigrams and confirming the substring; shorter terms scan the indexed names. Matches are
+ * ranked exact, then prefix, then word prefix, then substring, usernames ahead of names.
+ * The index is built with a streaming scan at startup, kept in step with committed
+ * UserService changes and periodically rebuilt to pick up changes made elsewhere.
+ */
+@Component
+@Slf4j
+public class UserSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Document> documents = new HashMap<>();
+    private Map<String, Set<Long>> postings = new HashMap<>();
+    // Changes made while a rebuild scans, replayed onto the rebuilt index; null when not rebuilding
+    private List<Document> pendingChanges;
+    private volatile boolean ready;
+
+    public UserSearchIndex(UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${admin.users.search-index.enabled:true}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Searchable names of one user with their normalized forms; a document without names marks a removal
+     */
+    private record Document(Long id, String username, String fullName, String usernameKey, String fullNameKey) {
+
+        private static Document of(Long id, String username, String fullName) {
+            return new Document(id, username, fullName, normalize(username), normalize(fullName));
+        }
+
+        private static Document removal(Long id) {
+            return new Document(id, null, null, null, null);
+        }
+
+        private boolean isRemoval() {
+            return username == null;
+        }
+    }
+
+    private record Match(Document document, int score) {
+    }
+
+    /**
+     * Build the index once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the index from a streaming scan of non-deleted users and swap it in
+     */
+    @Scheduled(initialDelayString = "${admin.users.search-index.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${admin.users.search-index.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Document> rebuiltDocuments = new HashMap<>();
+        Map<String, Set<Long>> rebuiltPostings = new HashMap<>();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = userRepository.streamSearchableNames()) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        Document document = Document.of((Long) row[0], (String) row[1], row[2] + " " + row[3]);
+                        apply(rebuiltDocuments, rebuiltPostings, document);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(document -> apply(rebuiltDocuments, rebuiltPostings, document));
+            pendingChanges = null;
+            documents = rebuiltDocuments;
+            postings = rebuiltPostings;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("User search index built with {} users and {} trigrams", rebuiltDocuments.size(), rebuiltPostings.size());
+    }
+
+    /**
+     * Index a user's current names, or drop the user if deleted, once the surrounding transaction commits
+     */
+    public void index(User user) {
+        if (Boolean.TRUE.equals(user.getIsDeleted())) {
+            remove(user.getId());
+        } else {
+            put(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName());
+        }
+    }
+
+    /**
+     * Index a user's names once the surrounding transaction commits
+     */
+    public void put(Long id, String username, String firstName, String lastName) {
+        afterCommit(Document.of(id, username, firstName + " " + lastName));
+    }
+
+    /**
+     * Drop a user from the index once the surrounding transaction commits
+     */
+    public void remove(Long id) {
+        afterCommit(Document.removal(id));
+    }
+
+    /**
+     * IDs of users whose username or full name contains the term, best matches first
+     */
+    public List<Long> search(String term) {
+        return rank(term).stream().map(match -> match.document().id()).toList();
+    }
+
+    /**
+     * Best matching users for the term, at most limit of them
+     */
+    public List<UserSuggestionDTO> suggest(String term, int limit) {
+        return rank(term).stream()
+            .limit(limit)
+            .map(match -> new UserSuggestionDTO(match.document().id(), match.document().username(),
+                match.document().fullName()))
+            .toList();
+    }
+
+    /**
+     * Whether searches can be answered from the index
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    private List<Match> rank(String term) {
+        String key = normalize(term);
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(key)) {
+                Document document = documents.get(id);
+                int score = document != null ? score(document, key) : 0;
+                if (score > 0) {
+                    matches.add(new Match(document, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingInt(Match::score).reversed()
+            .thenComparing(match -> match.document().usernameKey())
+            .thenComparing(match -> match.document().id()));
+        return matches;
+    }
+
+    /**
+     * IDs that may contain the term: the intersection of its trigram postings, or every user for short terms
+     */
+    private Set<Long> candidates(String key) {
+        if (key.length() < GRAM) {
+            return documents.keySet();
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(key)) {
+            Set<Long> list = postings.get(gram);
+            if (list == null) {
+                return Set.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static int score(Document document, String key) {
+        if (key.isEmpty()) {
+            return 1;
+        }
+        // Usernames break ties with names of the same match quality
+        int username = fieldScore(document.usernameKey(), key);
+        int fullName = fieldScore(document.fullNameKey(), key);
+        return Math.max(username > 0 ? username + 1 : 0, fullName);
+    }
+
+    private static int fieldScore(String field, String key) {
+        if (field.equals(key)) {
+            return 40;
+        }
+        if (field.startsWith(key)) {
+            return 30;
+        }
+        if (field.contains(" " + key)) {
+            return 20;
+        }
+        return field.contains(key) ? 10 : 0;
+    }
+
+    private void afterCommit(Document document) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyChange(document);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyChange(document);
+            }
+        });
+    }
+
+    private void applyChange(Document document) {
+        lock.writeLock().lock();
+        try {
+            apply(documents, postings, document);
+            if (pendingChanges != null) {
+                pendingChanges.add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Map<Long, Document> documents, Map<String, Set<Long>> postings, Document document) {
+        Document previous = documents.remove(document.id());
+        if (previous != null) {
+            for (String gram : grams(previous)) {
+                Set<Long> list = postings.get(gram);
+                if (list != null && list.remove(previous.id()) && list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        if (document.isRemoval()) {
+            return;
+        }
+        documents.put(document.id(), document);
+        for (String gram : grams(document)) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(document.id());
+        }
+    }
+
+    private static Set<String> grams(Document document) {
+        Set<String> grams = grams(document.usernameKey());
+        grams.addAll(grams(document.fullNameKey()));
+        return grams;
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,25 +1,45 @@
 package org.example.administrator.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.administrator.dto.UserCreateDTO;
+import org.example.administrator.dto.UserFilterDTO;
+import org.example.administrator.dto.UserFilterResultDTO;
+import org.example.administrator.dto.UserPatchDTO;
 import org.example.administrator.dto.UserResponseDTO;
+import org.example.administrator.dto.UserSuggestionDTO;
 import org.example.administrator.dto.UserUpdateDTO;
 import org.example.administrator.entity.User;
 import org.example.administrator.entity.UserActivity;
+import org.example.administrator.entity.UserArchive;
 import org.example.administrator.enums.UserRole;
 import org.example.administrator.enums.UserStatus;
 import org.example.administrator.exception.*;
+import org.example.administrator.repository.UserArchiveRepository;
 import org.example.administrator.repository.UserRepository;
 import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserSpecifications;
+import org.example.administrator.service.UserPopulationCounters.UserState;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +55,11 @@ public class UserService {
     private final UserActivityRepository userActivityRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserActivityService userActivityService;
+    private final UserPopulationCounters userPopulationCounters;
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final UserSearchIndex userSearchIndex;
+    private final UserArchiveRepository userArchiveRepository;
+    private final EntityManager entityManager;
 
     /**
      * Create a new user
@@ -42,14 +67,23 @@ public class UserService {
     public UserResponseDTO createUser(UserCreateDTO userCreateDTO) {
         log.info("Creating new user: {}", userCreateDTO.getUsername());
 
-        // Check if username already exists
-        if (userRepository.existsByUsername(userCreateDTO.getUsername())) {
-            throw new UserAlreadyExistsException("username", userCreateDTO.getUsername());
+        // Check if username already exists; the filter rules out most new names without a query
+        boolean checked = true;
+        if (userIdentifierFilter.mightContainUsername(userCreateDTO.getUsername())) {
+            if (userRepository.existsByUsername(userCreateDTO.getUsername())) {
+                throw new UserAlreadyExistsException("username", userCreateDTO.getUsername());
+            }
+        } else {
+            checked = false;
         }
 
         // Check if email already exists
-        if (userRepository.existsByEmail(userCreateDTO.getEmail())) {
-            throw new UserAlreadyExistsException("email", userCreateDTO.getEmail());
+        if (userIdentifierFilter.mightContainEmail(userCreateDTO.getEmail())) {
+            if (userRepository.existsByEmail(userCreateDTO.getEmail())) {
+                throw new UserAlreadyExistsException("email", userCreateDTO.getEmail());
+            }
+        } else {
+            checked = false;
         }
 
         // Create user entity
@@ -65,7 +99,10 @@ public class UserService {
         user.setCreatedBy(userCreateDTO.getCreatedBy());
 
         // Save user
-        User savedUser = userRepository.save(user);
+        User savedUser = checked ? userRepository.save(user) : saveUnchecked(user);
+        userIdentifierFilter.add(savedUser.getUsername(), savedUser.getEmail());
+        userSearchIndex.index(savedUser);
+        userPopulationCounters.recordTransition(null, UserState.of(savedUser));
 
         // Log activity
         userActivityService.logActivity(savedUser, "USER_CREATED", 
@@ -85,6 +122,20 @@ public class UserService {
         return convertToResponseDTO(user);
     }
 
+    /**
+     * Get user by ID, falling back to archived users when asked to
+     */
+    @Transactional(readOnly = true)
+    public UserResponseDTO getUserById(Long id, boolean includeArchived) {
+        if (!includeArchived) {
+            return getUserById(id);
+        }
+        return userRepository.findById(id)
+            .map(this::convertToResponseDTO)
+            .or(() -> userArchiveRepository.findById(id).map(this::convertToResponseDTO))
+            .orElseThrow(() -> new UserNotFoundException(id));
+    }
+
     /**
      * Get user by username
      */
@@ -95,6 +146,21 @@ public class UserService {
         return convertToResponseDTO(user);
     }
 
+    /**
+     * Get user by username, falling back to the most recently archived user with that username
+     */
+    @Transactional(readOnly = true)
+    public UserResponseDTO getUserByUsername(String username, boolean includeArchived) {
+        if (!includeArchived) {
+            return getUserByUsername(username);
+        }
+        return userRepository.findByUsername(username)
+            .map(this::convertToResponseDTO)
+            .or(() -> userArchiveRepository.findFirstByUsernameOrderByArchivedAtDesc(username)
+                .map(this::convertToResponseDTO))
+            .orElseThrow(() -> new UserNotFoundException("username", username));
+    }
+
     /**
      * Get all users with pagination
      */
@@ -105,12 +171,96 @@ public class UserService {
     }
 
     /**
-     * Search users by name
+     * Search users by name, best matches first. Served from the search index when it is built
+     * and no explicit sort is requested, otherwise by a LIKE query.
      */
     @Transactional(readOnly = true)
     public Page<UserResponseDTO> searchUsers(String searchTerm, Pageable pageable) {
-        return userRepository.searchUsersByName(searchTerm, pageable)
-            .map(this::convertToResponseDTO);
+        if (!userSearchIndex.isReady() || pageable.getSort().isSorted()) {
+            return userRepository.searchUsersByName(searchTerm, pageable)
+                .map(this::convertToResponseDTO);
+        }
+
+        List<Long> ids = new ArrayList<>(userSearchIndex.search(searchTerm));
+        while (true) {
+            List<Long> pageIds = pageable.isPaged()
+                ? ids.subList((int) Math.min(pageable.getOffset(), ids.size()),
+                    (int) Math.min(pageable.getOffset() + pageable.getPageSize(), ids.size()))
+                : ids;
+            Map<Long, User> users = userRepository.findAllById(pageIds).stream()
+                .filter(user -> !Boolean.TRUE.equals(user.getIsDeleted()))
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+            if (users.size() == pageIds.size()) {
+                // Keep the index's ranking
+                List<UserResponseDTO> content = pageIds.stream()
+                    .map(users::get)
+                    .map(this::convertToResponseDTO)
+                    .collect(Collectors.toList());
+                return new PageImpl<>(content, pageable, ids.size());
+            }
+            // Users deleted since the index was last updated: drop them from the matches, so neither
+            // the page nor the total counts them, and from the index, then read the page again
+            List<Long> stale = pageIds.stream().filter(id -> !users.containsKey(id)).toList();
+            ids.removeAll(stale);
+            stale.forEach(userSearchIndex::remove);
+        }
+    }
+
+    /**
+     * Filter users by search term, role and status in SQL, with facet counts per role and status.
+     * One grouped count serves both facets and the page total, so the page itself is fetched
+     * without a separate count query.
+     */
+    @Transactional(readOnly = true)
+    public UserFilterResultDTO filterUsers(UserFilterDTO filter, Pageable pageable) {
+        Specification<User> searched = UserSpecifications.notDeleted()
+            .and(UserSpecifications.nameContains(filter.getSearchTerm()));
+
+        Map<UserRole, Long> roleCounts = new EnumMap<>(UserRole.class);
+        Map<UserStatus, Long> statusCounts = new EnumMap<>(UserStatus.class);
+        Arrays.stream(UserRole.values()).forEach(role -> roleCounts.put(role, 0L));
+        Arrays.stream(UserStatus.values()).forEach(status -> statusCounts.put(status, 0L));
+        long total = 0;
+        for (Object[] row : userRepository.countByRoleAndStatus(searched)) {
+            UserRole role = (UserRole) row[0];
+            UserStatus status = (UserStatus) row[1];
+            long count = ((Number) row[2]).longValue();
+            boolean roleSelected = filter.getUserRole() == null || filter.getUserRole() == role;
+            boolean statusSelected = filter.getUserStatus() == null || filter.getUserStatus() == status;
+            if (statusSelected) {
+                roleCounts.merge(role, count, Long::sum);
+            }
+            if (roleSelected) {
+                statusCounts.merge(status, count, Long::sum);
+            }
+            if (roleSelected && statusSelected) {
+                total += count;
+            }
+        }
+
+        List<UserResponseDTO> content = List.of();
+        if (total > 0) {
+            Specification<User> filtered = searched
+                .and(UserSpecifications.hasRole(filter.getUserRole()))
+                .and(UserSpecifications.hasStatus(filter.getUserStatus()));
+            content = userRepository.findBy(filtered, query -> query.slice(pageable)).stream()
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toList());
+        }
+        return new UserFilterResultDTO(new PageImpl<>(content, pageable, total), roleCounts, statusCounts);
+    }
+
+    /**
+     * Suggest users whose username or name contains the term, for search-as-you-type
+     */
+    @Transactional(readOnly = true)
+    public List<UserSuggestionDTO> suggestUsers(String term, int limit) {
+        if (userSearchIndex.isReady()) {
+            return userSearchIndex.suggest(term, limit);
+        }
+        return userRepository.searchUsersByName(term, PageRequest.of(0, limit))
+            .map(user -> new UserSuggestionDTO(user.getId(), user.getUsername(), user.getFullName()))
+            .getContent();
     }
 
     /**
@@ -139,39 +289,63 @@ public class UserService {
      * Update user
      */
     public UserResponseDTO updateUser(Long id, UserUpdateDTO userUpdateDTO) {
+        // A full update is a patch of every field, where a missing phone number clears it
+        UserPatchDTO patch = new UserPatchDTO(userUpdateDTO.getEmail(), userUpdateDTO.getFirstName(),
+            userUpdateDTO.getLastName(), userUpdateDTO.getPhoneNumber() != null ? userUpdateDTO.getPhoneNumber() : "",
+            userUpdateDTO.getUserRole(), userUpdateDTO.getUserStatus());
+        return patchUser(id, patch, userUpdateDTO.getUpdatedBy());
+    }
+
+    /**
+     * Update the supplied fields of a user. Nothing is written or logged when every supplied
+     * value matches the current one, and only changed columns are written otherwise.
+     */
+    public UserResponseDTO patchUser(Long id, UserPatchDTO patch, String updatedBy) {
         log.info("Updating user: {}", id);
 
         User user = userRepository.findById(id)
             .orElseThrow(() -> new UserNotFoundException(id));
+        UserState before = UserState.of(user);
 
-        // Check if email already exists for another user
-        if (userRepository.existsByEmailAndIdNot(userUpdateDTO.getEmail(), id)) {
-            throw new UserAlreadyExistsException("email", userUpdateDTO.getEmail());
+        // Check if email already exists for another user; an unchanged email needs no check
+        boolean emailChanged = patch.getEmail() != null && !patch.getEmail().equals(user.getEmail());
+        boolean checked = !emailChanged || userIdentifierFilter.mightContainEmail(patch.getEmail());
+        if (emailChanged && checked && userRepository.existsByEmailAndIdNot(patch.getEmail(), id)) {
+            throw new UserAlreadyExistsException("email", patch.getEmail());
         }
 
-        // Update user fields
-        user.setEmail(userUpdateDTO.getEmail());
-        user.setFirstName(userUpdateDTO.getFirstName());
-        user.setLastName(userUpdateDTO.getLastName());
-        user.setPhoneNumber(userUpdateDTO.getPhoneNumber());
-        
-        if (userUpdateDTO.getUserRole() != null) {
-            user.setUserRole(userUpdateDTO.getUserRole());
+        List<String> changed = new ArrayList<>();
+        FieldChanges.applyChange("email", patch.getEmail(), user.getEmail(), user::setEmail, changed);
+        FieldChanges.applyChange("firstName", patch.getFirstName(), user.getFirstName(), user::setFirstName, changed);
+        FieldChanges.applyChange("lastName", patch.getLastName(), user.getLastName(), user::setLastName, changed);
+        if (patch.getPhoneNumber() != null) {
+            String phoneNumber = patch.getPhoneNumber().isEmpty() ? null : patch.getPhoneNumber();
+            FieldChanges.replace("phoneNumber", phoneNumber, user.getPhoneNumber(), user::setPhoneNumber, changed);
         }
-        
-        if (userUpdateDTO.getUserStatus() != null) {
-            user.setUserStatus(userUpdateDTO.getUserStatus());
+        FieldChanges.applyChange("userRole", patch.getUserRole(), user.getUserRole(), user::setUserRole, changed);
+        FieldChanges.applyChange("userStatus", patch.getUserStatus(), user.getUserStatus(),
+            user::setUserStatus, changed);
+
+        if (changed.isEmpty()) {
+            log.info("User {} unchanged, nothing to update", id);
+            return convertToResponseDTO(user);
         }
-        
-        user.setUpdatedBy(userUpdateDTO.getUpdatedBy());
+        user.setUpdatedBy(updatedBy);
 
-        User savedUser = userRepository.save(user);
+        User savedUser = checked ? userRepository.save(user) : saveUnchecked(user);
+        if (emailChanged) {
+            userIdentifierFilter.add(null, savedUser.getEmail());
+        }
+        if (changed.contains("firstName") || changed.contains("lastName")) {
+            userSearchIndex.index(savedUser);
+        }
+        userPopulationCounters.recordTransition(before, UserState.of(savedUser));
 
         // Log activity
-        userActivityService.logActivity(savedUser, "USER_UPDATED", 
-            "User account updated successfully", true);
+        userActivityService.logActivity(savedUser, "USER_UPDATED",
+            "User account updated successfully", true, "Changed fields: " + String.join(", ", changed), null);
 
-        log.info("User updated successfully: {}", savedUser.getUsername());
+        log.info("User updated successfully: {} ({})", savedUser.getUsername(), changed);
         return convertToResponseDTO(savedUser);
     }
 
@@ -181,20 +355,17 @@ public class UserService {
     public UserResponseDTO blockUser(Long id, String blockedBy) {
         log.info("Blocking user: {}", id);
 
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new UserNotFoundException(id));
-
-        user.setUserStatus(UserStatus.BLOCKED);
-        user.setUpdatedBy(blockedBy);
-
-        User savedUser = userRepository.save(user);
+        User user = transition(id, changed -> {
+            changed.setUserStatus(UserStatus.BLOCKED);
+            changed.setUpdatedBy(blockedBy);
+        });
 
         // Log activity
-        userActivityService.logActivity(savedUser, "USER_BLOCKED", 
+        userActivityService.logActivity(user, "USER_BLOCKED", 
             "User account blocked by administrator", true);
 
-        log.info("User blocked successfully: {}", savedUser.getUsername());
-        return convertToResponseDTO(savedUser);
+        log.info("User blocked successfully: {}", user.getUsername());
+        return convertToResponseDTO(user);
     }
 
     /**
@@ -203,20 +374,17 @@ public class UserService {
     public UserResponseDTO unblockUser(Long id, String unblockedBy) {
         log.info("Unblocking user: {}", id);
 
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new UserNotFoundException(id));
-
-        user.setUserStatus(UserStatus.ACTIVE);
-        user.setUpdatedBy(unblockedBy);
-
-        User savedUser = userRepository.save(user);
+        User user = transition(id, changed -> {
+            changed.setUserStatus(UserStatus.ACTIVE);
+            changed.setUpdatedBy(unblockedBy);
+        });
 
         // Log activity
-        userActivityService.logActivity(savedUser, "USER_UNBLOCKED", 
+        userActivityService.logActivity(user, "USER_UNBLOCKED", 
             "User account unblocked by administrator", true);
 
-        log.info("User unblocked successfully: {}", savedUser.getUsername());
-        return convertToResponseDTO(savedUser);
+        log.info("User unblocked successfully: {}", user.getUsername());
+        return convertToResponseDTO(user);
     }
 
     /**
@@ -225,13 +393,12 @@ public class UserService {
     public void deleteUser(Long id, String deletedBy) {
         log.info("Deleting user: {}", id);
 
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new UserNotFoundException(id));
-
-        user.setIsDeleted(true);
-        user.setUpdatedBy(deletedBy);
-
-        userRepository.save(user);
+        User user = transition(id, changed -> {
+            changed.setIsDeleted(true);
+            changed.setDeletedAt(LocalDateTime.now());
+            changed.setUpdatedBy(deletedBy);
+        });
+        userSearchIndex.remove(user.getId());
 
         // Log activity
         userActivityService.logActivity(user, "USER_DELETED", 
@@ -267,20 +434,18 @@ public class UserService {
     public UserResponseDTO lockUserAccount(Long id, int minutes, String lockedBy) {
         log.info("Locking user account: {} for {} minutes", id, minutes);
 
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new UserNotFoundException(id));
-
-        user.lockAccount(minutes);
-        user.setUpdatedBy(lockedBy);
-
-        User savedUser = userRepository.save(user);
+        LocalDateTime lockedUntil = LocalDateTime.now().plusMinutes(minutes);
+        User user = transition(id, changed -> {
+            changed.setAccountLockedUntil(lockedUntil);
+            changed.setUpdatedBy(lockedBy);
+        });
 
         // Log activity
-        userActivityService.logActivity(savedUser, "ACCOUNT_LOCKED", 
+        userActivityService.logActivity(user, "ACCOUNT_LOCKED", 
             "User account locked for " + minutes + " minutes", true);
 
-        log.info("User account locked successfully: {}", savedUser.getUsername());
-        return convertToResponseDTO(savedUser);
+        log.info("User account locked successfully: {}", user.getUsername());
+        return convertToResponseDTO(user);
     }
 
     /**
@@ -289,20 +454,33 @@ public class UserService {
     public UserResponseDTO unlockUserAccount(Long id, String unlockedBy) {
         log.info("Unlocking user account: {}", id);
 
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new UserNotFoundException(id));
-
-        user.resetLoginAttempts();
-        user.setUpdatedBy(unlockedBy);
-
-        User savedUser = userRepository.save(user);
+        User user = transition(id, changed -> {
+            changed.resetLoginAttempts();
+            changed.setUpdatedBy(unlockedBy);
+        });
 
         // Log activity
-        userActivityService.logActivity(savedUser, "ACCOUNT_UNLOCKED", 
+        userActivityService.logActivity(user, "ACCOUNT_UNLOCKED", 
             "User account unlocked by administrator", true);
 
-        log.info("User account unlocked successfully: {}", savedUser.getUsername());
-        return convertToResponseDTO(savedUser);
+        log.info("User account unlocked successfully: {}", user.getUsername());
+        return convertToResponseDTO(user);
+    }
+
+    /**
+     * Check whether a username is free, answering from the identifier filter when it can
+     */
+    @Transactional(readOnly = true)
+    public boolean isUsernameAvailable(String username) {
+        return !userIdentifierFilter.mightContainUsername(username) || !userRepository.existsByUsername(username);
+    }
+
+    /**
+     * Check whether an email is free, answering from the identifier filter when it can
+     */
+    @Transactional(readOnly = true)
+    public boolean isEmailAvailable(String email) {
+        return !userIdentifierFilter.mightContainEmail(email) || !userRepository.existsByEmail(email);
     }
 
     /**
@@ -310,19 +488,74 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public long getUserCount() {
+        if (userPopulationCounters.isReady()) {
+            return userPopulationCounters.getTotal();
+        }
         return userRepository.count();
     }
 
     @Transactional(readOnly = true)
     public long getUserCountByRole(UserRole userRole) {
+        if (userPopulationCounters.isReady()) {
+            return userPopulationCounters.getCountByRole(userRole);
+        }
         return userRepository.countByUserRoleAndIsDeletedFalse(userRole);
     }
 
     @Transactional(readOnly = true)
     public long getUserCountByStatus(UserStatus userStatus) {
+        if (userPopulationCounters.isReady()) {
+            return userPopulationCounters.getCountByStatus(userStatus);
+        }
         return userRepository.countByUserStatusAndIsDeletedFalse(userStatus);
     }
 
+    /**
+     * Apply a state change to a user through the managed entity, so its second-level cache entry is
+     * updated in place on commit rather than the whole region being invalidated. The row is locked
+     * first by reading only its version; the user itself then usually comes from the cache, and is
+     * re-read only when the cached copy is older than the locked row. With the lock held, the
+     * version check on flush cannot fail because of a concurrent writer.
+     */
+    private User transition(Long id, Consumer<User> change) {
+        Long version = userRepository.findVersionByIdForUpdate(id)
+            .orElseThrow(() -> new UserNotFoundException(id));
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new UserNotFoundException(id));
+        if (!version.equals(user.getVersion())) {
+            log.debug("Cached user {} is at version {} but the row is at {}, re-reading", id, user.getVersion(), version);
+            entityManager.refresh(user);
+        }
+
+        UserState before = UserState.of(user);
+        change.accept(user);
+        // Every transition is written and bumps the version, even one that repeats the current state
+        user.setUpdatedAt(LocalDateTime.now());
+        User savedUser = userRepository.saveAndFlush(user);
+        userPopulationCounters.recordTransition(before, UserState.of(savedUser));
+        return savedUser;
+    }
+
+    /**
+     * Save and flush a user whose username or email was ruled out by the filter alone. The filter
+     * may miss identifiers added elsewhere since it was built, so a unique constraint violation is
+     * reported the same way as the existence checks would.
+     */
+    private User saveUnchecked(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (message.contains("email")) {
+                throw new UserAlreadyExistsException("email", user.getEmail());
+            }
+            if (message.contains("username")) {
+                throw new UserAlreadyExistsException("username", user.getUsername());
+            }
+            throw e;
+        }
+    }
+
     /**
      * Convert User entity to UserResponseDTO
      */
@@ -347,5 +580,28 @@ public class UserService {
         dto.setIsDeleted(user.getIsDeleted());
         return dto;
     }
+
+    /**
+     * Convert an archived user to UserResponseDTO; archived users are always deleted
+     */
+    private UserResponseDTO convertToResponseDTO(UserArchive user) {
+        UserResponseDTO dto = new UserResponseDTO();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setFullName(user.getFullName());
+        dto.setPhoneNumber(user.getPhoneNumber());
+        dto.setUserRole(user.getUserRole());
+        dto.setUserStatus(user.getUserStatus());
+        dto.setLastLogin(user.getLastLogin());
+        dto.setCreatedAt(user.getCreatedAt());
+        dto.setUpdatedAt(user.getUpdatedAt());
+        dto.setCreatedBy(user.getCreatedBy());
+        dto.setUpdatedBy(user.getUpdatedBy());
+        dto.setIsDeleted(true);
+        return dto;
+    }
 }
 
@@ -0,0 +1,271 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.entity.UserSweepWatermark;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserRepository;
+import org.example.administrator.repository.UserSweepWatermarkRepository;
+import org.example.administrator.service.UserPopulationCounters.UserState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintenance sweeps over the user table: clearing expired account locks and deactivating
+ * users who have not logged in for a configured number of days.
+ * A sweep walks users in ID order chunk-size at a time, each chunk in its own transaction
+ * together with its persisted watermark, so a sweep interrupted by a restart resumes after
+ * the last committed chunk. A run handles at most max-chunks-per-run chunks; the next run
+ * continues the pass.
+ */
+@Service
+@Slf4j
+public class UserSweepService {
+
+    static final String LOCK_EXPIRY = "lock-expiry";
+    static final String INACTIVITY = "inactivity";
+    static final String SYSTEM_ACTOR = "system";
+
+    private final UserRepository userRepository;
+    private final UserSweepWatermarkRepository watermarkRepository;
+    private final UserActivityWriter userActivityWriter;
+    private final UserPopulationCounters userPopulationCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final boolean lockExpiryEnabled;
+    private final boolean inactivityEnabled;
+    private final int inactiveDays;
+    private final Map<String, SweepMetrics> metrics;
+
+    public UserSweepService(UserRepository userRepository,
+                            UserSweepWatermarkRepository watermarkRepository,
+                            UserActivityWriter userActivityWriter,
+                            UserPopulationCounters userPopulationCounters,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${admin.users.sweep.chunk-size:500}") int chunkSize,
+                            @Value("${admin.users.sweep.max-chunks-per-run:100}") int maxChunksPerRun,
+                            @Value("${admin.users.sweep.lock-expiry.enabled:true}") boolean lockExpiryEnabled,
+                            @Value("${admin.users.sweep.inactive.enabled:false}") boolean inactivityEnabled,
+                            @Value("${admin.users.sweep.inactive.days:90}") int inactiveDays) {
+        if (chunkSize <= 0 || maxChunksPerRun <= 0 || inactiveDays <= 0) {
+            throw new IllegalArgumentException("User sweep chunk size, chunks per run and inactive days must be positive");
+        }
+        this.userRepository = userRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.userActivityWriter = userActivityWriter;
+        this.userPopulationCounters = userPopulationCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.lockExpiryEnabled = lockExpiryEnabled;
+        this.inactivityEnabled = inactivityEnabled;
+        this.inactiveDays = inactiveDays;
+        this.metrics = Map.of(
+            LOCK_EXPIRY, new SweepMetrics(meterRegistry, LOCK_EXPIRY),
+            INACTIVITY, new SweepMetrics(meterRegistry, INACTIVITY));
+    }
+
+    /**
+     * Outcome of one chunk: users examined, users changed, and the last ID examined
+     */
+    private record ChunkResult(int scanned, int changed, long lastId) {
+    }
+
+    /**
+     * One chunk of a sweep, run inside the chunk transaction
+     */
+    @FunctionalInterface
+    private interface ChunkStep {
+
+        ChunkResult apply(long afterId, LocalDateTime now);
+    }
+
+    /**
+     * Per-sweep meters, recorded once per run
+     */
+    private static class SweepMetrics {
+
+        private final Timer duration;
+        private final DistributionSummary throughput;
+        private final Counter scanned;
+        private final Counter changed;
+
+        SweepMetrics(MeterRegistry registry, String sweep) {
+            this.duration = Timer.builder("admin.users.sweep.duration")
+                .description("Duration of a user sweep run")
+                .tag("sweep", sweep)
+                .register(registry);
+            this.throughput = DistributionSummary.builder("admin.users.sweep.throughput")
+                .description("Users examined per second in a user sweep run")
+                .baseUnit("users/s")
+                .tag("sweep", sweep)
+                .register(registry);
+            this.scanned = Counter.builder("admin.users.sweep.scanned")
+                .description("Users examined by the user sweep")
+                .tag("sweep", sweep)
+                .register(registry);
+            this.changed = Counter.builder("admin.users.sweep.changed")
+                .description("Users changed by the user sweep")
+                .tag("sweep", sweep)
+                .register(registry);
+        }
+    }
+
+    /**
+     * Periodically clear expired account locks
+     */
+    @Scheduled(initialDelayString = "${admin.users.sweep.lock-expiry.interval-ms:300000}",
+               fixedDelayString = "${admin.users.sweep.lock-expiry.interval-ms:300000}")
+    public void scheduledLockExpirySweep() {
+        if (lockExpiryEnabled) {
+            expireLocks();
+        }
+    }
+
+    /**
+     * Periodically deactivate inactive users
+     */
+    @Scheduled(initialDelayString = "${admin.users.sweep.inactive.interval-ms:3600000}",
+               fixedDelayString = "${admin.users.sweep.inactive.interval-ms:3600000}")
+    public void scheduledInactivitySweep() {
+        if (inactivityEnabled) {
+            deactivateInactiveUsers();
+        }
+    }
+
+    /**
+     * Clear the lock and failed login attempts of users whose lock has expired; returns the
+     * number of users changed by this run
+     */
+    public long expireLocks() {
+        return sweep(LOCK_EXPIRY, (afterId, now) -> {
+            List<Long> ids = userRepository.findIdsWithExpiredLockAfterForUpdate(afterId, now,
+                PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                return new ChunkResult(0, 0, afterId);
+            }
+
+            // The rows stay locked until the chunk commits, so every selected user is unlocked
+            List<UserActivity> activities = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                User user = new User();
+                user.setId(id);
+                activities.add(UserActivity.createSuccessActivity(user, "ACCOUNT_UNLOCKED",
+                    "User account unlocked automatically after the lock expired"));
+            }
+            int changed = userRepository.clearExpiredLocksByIdIn(ids, SYSTEM_ACTOR, now);
+            userActivityWriter.insertBatch(activities);
+            return new ChunkResult(ids.size(), changed, ids.get(ids.size() - 1));
+        });
+    }
+
+    /**
+     * Set active users who have not logged in for inactive-days to INACTIVE; users who never
+     * logged in count from their creation. Returns the number of users changed by this run.
+     */
+    public long deactivateInactiveUsers() {
+        return sweep(INACTIVITY, (afterId, now) -> {
+            List<Object[]> rows = userRepository.findInactiveUsersAfterForUpdate(afterId, UserStatus.ACTIVE,
+                now.minusDays(inactiveDays), PageRequest.of(0, chunkSize));
+            if (rows.isEmpty()) {
+                return new ChunkResult(0, 0, afterId);
+            }
+
+            List<Long> ids = new ArrayList<>(rows.size());
+            List<UserActivity> activities = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                UserRole role = (UserRole) row[1];
+                ids.add(id);
+                User user = new User();
+                user.setId(id);
+                activities.add(UserActivity.createSuccessActivity(user, "USER_DEACTIVATED",
+                    "User account deactivated after " + inactiveDays + " days without login"));
+                userPopulationCounters.recordTransition(new UserState(role, UserStatus.ACTIVE, false),
+                    new UserState(role, UserStatus.INACTIVE, false));
+            }
+            userRepository.updateStatusByIdIn(ids, UserStatus.INACTIVE, SYSTEM_ACTOR, now);
+            userActivityWriter.insertBatch(activities);
+            return new ChunkResult(rows.size(), rows.size(), ids.get(ids.size() - 1));
+        });
+    }
+
+    /**
+     * Run up to max-chunks-per-run chunks of a sweep from its watermark. Each chunk locks the
+     * watermark row, so instances running the same sweep take turns and never repeat a chunk.
+     */
+    private long sweep(String name, ChunkStep step) {
+        SweepMetrics meters = metrics.get(name);
+        long started = System.nanoTime();
+        long scanned = 0;
+        long changed = 0;
+        boolean passCompleted = false;
+
+        for (int chunk = 0; chunk < maxChunksPerRun && !passCompleted; chunk++) {
+            ChunkResult result;
+            try {
+                result = runChunk(name, step);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created this sweep's first watermark at the same time; lock its row and retry
+                log.debug("User {} sweep watermark created concurrently; retrying chunk", name);
+                result = runChunk(name, step);
+            }
+            scanned += result.scanned();
+            changed += result.changed();
+            passCompleted = result.scanned() < chunkSize;
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        meters.duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meters.throughput.record(scanned * 1e9 / Math.max(elapsedNanos, 1));
+        meters.scanned.increment(scanned);
+        meters.changed.increment(changed);
+        if (changed > 0 || !passCompleted) {
+            log.info("User {} sweep examined {} users and changed {} in {} ms{}", name, scanned, changed,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), passCompleted ? "" : "; pass continues next run");
+        }
+        return changed;
+    }
+
+    /**
+     * Run one chunk from the sweep's watermark and advance the watermark, in one transaction
+     */
+    private ChunkResult runChunk(String name, ChunkStep step) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            UserSweepWatermark watermark = watermarkRepository.findByNameForUpdate(name)
+                .orElseGet(() -> new UserSweepWatermark(name, 0L, null, null));
+            ChunkResult chunkResult = step.apply(watermark.getLastUserId(), now);
+            if (chunkResult.scanned() < chunkSize) {
+                // Pass finished; the next chunk starts over from the lowest ID
+                watermark.setLastUserId(0L);
+                watermark.setPassCompletedAt(now);
+            } else {
+                watermark.setLastUserId(chunkResult.lastId());
+            }
+            watermark.setUpdatedAt(now);
+            // Flushed here so a concurrent insert of the first watermark fails as a constraint violation
+            watermarkRepository.saveAndFlush(watermark);
+            return chunkResult;
+        });
+    }
+}
@@ -4,7 +4,11 @@
 
 // Global variables
 const API_BASE_URL = '/api/admin';
+const DASHBOARD_POLL_INTERVAL_MS = 30000;
 let currentUser = null;
+let dashboardStream = null;
+let dashboardPollTimer = null;
+let dashboardState = {};
 
 // Initialize on document ready
 $(document).ready(function() {
@@ -95,16 +99,95 @@ function initializeAlerts() {
 }
 
 /**
- * Load dashboard data
+ * Load dashboard data, pushed over the metrics stream when available
  */
 function loadDashboardData() {
     if (window.location.pathname.includes('/dashboard')) {
-        loadDashboardStatistics();
-        loadRecentActivities();
-        loadSystemHealth();
+        if (!subscribeDashboardStream()) {
+            startDashboardPolling();
+        }
+    }
+}
+
+/**
+ * Subscribe to pushed dashboard metrics; returns false when the browser cannot
+ */
+function subscribeDashboardStream() {
+    if (!window.EventSource) {
+        return false;
+    }
+
+    let received = false;
+    dashboardStream = new EventSource(API_BASE_URL + '/dashboard/stream');
+
+    dashboardStream.addEventListener('snapshot', function(event) {
+        received = true;
+        stopDashboardPolling();
+        dashboardState = JSON.parse(event.data);
+        applyDashboardState(dashboardState);
+    });
+
+    dashboardStream.addEventListener('delta', function(event) {
+        const changes = JSON.parse(event.data);
+        Object.keys(changes).forEach(function(key) {
+            if (changes[key] === null) {
+                delete dashboardState[key];
+            } else {
+                dashboardState[key] = changes[key];
+            }
+        });
+        applyDashboardState(dashboardState);
+    });
+
+    dashboardStream.onerror = function() {
+        // Once the stream has worked the browser reconnects by itself; otherwise fall back to polling
+        if (!received || dashboardStream.readyState === EventSource.CLOSED) {
+            console.warn('Dashboard stream unavailable, falling back to polling');
+            dashboardStream.close();
+            dashboardStream = null;
+            startDashboardPolling();
+        }
+    };
+    return true;
+}
+
+/**
+ * Apply a full dashboard payload from the stream
+ */
+function applyDashboardState(state) {
+    updateStatisticsCards(state);
+    if (state.recentActivities) {
+        updateRecentActivitiesTable(state.recentActivities);
+    }
+    if (state.health) {
+        updateSystemHealth(state.health);
     }
 }
 
+/**
+ * Poll the dashboard endpoints on a timer
+ */
+function startDashboardPolling() {
+    if (dashboardPollTimer) {
+        return;
+    }
+    pollDashboard();
+    dashboardPollTimer = setInterval(pollDashboard, DASHBOARD_POLL_INTERVAL_MS);
+}
+
+function stopDashboardPolling() {
+    if (dashboardPollTimer) {
+        clearInterval(dashboardPollTimer);
+        dashboardPollTimer = null;
+    }
+}
+
+function pollDashboard() {
+    loadDashboardStatistics();
+    loadRecentActivities();
+    loadSystemHealth();
+}
+
 /**
  * Load dashboard statistics
  */
@@ -0,0 +1,246 @@
+package org.example.administrator.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.ExportFormat;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.example.administrator.service.UserActivityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for UserActivityController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class UserActivityControllerIntegrationTest {
+
+    private static final int ACTIVITY_COUNT = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("encodedPassword");
+        testUser.setFirstName("Test");
+        testUser.setLastName("User");
+        testUser.setUserRole(UserRole.POLICY_OFFICER);
+        testUser.setUserStatus(UserStatus.ACTIVE);
+        testUser.setCreatedBy("admin");
+        testUser = userRepository.save(testUser);
+
+        // Pairs of activities share a timestamp so the id tie-breaker is exercised
+        LocalDateTime base = LocalDateTime.now().minusHours(1).withNano(0);
+        for (int i = 0; i < ACTIVITY_COUNT; i++) {
+            UserActivity activity = i % 3 == 0
+                ? UserActivity.createFailureActivity(testUser, "LOGIN_FAILED", "Login failed " + i, "Bad password")
+                : UserActivity.createSuccessActivity(testUser, "LOGIN", "Login " + i);
+            activity.setActivityTimestamp(base.plusSeconds(i / 2));
+            userActivityRepository.save(activity);
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void getRecentActivities_WithCursor_WalksAllRowsInOrder() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        List<LocalDateTime> timestamps = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+
+        do {
+            String body = mockMvc.perform(get("/api/admin/activities/recent/paged")
+                    .param("cursor", cursor)
+                    .param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            for (JsonNode activity : page.get("content")) {
+                assertTrue(activity.get("id").isTextual());
+                ids.add(activity.get("id").asLong());
+                timestamps.add(LocalDateTime.parse(activity.get("activityTimestamp").asText()));
+            }
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(ACTIVITY_COUNT, ids.size());
+        assertEquals(ACTIVITY_COUNT, new HashSet<>(ids).size());
+        for (int i = 1; i < ids.size(); i++) {
+            int order = timestamps.get(i - 1).compareTo(timestamps.get(i));
+            assertTrue(order > 0 || (order == 0 && ids.get(i - 1) > ids.get(i)));
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void getFailedActivities_WithCursor_ReturnsOnlyFailures() throws Exception {
+        mockMvc.perform(get("/api/admin/activities/failed/paged")
+                .param("cursor", "")
+                .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(9))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void getRecentActivities_WithoutCursor_ReturnsPage() throws Exception {
+        mockMvc.perform(get("/api/admin/activities/recent/paged")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.totalElements").value(ACTIVITY_COUNT));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void getRecentActivities_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/admin/activities/recent/paged")
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("ILLEGAL_ARGUMENT"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void getFailedActivities_WithinBudget_ReturnsAllRowsUntruncated() throws Exception {
+        mockMvc.perform(get("/api/admin/activities/failed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(9))
+                .andExpect(header().string("X-Result-Truncated", "false"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void getFailedActivities_OverBudget_TruncatesAndLinksToCursorEndpoint() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/activities/failed?limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(header().string("X-Result-Truncated", "true"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        String link = result.getResponse().getHeader("Link");
+        assertNotNull(link);
+        assertTrue(link.contains("/api/admin/activities/failed/paged?"));
+        assertFalse(link.contains("limit="));
+
+        mockMvc.perform(get("/api/admin/activities/failed/paged")
+                .param("cursor", result.getResponse().getHeader("X-Next-Cursor"))
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(4))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void searchActivities_Truncated_LinkKeepsSearchTerm() throws Exception {
+        mockMvc.perform(get("/api/admin/activities/search?searchTerm=login&limit=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(header().string("X-Result-Truncated", "true"))
+                .andExpect(header().string("Link", containsString("searchTerm=login")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void exportActivities_StartsStreamingResponse() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/activities/export")
+                .param("startDate", LocalDateTime.now().minusDays(1).toString())
+                .param("endDate", LocalDateTime.now().toString())
+                .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"activities.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+    }
+
+    @Test
+    void exportActivities_Csv_WritesHeaderAndOneRowPerActivity() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = userActivityService.exportActivities(LocalDateTime.now().minusDays(1), LocalDateTime.now(),
+            null, null, ExportFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ACTIVITY_COUNT, rows);
+        assertEquals(ACTIVITY_COUNT + 1, lines.length);
+        assertTrue(lines[0].startsWith("id,userId,username,activityType"));
+        assertTrue(lines[1].contains(",testuser,"));
+    }
+
+    @Test
+    void exportActivities_NdjsonFilteredByType_WritesOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = userActivityService.exportActivities(LocalDateTime.now().minusDays(1), LocalDateTime.now(),
+            "LOGIN_FAILED", null, ExportFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(9, rows);
+        assertEquals(9, lines.length);
+        for (String line : lines) {
+            JsonNode activity = objectMapper.readTree(line);
+            assertEquals("LOGIN_FAILED", activity.get("activityType").asText());
+            assertEquals("testuser", activity.get("username").asText());
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package org.example.administrator.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.administrator.dto.BulkUserSelectionDTO;
 import org.example.administrator.dto.UserCreateDTO;
 import org.example.administrator.entity.User;
 import org.example.administrator.enums.UserRole;
 import org.example.administrator.enums.UserStatus;
 import org.example.administrator.repository.UserRepository;
+import org.example.administrator.service.UserSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -17,6 +19,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -25,7 +29,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Integration tests for UserController
  */
 @SpringBootTest
-@AutoConfigureWebMvc
+@AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Transactional
 class UserControllerIntegrationTest {
@@ -39,6 +43,9 @@ class UserControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     private User testUser;
 
     @BeforeEach
@@ -208,6 +215,31 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].username").value("testuser"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void patchUser_ChangesOnlySuppliedFields() throws Exception {
+        mockMvc.perform(patch("/api/admin/users/{id}?updatedBy=admin", testUser.getId())
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\": \"Patched\", \"phoneNumber\": \"555-0100\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Patched"))
+                .andExpect(jsonPath("$.phoneNumber").value("555-0100"))
+                .andExpect(jsonPath("$.lastName").value("User"))
+                .andExpect(jsonPath("$.email").value("test@example.com"))
+                .andExpect(jsonPath("$.updatedBy").value("admin"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void patchUser_BlankName_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/admin/users/{id}?updatedBy=admin", testUser.getId())
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\": \"  \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN_OFFICER")
     void blockUser_Success() throws Exception {
@@ -286,5 +318,50 @@ class UserControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(userCreateDTO)))
                 .andExpect(status().isForbidden());
     }
-}
 
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void importUsers_ReturnsRowReport() throws Exception {
+        String csv = "username,email,password,firstName,lastName,userRole\n" +
+            "imported,imported@example.com,password123,Imported,User,CUSTOMER_SERVICE\n" +
+            "testuser,other@example.com,password123,Test,User,CUSTOMER_SERVICE\n";
+
+        mockMvc.perform(post("/api/admin/users/import")
+                .with(csrf())
+                .param("format", "CSV")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rows[1].status").value("DUPLICATE"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void applyBulkOperation_BlocksSelectedUsers() throws Exception {
+        BulkUserSelectionDTO selection = new BulkUserSelectionDTO(List.of(testUser.getId()), null, null, null);
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                .with(csrf())
+                .param("action", "BLOCK")
+                .param("performedBy", "admin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(selection)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(1))
+                .andExpect(jsonPath("$.affected").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN_OFFICER")
+    void autocompleteUsers_ReturnsMatchingUsers() throws Exception {
+        userSearchIndex.rebuild();
+
+        mockMvc.perform(get("/api/admin/users/autocomplete")
+                .param("term", "testu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("testuser"))
+                .andExpect(jsonPath("$[0].fullName").value("Test User"));
+    }
+}
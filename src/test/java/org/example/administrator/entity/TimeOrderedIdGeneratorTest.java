@@ -0,0 +1,75 @@
+package org.example.administrator.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimeOrderedIdGenerator
+ */
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void nextId_IsStrictlyIncreasing() {
+        long previous = TimeOrderedIdGenerator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = TimeOrderedIdGenerator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_IsUniqueAcrossThreads() throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(TimeOrderedIdGenerator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void timestampOf_ReturnsCreationTime() {
+        Instant before = Instant.now();
+        long id = TimeOrderedIdGenerator.nextId();
+
+        Instant encoded = TimeOrderedIdGenerator.timestampOf(id);
+
+        // Sequence overflow may push the timestamp slightly ahead of the wall clock
+        assertFalse(encoded.isBefore(before.minusMillis(1)));
+        assertTrue(Duration.between(before, encoded).toSeconds() < 5);
+    }
+
+    @Test
+    void lowestIdAt_IsBelowIdsGeneratedAfterwards() {
+        long lowerBound = TimeOrderedIdGenerator.lowestIdAt(LocalDateTime.now().minusSeconds(1));
+
+        assertTrue(TimeOrderedIdGenerator.nextId() > lowerBound);
+    }
+
+    @Test
+    void setNodeId_OutOfRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedIdGenerator.setNodeId(1024));
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedIdGenerator.setNodeId(-1));
+    }
+}
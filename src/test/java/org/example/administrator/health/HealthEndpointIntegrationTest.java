@@ -0,0 +1,51 @@
+package org.example.administrator.health;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the health endpoint groups
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HealthEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void liveness_IsPublicAndExcludesDependencies() throws Exception {
+        mockMvc.perform(get("/actuator/health/liveness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.components.database").doesNotExist());
+    }
+
+    @Test
+    void readiness_IncludesDatabaseAndActivityWriter() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.components.database.status").value("UP"))
+            .andExpect(jsonPath("$.components.database.details.latencyMs").exists())
+            .andExpect(jsonPath("$.components.activityWriter.status").value("UP"))
+            .andExpect(jsonPath("$.components.activityFailureRate").doesNotExist());
+    }
+
+    @Test
+    void health_ReplacesBuiltInDatabaseCheck() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.components.database").exists())
+            .andExpect(jsonPath("$.components.activityFailureRate").exists())
+            .andExpect(jsonPath("$.components.db").doesNotExist());
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.administrator.health;
+
+import org.example.administrator.service.ActivityRollupService;
+import org.example.administrator.service.UserActivityWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the cached health indicators
+ */
+class HealthIndicatorsTest {
+
+    @Test
+    void database_AnswersFromLastPingWithoutTouchingTheDatabase() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        DatabaseHealthIndicator indicator = new DatabaseHealthIndicator(dataSource, 2, 500, 60_000);
+
+        indicator.refresh();
+        Health first = indicator.health();
+        Health second = indicator.health();
+
+        assertEquals(Status.UP, first.getStatus());
+        assertTrue(first.getDetails().containsKey("latencyMs"));
+        assertSame(first, second);
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void database_ReportsDownWhenPingFails() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        DatabaseHealthIndicator indicator = new DatabaseHealthIndicator(dataSource, 2, 500, 60_000);
+
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+        assertFalse(indicator.isAvailable());
+    }
+
+    @Test
+    void activityWriter_ReportsLagAndQueuePressure() {
+        UserActivityWriter writer = mock(UserActivityWriter.class);
+        when(writer.isEnabled()).thenReturn(true);
+        when(writer.isRunning()).thenReturn(true);
+        when(writer.getQueueCapacity()).thenReturn(100);
+        ActivityWriterHealthIndicator indicator = new ActivityWriterHealthIndicator(writer, 10_000, 0.9);
+
+        when(writer.getQueueDepth()).thenReturn(5);
+        when(writer.getLag()).thenReturn(Duration.ofSeconds(1));
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        when(writer.getLag()).thenReturn(Duration.ofSeconds(30));
+        assertEquals(AdminHealthStatus.WARNING, indicator.health().getStatus());
+
+        when(writer.getQueueDepth()).thenReturn(95);
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+        when(writer.isRunning()).thenReturn(false);
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    void failureRate_WarnsOnlyAboveThresholdWithEnoughActivities() {
+        ActivityRollupService activityRollupService = mock(ActivityRollupService.class);
+        ActivityFailureRateHealthIndicator indicator =
+            new ActivityFailureRateHealthIndicator(activityRollupService, 15, 0.1, 20);
+
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+
+        when(activityRollupService.countActivitiesBySuccess(any(), any())).thenReturn(Map.of(true, 5L, false, 5L));
+        indicator.refresh();
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals(0.5, indicator.getFailureRate());
+
+        when(activityRollupService.countActivitiesBySuccess(any(), any())).thenReturn(Map.of(true, 80L, false, 20L));
+        indicator.refresh();
+        assertEquals(AdminHealthStatus.WARNING, indicator.health().getStatus());
+        assertEquals(0.2, indicator.getFailureRate());
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.administrator.entity.SystemConfiguration;
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that users and configurations are served from the second-level cache across transactions.
+ * Data is committed, so each test cleans up after itself.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private SystemConfigurationRepository configurationRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userActivityRepository.deleteAll();
+            userRepository.deleteAll();
+            configurationRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void findByConfigKey_RepeatedLookupIssuesNoQuery() {
+        saveConfiguration("cache.test.key", "42");
+        inTransaction(() -> configurationRepository.findByConfigKey("cache.test.key"));
+
+        statistics.clear();
+        SystemConfiguration config = inTransaction(() -> configurationRepository.findByConfigKey("cache.test.key"))
+            .orElseThrow();
+
+        assertEquals("42", config.getConfigValue());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByConfigKey_SeesRenamesAndValueUpdates() {
+        Long id = saveConfiguration("cache.test.old", "1");
+        inTransaction(() -> configurationRepository.findByConfigKey("cache.test.old"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            SystemConfiguration config = configurationRepository.findById(id).orElseThrow();
+            config.setConfigKey("cache.test.new");
+            config.setConfigValue("2");
+        });
+
+        assertTrue(inTransaction(() -> configurationRepository.findByConfigKey("cache.test.old")).isEmpty());
+        assertEquals("2", inTransaction(() -> configurationRepository.findByConfigKey("cache.test.new"))
+            .orElseThrow().getConfigValue());
+    }
+
+    @Test
+    void findByUsername_AndFindById_AreServedFromCacheAfterFirstLoad() {
+        Long id = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setUsername("cached");
+            user.setEmail("cached@example.com");
+            user.setPassword("password123");
+            user.setFirstName("Cached");
+            user.setLastName("User");
+            user.setUserRole(UserRole.POLICY_OFFICER);
+            user.setUserStatus(UserStatus.ACTIVE);
+            return userRepository.save(user).getId();
+        });
+        inTransaction(() -> userRepository.findByUsername("cached"));
+
+        statistics.clear();
+        assertEquals(id, inTransaction(() -> userRepository.findByUsername("cached")).orElseThrow().getId());
+        assertEquals("cached", inTransaction(() -> userRepository.findById(id)).orElseThrow().getUsername());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void blockUser_LeavesOtherCachedUsersInCache() {
+        Long blocked = saveUser("blocked");
+        Long other = saveUser("bystander");
+        inTransaction(() -> userRepository.findById(blocked));
+        inTransaction(() -> userRepository.findById(other));
+
+        userService.blockUser(blocked, "admin");
+
+        statistics.clear();
+        assertEquals("bystander", inTransaction(() -> userRepository.findById(other)).orElseThrow().getUsername());
+        assertEquals(UserStatus.BLOCKED, inTransaction(() -> userRepository.findById(blocked)).orElseThrow()
+            .getUserStatus());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updateStatusByIdIn_EvictsOnlyTheChangedUsers() {
+        Long blocked = saveUser("bulkblocked");
+        Long other = saveUser("bulkbystander");
+        inTransaction(() -> userRepository.findById(blocked));
+        inTransaction(() -> userRepository.findById(other));
+
+        inTransaction(() -> userRepository.updateStatusByIdIn(List.of(blocked), UserStatus.BLOCKED, "admin",
+            LocalDateTime.now()));
+
+        statistics.clear();
+        assertEquals("bulkbystander", inTransaction(() -> userRepository.findById(other)).orElseThrow().getUsername());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(UserStatus.BLOCKED, inTransaction(() -> userRepository.findById(blocked)).orElseThrow()
+            .getUserStatus());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void deleteDeletedByIdIn_FreesTheCachedUsername() {
+        Long removed = saveUser("reused");
+        inTransaction(() -> userRepository.findByUsername("reused"));
+        inTransaction(() -> userRepository.softDeleteByIdIn(List.of(removed), "admin", LocalDateTime.now()));
+
+        inTransaction(() -> userRepository.deleteDeletedByIdIn(List.of(removed)));
+        Long replacement = saveUser("reused");
+
+        assertEquals(replacement, inTransaction(() -> userRepository.findByUsername("reused")).orElseThrow().getId());
+    }
+
+    private Long saveUser(String username) {
+        return transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setEmail(username + "@example.com");
+            user.setPassword("password123");
+            user.setFirstName("Cached");
+            user.setLastName("User");
+            user.setUserRole(UserRole.POLICY_OFFICER);
+            user.setUserStatus(UserStatus.ACTIVE);
+            return userRepository.save(user).getId();
+        });
+    }
+
+    private Long saveConfiguration(String key, String value) {
+        return transactionTemplate.execute(status -> {
+            SystemConfiguration config = new SystemConfiguration();
+            config.setConfigKey(key);
+            config.setConfigValue(value);
+            config.setConfigType(SystemConfiguration.ConfigurationType.SYSTEM);
+            return configurationRepository.save(config).getId();
+        });
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
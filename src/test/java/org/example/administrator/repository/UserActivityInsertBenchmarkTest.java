@@ -0,0 +1,107 @@
+package org.example.administrator.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Insert throughput benchmark for user activities.
+ * Compares one flushed INSERT per row (what IDENTITY generation forces) with
+ * batched inserts enabled by application-generated IDs.
+ * Run with RUN_BENCHMARKS=true.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Slf4j
+class UserActivityInsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareRowAtATimeWithBatchedInserts() {
+        User user = createUser();
+
+        // Warm up
+        insertRowAtATime(user, 1_000);
+        insertBatched(user, 1_000);
+
+        long rowAtATimeNanos = time(() -> insertRowAtATime(user, ROWS));
+        long batchedNanos = time(() -> insertBatched(user, ROWS));
+
+        log.info("Row-at-a-time inserts: {} rows/sec", ROWS * 1_000_000_000L / rowAtATimeNanos);
+        log.info("Batched inserts:       {} rows/sec", ROWS * 1_000_000_000L / batchedNanos);
+    }
+
+    private void insertRowAtATime(User user, int rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User reference = entityManager.getReference(User.class, user.getId());
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(activity(reference, i));
+                entityManager.flush();
+                entityManager.clear();
+                reference = entityManager.getReference(User.class, user.getId());
+            }
+        });
+    }
+
+    private void insertBatched(User user, int rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User reference = entityManager.getReference(User.class, user.getId());
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(activity(reference, i));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    reference = entityManager.getReference(User.class, user.getId());
+                }
+            }
+        });
+    }
+
+    private UserActivity activity(User user, int i) {
+        return UserActivity.createSuccessActivity(user, "BENCHMARK", "Benchmark activity " + i);
+    }
+
+    private long time(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setUserRole(UserRole.CUSTOMER_SERVICE);
+        user.setUserStatus(UserStatus.ACTIVE);
+        return userRepository.save(user);
+    }
+}
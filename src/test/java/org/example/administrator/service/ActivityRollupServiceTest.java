@@ -0,0 +1,245 @@
+package org.example.administrator.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.administrator.dto.ActivitySeriesPointDTO;
+import org.example.administrator.dto.StatisticsSnapshotDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.SeriesGranularity;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that counts answered from hourly rollups plus the unrolled tail match counts over the raw rows
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ActivityRollupServiceTest {
+
+    private static final int ACTIVITY_COUNT = 300;
+
+    @Autowired
+    private ActivityRollupService activityRollupService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("rollupuser");
+        user.setEmail("rollup@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Rollup");
+        user.setLastName("User");
+        user.setUserRole(UserRole.POLICY_OFFICER);
+        user.setUserStatus(UserStatus.ACTIVE);
+        user.setCreatedBy("admin");
+        user = userRepository.save(user);
+
+        // Every 37 minutes over roughly eight days, so buckets and window edges never line up
+        now = LocalDateTime.now();
+        List<UserActivity> activities = new ArrayList<>();
+        for (int i = 0; i < ACTIVITY_COUNT; i++) {
+            UserActivity activity = switch (i % 6) {
+                case 0 -> UserActivity.createFailureActivity(user, "LOGIN_FAILED", "Login failed", "Bad password");
+                case 1, 2 -> UserActivity.createSuccessActivity(user, "LOGOUT", "Logout");
+                default -> UserActivity.createSuccessActivity(user, "LOGIN", "Login");
+            };
+            activity.setActivityTimestamp(now.minusMinutes(i * 37L));
+            activities.add(activity);
+        }
+        userActivityRepository.saveAll(activities);
+        entityManager.flush();
+
+        activityRollupService.rollUp();
+        entityManager.flush();
+        entityManager.clear();
+        activityRollupService.loadWatermark();
+    }
+
+    @AfterTransaction
+    void resetWatermark() {
+        activityRollupService.loadWatermark();
+    }
+
+    @Test
+    void rollUp_AdvancesWatermarkToLastCompleteHour() {
+        LocalDateTime rolledUpTo = activityRollupService.getRolledUpTo();
+
+        assertNotNull(rolledUpTo);
+        assertEquals(0, rolledUpTo.getMinute());
+        assertFalse(rolledUpTo.isAfter(now));
+        assertEquals(0, activityRollupService.rollUp());
+    }
+
+    @Test
+    void countActivitiesBetween_MatchesRawCounts() {
+        LocalDateTime[][] ranges = {
+            {now.minusHours(24), now},
+            {now.minusDays(7), now},
+            {now.minusDays(30), now},
+            {now.minusMinutes(95), now.minusMinutes(20)},
+            {now.minusDays(3).plusMinutes(13), now.minusDays(1).minusMinutes(7)},
+            {now.minusHours(5).withMinute(0).withSecond(0).withNano(0), now.minusHours(2).withMinute(0).withSecond(0).withNano(0)},
+            {now.plusHours(1), now.plusHours(2)}
+        };
+
+        for (LocalDateTime[] range : ranges) {
+            assertEquals(userActivityRepository.countActivitiesBetweenDates(range[0], range[1]),
+                activityRollupService.countActivitiesBetween(range[0], range[1]),
+                "Range " + range[0] + " - " + range[1]);
+        }
+    }
+
+    @Test
+    void getMostFrequentActivityTypes_MatchesRawCountsInOrder() {
+        List<Object[]> expected = userActivityRepository.findMostFrequentActivityTypes();
+        List<Object[]> actual = userActivityService.getMostFrequentActivityTypes();
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], actual.get(i)[0]);
+            assertEquals(expected.get(i)[1], actual.get(i)[1]);
+        }
+    }
+
+    @Test
+    void getSnapshot_MatchesRawCounts() {
+        StatisticsSnapshotDTO snapshot = statisticsService.getSnapshot();
+        LocalDateTime generatedAt = snapshot.getGeneratedAt();
+
+        assertEquals(ACTIVITY_COUNT, snapshot.getTotalActivities());
+        assertEquals(userActivityRepository.countBySuccess(true), snapshot.getSuccessfulActivities());
+        assertEquals(userActivityRepository.countBySuccess(false), snapshot.getFailedActivities());
+        assertEquals(userActivityRepository.countByActivityType("LOGIN_FAILED"), snapshot.getFailedLoginAttempts());
+        assertEquals(userActivityRepository.countActivitiesBetweenDates(generatedAt.minusHours(24), generatedAt),
+            snapshot.getActivitiesLast24Hours());
+        assertEquals(userActivityRepository.countActivitiesBetweenDates(generatedAt.minusDays(7), generatedAt),
+            snapshot.getActivitiesLast7Days());
+        assertEquals(userActivityRepository.countActivitiesBetweenDates(generatedAt.minusDays(30), generatedAt),
+            snapshot.getActivitiesLast30Days());
+    }
+
+    @Test
+    void cleanupOldActivities_RebuildsRollupsForRemainingRows() {
+        userActivityService.cleanupOldActivities(3);
+        entityManager.clear();
+
+        assertEquals(userActivityRepository.count(), activityRollupService.countActivitiesBetween(
+            ActivityRollupService.ALL_TIME, ActivityRollupService.ALL_TIME_END));
+        assertEquals(userActivityRepository.countActivitiesBetweenDates(now.minusDays(3).minusMinutes(30), now),
+            activityRollupService.countActivitiesBetween(now.minusDays(3).minusMinutes(30), now));
+
+        Map<String, Long> expected = new HashMap<>();
+        for (Object[] row : userActivityRepository.findMostFrequentActivityTypes()) {
+            expected.put((String) row[0], (Long) row[1]);
+        }
+        assertEquals(expected, activityRollupService.countActivitiesByType());
+    }
+
+    @Test
+    void countActivitySeries_MatchesRawRowsBucketedPerGranularity() {
+        LocalDateTime[][] ranges = {
+            {now.minusDays(7), now},
+            {now.minusDays(3).plusMinutes(13), now.minusDays(1).minusMinutes(7)},
+            {now.minusHours(6), now}
+        };
+
+        for (SeriesGranularity granularity : SeriesGranularity.values()) {
+            for (LocalDateTime[] range : ranges) {
+                if (granularity == SeriesGranularity.MINUTE && range[0].isBefore(now.minusDays(3))) {
+                    continue;
+                }
+                assertEquals(rawSeries(range[0], range[1], granularity),
+                    toMap(activityRollupService.countActivitySeries(range[0], range[1], granularity)),
+                    granularity + " " + range[0] + " - " + range[1]);
+            }
+        }
+    }
+
+    @Test
+    void countActivitiesBySuccess_MatchesRawCounts() {
+        LocalDateTime start = now.minusDays(2).plusMinutes(11);
+        List<UserActivity> inRange = userActivityRepository.findAll().stream()
+            .filter(activity -> isBetween(activity.getActivityTimestamp(), start, now))
+            .toList();
+        long successful = inRange.stream().filter(UserActivity::getSuccess).count();
+        long failed = inRange.size() - successful;
+
+        Map<Boolean, Long> counts = activityRollupService.countActivitiesBySuccess(start, now);
+
+        assertEquals(successful, counts.get(true));
+        assertEquals(failed, counts.get(false));
+    }
+
+    @Test
+    void countActivitySeries_RejectsRangesBeyondBucketLimit() {
+        assertThrows(IllegalArgumentException.class,
+            () -> activityRollupService.countActivitySeries(now.minusDays(30), now, SeriesGranularity.MINUTE));
+        assertThrows(IllegalArgumentException.class,
+            () -> activityRollupService.countActivitySeries(now, now.minusDays(1), SeriesGranularity.HOUR));
+    }
+
+    private Map<String, Long> rawSeries(LocalDateTime start, LocalDateTime end, SeriesGranularity granularity) {
+        Map<String, Long> expected = new TreeMap<>();
+        for (UserActivity activity : userActivityRepository.findAll()) {
+            LocalDateTime timestamp = activity.getActivityTimestamp();
+            if (isBetween(timestamp, start, end)) {
+                expected.merge(granularity.truncate(timestamp) + "|" + activity.getActivityType() + "|" +
+                    activity.getSuccess(), 1L, Long::sum);
+            }
+        }
+        return expected;
+    }
+
+    // Stored timestamps are rounded to the column precision, so compare against what was stored
+    private static boolean isBetween(LocalDateTime timestamp, LocalDateTime start, LocalDateTime end) {
+        return !timestamp.isBefore(start) && !timestamp.isAfter(end);
+    }
+
+    private Map<String, Long> toMap(List<ActivitySeriesPointDTO> points) {
+        Map<String, Long> actual = new TreeMap<>();
+        for (ActivitySeriesPointDTO point : points) {
+            assertNull(actual.put(point.getBucketStart() + "|" + point.getActivityType() + "|" + point.getSuccess(),
+                point.getCount()), "Duplicate bucket " + point);
+        }
+        return actual;
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.administrator.service;
+
+import org.example.administrator.dto.BulkUserOperationResultDTO;
+import org.example.administrator.dto.BulkUserSelectionDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.BulkUserAction;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BulkUserOperationService, with a small chunk size so operations span several chunks
+ */
+@SpringBootTest(properties = "admin.users.bulk.chunk-size=2")
+@ActiveProfiles("test")
+@Transactional
+class BulkUserOperationServiceTest {
+
+    @Autowired
+    private BulkUserOperationService bulkUserOperationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        ids.add(createUser("active1", UserRole.POLICY_OFFICER, UserStatus.ACTIVE, LocalDateTime.now()));
+        ids.add(createUser("active2", UserRole.POLICY_OFFICER, UserStatus.ACTIVE, LocalDateTime.now().minusDays(90)));
+        ids.add(createUser("blocked", UserRole.POLICY_OFFICER, UserStatus.BLOCKED, null));
+        ids.add(createUser("claims", UserRole.CLAIMS_OFFICER, UserStatus.ACTIVE, LocalDateTime.now().minusDays(90)));
+        ids.add(createUser("pending", UserRole.POLICY_OFFICER, UserStatus.PENDING, null));
+    }
+
+    @Test
+    void blockByIds_SkipsUnchangedAndMissingUsersAndLogsEachChange() {
+        List<Long> selected = new ArrayList<>(ids.subList(0, 3));
+        selected.add(-1L);
+
+        BulkUserOperationResultDTO result = bulkUserOperationService.apply(BulkUserAction.BLOCK,
+            new BulkUserSelectionDTO(selected, null, null, null), null, "admin");
+
+        assertEquals(3, result.getMatched());
+        assertEquals(2, result.getAffected());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(1, result.getNotFound());
+        for (Long id : ids.subList(0, 3)) {
+            User user = userRepository.findById(id).orElseThrow();
+            assertEquals(UserStatus.BLOCKED, user.getUserStatus());
+        }
+        assertEquals("admin", userRepository.findById(ids.get(0)).orElseThrow().getUpdatedBy());
+        assertEquals(2, userActivityRepository.countByActivityType("USER_BLOCKED"));
+    }
+
+    @Test
+    void deleteByFilter_AppliesAcrossChunksToMatchingUsersOnly() {
+        BulkUserOperationResultDTO result = bulkUserOperationService.apply(BulkUserAction.DELETE,
+            new BulkUserSelectionDTO(null, UserRole.POLICY_OFFICER, null, LocalDateTime.now().minusDays(30)),
+            null, "admin");
+
+        // active2 logged in long ago; blocked and pending never logged in
+        assertEquals(3, result.getMatched());
+        assertEquals(3, result.getAffected());
+        assertFalse(userRepository.findById(ids.get(0)).orElseThrow().getIsDeleted());
+        assertTrue(userRepository.findById(ids.get(1)).orElseThrow().getIsDeleted());
+        assertTrue(userRepository.findById(ids.get(2)).orElseThrow().getIsDeleted());
+        assertFalse(userRepository.findById(ids.get(3)).orElseThrow().getIsDeleted());
+        assertTrue(userRepository.findById(ids.get(4)).orElseThrow().getIsDeleted());
+        assertEquals(3, userActivityRepository.countByActivityType("USER_DELETED"));
+    }
+
+    @Test
+    void lockThenUnlock_SetsAndClearsTheLock() {
+        BulkUserSelectionDTO selection = new BulkUserSelectionDTO(null, null, UserStatus.ACTIVE, null);
+
+        BulkUserOperationResultDTO locked = bulkUserOperationService.apply(BulkUserAction.LOCK, selection, 30, "admin");
+        assertEquals(3, locked.getAffected());
+        assertTrue(userRepository.findById(ids.get(3)).orElseThrow().isAccountLocked());
+        assertFalse(userRepository.findById(ids.get(2)).orElseThrow().isAccountLocked());
+
+        BulkUserOperationResultDTO unlocked = bulkUserOperationService.apply(BulkUserAction.UNLOCK,
+            new BulkUserSelectionDTO(ids, null, null, null), null, "admin");
+        assertEquals(5, unlocked.getMatched());
+        assertEquals(3, unlocked.getAffected());
+        assertFalse(userRepository.findById(ids.get(3)).orElseThrow().isAccountLocked());
+    }
+
+    @Test
+    void apply_RejectsAmbiguousSelectionAndLockWithoutMinutes() {
+        assertThrows(IllegalArgumentException.class, () -> bulkUserOperationService.apply(BulkUserAction.BLOCK,
+            new BulkUserSelectionDTO(), null, "admin"));
+        assertThrows(IllegalArgumentException.class, () -> bulkUserOperationService.apply(BulkUserAction.BLOCK,
+            new BulkUserSelectionDTO(ids, UserRole.POLICY_OFFICER, null, null), null, "admin"));
+        assertThrows(IllegalArgumentException.class, () -> bulkUserOperationService.apply(BulkUserAction.LOCK,
+            new BulkUserSelectionDTO(ids, null, null, null), null, "admin"));
+    }
+
+    private Long createUser(String username, UserRole role, UserStatus status, LocalDateTime lastLogin) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Bulk");
+        user.setLastName("User");
+        user.setUserRole(role);
+        user.setUserStatus(status);
+        user.setLastLogin(lastLogin);
+        return userRepository.save(user).getId();
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.administrator.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DashboardStatisticsCache
+ */
+class DashboardStatisticsCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration REFRESH_AHEAD = Duration.ofSeconds(5);
+    private static final Duration MAX_STALE = Duration.ofMinutes(5);
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+    private DashboardStatisticsCache cache;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    void withinTtl_ServesCachedSnapshotAsFresh() {
+        cache = newCache(this::load);
+
+        Map<String, Object> first = cache.getDashboardStatistics();
+        clock.advance(Duration.ofSeconds(10));
+        Map<String, Object> second = cache.getDashboardStatistics();
+
+        assertEquals(1, loads.get());
+        assertEquals(1, second.get("load"));
+        assertEquals(false, second.get(DashboardStatisticsCache.STALE));
+        assertEquals(10L, second.get(DashboardStatisticsCache.AGE_SECONDS));
+        assertEquals(first.get(DashboardStatisticsCache.GENERATED_AT), second.get(DashboardStatisticsCache.GENERATED_AT));
+    }
+
+    @Test
+    void nearExpiry_RefreshesInBackgroundWhileServingCurrentSnapshot() throws Exception {
+        cache = newCache(this::load);
+        cache.getDashboardStatistics();
+
+        clock.advance(Duration.ofSeconds(27));
+        Map<String, Object> served = cache.getDashboardStatistics();
+
+        assertEquals(1, served.get("load"));
+        assertEquals(false, served.get(DashboardStatisticsCache.STALE));
+        assertEquals(2, awaitLoad(2));
+        assertEquals(0L, cache.getDashboardStatistics().get(DashboardStatisticsCache.AGE_SECONDS));
+    }
+
+    @Test
+    void pastTtl_ServesStaleSnapshotWithAge() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        cache = newCache(() -> {
+            if (loads.get() > 0) {
+                awaitQuietly(release);
+            }
+            return load();
+        });
+        cache.getDashboardStatistics();
+
+        clock.advance(Duration.ofSeconds(45));
+        Map<String, Object> served = cache.getDashboardStatistics();
+        release.countDown();
+
+        assertEquals(1, served.get("load"));
+        assertEquals(true, served.get(DashboardStatisticsCache.STALE));
+        assertEquals(45L, served.get(DashboardStatisticsCache.AGE_SECONDS));
+        assertEquals(2, awaitLoad(2));
+    }
+
+    @Test
+    void concurrentMisses_ShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        cache = newCache(() -> {
+            awaitQuietly(release);
+            return load();
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<String, Object>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(cache::getDashboardStatistics));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Map<String, Object>> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS).get("load"));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void failedRefreshPastMaxStale_ServesLastSnapshotAsStale() {
+        cache = newCache(() -> {
+            if (loads.get() > 0) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return load();
+        });
+        cache.getDashboardStatistics();
+
+        clock.advance(TTL.plus(MAX_STALE).plusSeconds(1));
+        Map<String, Object> served = cache.getDashboardStatistics();
+
+        assertEquals(1, served.get("load"));
+        assertEquals(true, served.get(DashboardStatisticsCache.STALE));
+    }
+
+    @Test
+    void failedFirstLoad_PropagatesError() {
+        cache = newCache(() -> {
+            throw new IllegalStateException("database unavailable");
+        });
+
+        assertThrows(IllegalStateException.class, cache::getDashboardStatistics);
+    }
+
+    private DashboardStatisticsCache newCache(Supplier<Map<String, Object>> loader) {
+        return new DashboardStatisticsCache(loader, clock, TTL, REFRESH_AHEAD, MAX_STALE);
+    }
+
+    private Map<String, Object> load() {
+        return Map.of("load", loads.incrementAndGet());
+    }
+
+    private int awaitLoad(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // Let the refresh publish its snapshot
+        Thread.sleep(50);
+        return loads.get();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2025-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardStreamService
+ */
+class DashboardStreamServiceTest {
+
+    private DashboardStatisticsCache dashboardStatisticsCache;
+    private AdminService adminService;
+    private DashboardStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardStatisticsCache = mock(DashboardStatisticsCache.class);
+        adminService = mock(AdminService.class);
+        when(adminService.getSystemHealthStatus()).thenReturn(Map.of("overallStatus", "HEALTHY"));
+        streamService = new DashboardStreamService(dashboardStatisticsCache, adminService,
+            new SimpleMeterRegistry(), 60_000, 60_000);
+    }
+
+    @Test
+    void broadcast_WithoutSubscribers_ComputesNothing() {
+        streamService.broadcast();
+
+        verifyNoInteractions(dashboardStatisticsCache, adminService);
+    }
+
+    @Test
+    void subscribers_ShareOneComputationPerTickAndReceiveOnlyChanges() {
+        when(dashboardStatisticsCache.getDashboardStatistics())
+            .thenReturn(Map.of("totalUsers", 10L, "activeUsers", 7L))
+            .thenReturn(Map.of("totalUsers", 11L, "activeUsers", 7L));
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+
+        streamService.register(first);
+        streamService.register(second);
+        streamService.broadcast();
+
+        verify(dashboardStatisticsCache, times(2)).getDashboardStatistics();
+        assertEquals(2, streamService.getSubscriberCount());
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            assertEquals(2, emitter.events.size());
+            assertEquals(10L, emitter.events.get(0).get("totalUsers"));
+            assertEquals(Map.of("overallStatus", "HEALTHY"), emitter.events.get(0).get(DashboardStreamService.HEALTH_KEY));
+            assertEquals(Map.of("totalUsers", 11L), emitter.events.get(1));
+        }
+    }
+
+    @Test
+    void broadcast_DropsDisconnectedSubscribers() {
+        when(dashboardStatisticsCache.getDashboardStatistics())
+            .thenReturn(Map.of("totalUsers", 10L))
+            .thenReturn(Map.of("totalUsers", 11L));
+        RecordingEmitter emitter = new RecordingEmitter();
+        streamService.register(emitter);
+
+        emitter.disconnected = true;
+        streamService.broadcast();
+
+        assertEquals(0, streamService.getSubscriberCount());
+    }
+
+    @Test
+    void delta_ReportsChangedAndRemovedKeys() {
+        Map<String, Object> previous = Map.of("a", 1, "b", 2, "c", 3);
+        Map<String, Object> current = Map.of("a", 1, "b", 5, "d", 4);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("b", 5);
+        expected.put("c", null);
+        expected.put("d", 4);
+        assertEquals(expected, DashboardStreamService.delta(previous, current));
+    }
+
+    /**
+     * Emitter that records the data of each sent event instead of writing to a response
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Map<?, ?>> events = new ArrayList<>();
+        private boolean disconnected;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                .map(DataWithMediaType::getData)
+                .filter(Map.class::isInstance)
+                .map(data -> (Map<?, ?>) data)
+                .forEach(events::add);
+        }
+    }
+}
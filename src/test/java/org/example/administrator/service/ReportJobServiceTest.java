@@ -0,0 +1,186 @@
+package org.example.administrator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.administrator.dto.ReportJobDTO;
+import org.example.administrator.dto.SystemReportDTO;
+import org.example.administrator.entity.ReportSnapshot;
+import org.example.administrator.enums.ReportJobStatus;
+import org.example.administrator.enums.ReportType;
+import org.example.administrator.exception.ReportJobNotFoundException;
+import org.example.administrator.exception.ReportJobRejectedException;
+import org.example.administrator.exception.ReportNotReadyException;
+import org.example.administrator.repository.ReportSnapshotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for ReportJobService against the test database, with report generation stubbed.
+ * Not transactional: workers read the job rows from their own threads.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReportJobServiceTest {
+
+    @Autowired
+    private ReportSnapshotRepository reportSnapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AdminService adminService;
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        adminService = mock(AdminService.class);
+        when(adminService.generateActivityReport(anyInt())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            SystemReportDTO report = new SystemReportDTO();
+            report.setReportType("ACTIVITY_REPORT");
+            report.setTotalActivities(42L);
+            return report;
+        });
+        reportJobService = new ReportJobService(reportSnapshotRepository, adminService, objectMapper,
+            transactionManager, 1, 1, 24);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        reportJobService.shutdown();
+        reportSnapshotRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void submit_CompletesJobAndPersistsResult() throws Exception {
+        ReportJobDTO job = reportJobService.submit(ReportType.ACTIVITY, 12, "admin");
+        assertEquals(ReportJobStatus.QUEUED, job.getStatus());
+        assertThrows(ReportNotReadyException.class, () -> reportJobService.getResult(job.getJobId()));
+
+        release.countDown();
+        ReportJobDTO completed = awaitStatus(job.getJobId(), ReportJobStatus.COMPLETED);
+
+        assertEquals(100, completed.getProgress());
+        assertEquals("hours=12", completed.getParameters());
+        assertNotNull(completed.getExpiresAt());
+        SystemReportDTO result = objectMapper.readValue(reportJobService.getResult(job.getJobId()), SystemReportDTO.class);
+        assertEquals(42L, result.getTotalActivities());
+        verify(adminService).generateActivityReport(12);
+    }
+
+    @Test
+    void submit_IdenticalInFlightRequestsShareOneJob() throws Exception {
+        ReportJobDTO first = reportJobService.submit(ReportType.ACTIVITY, 24, "admin");
+        ReportJobDTO second = reportJobService.submit(ReportType.ACTIVITY, 24, "other");
+
+        assertEquals(first.getJobId(), second.getJobId());
+
+        release.countDown();
+        awaitStatus(first.getJobId(), ReportJobStatus.COMPLETED);
+        ReportJobDTO afterCompletion = reportJobService.submit(ReportType.ACTIVITY, 24, "admin");
+        assertNotEquals(first.getJobId(), afterCompletion.getJobId());
+    }
+
+    @Test
+    void submit_ReportQueuedOnAnotherNode_ReturnsThatJob() {
+        ReportSnapshot queued = new ReportSnapshot();
+        queued.setJobId("other-node-job");
+        queued.setReportType(ReportType.USER_STATISTICS);
+        queued.setParameters("");
+        queued.setDedupKey("USER_STATISTICS?");
+        queued.setActiveDedupKey("USER_STATISTICS?");
+        reportSnapshotRepository.save(queued);
+
+        ReportJobDTO job = reportJobService.submit(ReportType.USER_STATISTICS, null, "admin");
+
+        assertEquals("other-node-job", job.getJobId());
+        assertEquals(1, reportSnapshotRepository.count());
+        verifyNoInteractions(adminService);
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_RejectsAndRecordsFailure() {
+        reportJobService.submit(ReportType.ACTIVITY, 1, "admin");
+        awaitRunning();
+        reportJobService.submit(ReportType.ACTIVITY, 2, "admin");
+
+        assertThrows(ReportJobRejectedException.class,
+            () -> reportJobService.submit(ReportType.ACTIVITY, 3, "admin"));
+        assertTrue(reportSnapshotRepository.findAll().stream()
+            .anyMatch(snapshot -> "hours=3".equals(snapshot.getParameters())
+                && snapshot.getStatus() == ReportJobStatus.FAILED));
+    }
+
+    @Test
+    void submit_RejectsNonPositiveHours() {
+        assertThrows(IllegalArgumentException.class, () -> reportJobService.submit(ReportType.ACTIVITY, 0, "admin"));
+    }
+
+    @Test
+    void purgeExpired_RemovesExpiredJobs() {
+        ReportSnapshot expired = new ReportSnapshot();
+        expired.setJobId("expired-job");
+        expired.setReportType(ReportType.USER_STATISTICS);
+        expired.setDedupKey("USER_STATISTICS?");
+        expired.setStatus(ReportJobStatus.COMPLETED);
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        reportSnapshotRepository.save(expired);
+
+        assertThrows(ReportJobNotFoundException.class, () -> reportJobService.getJob("expired-job"));
+        assertEquals(1, reportJobService.purgeExpired());
+        assertFalse(reportSnapshotRepository.existsById("expired-job"));
+    }
+
+    @Test
+    void failInterruptedJobs_FailsJobsLeftInFlight() {
+        ReportSnapshot interrupted = new ReportSnapshot();
+        interrupted.setJobId("interrupted-job");
+        interrupted.setReportType(ReportType.SYSTEM_OVERVIEW);
+        interrupted.setDedupKey("SYSTEM_OVERVIEW?");
+        interrupted.setActiveDedupKey("SYSTEM_OVERVIEW?");
+        interrupted.setStatus(ReportJobStatus.RUNNING);
+        reportSnapshotRepository.save(interrupted);
+
+        reportJobService.failInterruptedJobs();
+
+        ReportJobDTO job = reportJobService.getJob("interrupted-job");
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertNotNull(job.getErrorMessage());
+        assertNull(reportSnapshotRepository.findById("interrupted-job").orElseThrow().getActiveDedupKey());
+    }
+
+    private ReportJobDTO awaitStatus(String jobId, ReportJobStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ReportJobDTO job = reportJobService.getJob(jobId);
+        while (job.getStatus() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = reportJobService.getJob(jobId);
+        }
+        assertEquals(expected, job.getStatus());
+        return job;
+    }
+
+    private void awaitRunning() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && reportSnapshotRepository.findAll().stream()
+                .noneMatch(snapshot -> snapshot.getStatus() == ReportJobStatus.RUNNING)) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.administrator.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ReportSectionExecutor
+ */
+class ReportSectionExecutorTest {
+
+    private final ReportSectionExecutor executor =
+        new ReportSectionExecutor(mock(PlatformTransactionManager.class), 500, 4, 10);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void run_SectionsExecuteConcurrently() {
+        Map<String, Supplier<?>> sections = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            int value = i;
+            sections.put("section" + i, () -> {
+                sleep(300);
+                return (long) value;
+            });
+        }
+
+        long start = System.nanoTime();
+        ReportSectionExecutor.Sections result = executor.run(sections);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(result.isPartial());
+        assertEquals(3L, result.<Long>get("section3").orElseThrow());
+        assertTrue(elapsedMs < 1000, "Sections took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void run_SlowSection_ReturnsPartialResult() {
+        Map<String, Supplier<?>> sections = new LinkedHashMap<>();
+        sections.put("fast", () -> 1L);
+        sections.put("slow", () -> {
+            sleep(5_000);
+            return 2L;
+        });
+
+        long start = System.nanoTime();
+        ReportSectionExecutor.Sections result = executor.run(sections);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(result.isPartial());
+        assertEquals(List.of("slow"), result.getMissing());
+        assertEquals(1L, result.<Long>get("fast").orElseThrow());
+        assertTrue(result.get("slow").isEmpty());
+        assertTrue(elapsedMs < 2000, "Waited " + elapsedMs + " ms for a timed-out section");
+    }
+
+    @Test
+    void run_FailingSection_ReturnsPartialResult() {
+        Map<String, Supplier<?>> sections = new LinkedHashMap<>();
+        sections.put("ok", () -> "value");
+        sections.put("broken", () -> {
+            throw new IllegalStateException("query failed");
+        });
+
+        ReportSectionExecutor.Sections result = executor.run(sections);
+
+        assertEquals(List.of("broken"), result.getMissing());
+        assertEquals("value", result.<String>get("ok").orElseThrow());
+    }
+
+    @Test
+    void run_MoreSectionsThanPermits_RunsAtMostPermitsAtOnce() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Map<String, Supplier<?>> sections = new LinkedHashMap<>();
+        for (int i = 0; i < 8; i++) {
+            sections.put("section" + i, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50);
+                running.decrementAndGet();
+                return 0L;
+            });
+        }
+
+        ReportSectionExecutor.Sections result = executor.run(sections);
+
+        assertFalse(result.isPartial());
+        assertTrue(peak.get() <= 4, "Ran " + peak.get() + " sections at once");
+    }
+
+    @Test
+    void constructor_PermitsNotBelowPoolSize_Throws() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new ReportSectionExecutor(mock(PlatformTransactionManager.class), 500, 10, 10));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
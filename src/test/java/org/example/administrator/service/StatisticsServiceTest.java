@@ -0,0 +1,232 @@
+package org.example.administrator.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.example.administrator.dto.StatisticsSnapshotDTO;
+import org.example.administrator.dto.SystemReportDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for StatisticsService, including the round-trip comparison with per-metric COUNT queries
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@Transactional
+@Slf4j
+class StatisticsServiceTest {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private SystemConfigurationService systemConfigurationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        UserRole[] roles = UserRole.values();
+        UserStatus[] statuses = UserStatus.values();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("encodedPassword");
+            user.setFirstName("First");
+            user.setLastName("Last");
+            user.setUserRole(roles[i % roles.length]);
+            user.setUserStatus(statuses[i % statuses.length]);
+            user.setCreatedBy("admin");
+            user.setIsDeleted(i % 10 == 0);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UserActivity> activities = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            User user = users.get(i % users.size());
+            UserActivity activity = i % 5 == 0
+                ? UserActivity.createFailureActivity(user, "LOGIN_FAILED", "Login failed", "Bad password")
+                : UserActivity.createSuccessActivity(user, "LOGIN", "Login");
+            // Spread activities over roughly 40 days so every window gets a different count
+            activity.setActivityTimestamp(now.minusHours(i * 5L));
+            activities.add(activity);
+        }
+        userActivityRepository.saveAll(activities);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getSnapshot_MatchesPerMetricCounts() {
+        StatisticsSnapshotDTO snapshot = statisticsService.getSnapshot();
+        LocalDateTime now = snapshot.getGeneratedAt();
+
+        assertEquals(userService.getUserCount(), snapshot.getTotalUsers());
+        for (UserRole role : UserRole.values()) {
+            assertEquals(userService.getUserCountByRole(role), snapshot.getUsersByRole().get(role.name()));
+        }
+        for (UserStatus status : UserStatus.values()) {
+            assertEquals(userService.getUserCountByStatus(status), snapshot.getUserCountByStatus(status.name()));
+        }
+        long roleStatusTotal = snapshot.getUsersByRoleAndStatus().values().stream()
+            .flatMap(byStatus -> byStatus.values().stream())
+            .mapToLong(Long::longValue)
+            .sum();
+        assertEquals(36, roleStatusTotal);
+
+        assertEquals(userActivityService.getTotalActivityCount(), snapshot.getTotalActivities());
+        assertEquals(userActivityService.getActivityCountBySuccess(true), snapshot.getSuccessfulActivities());
+        assertEquals(userActivityService.getActivityCountBySuccess(false), snapshot.getFailedActivities());
+        assertEquals(userActivityService.getActivityCountBetweenDates(now.minusHours(24), now),
+            snapshot.getActivitiesLast24Hours());
+        assertEquals(userActivityService.getActivityCountBetweenDates(now.minusDays(7), now),
+            snapshot.getActivitiesLast7Days());
+        assertEquals(userActivityService.getActivityCountBetweenDates(now.minusDays(30), now),
+            snapshot.getActivitiesLast30Days());
+        assertEquals(userActivityService.getActivityCountByType("LOGIN_FAILED"), snapshot.getFailedLoginAttempts());
+        assertEquals(systemConfigurationService.getTotalConfigurationCount(), snapshot.getTotalConfigurations());
+    }
+
+    @Test
+    void getSnapshot_EmptyTables_ReturnsZeros() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        StatisticsSnapshotDTO snapshot = statisticsService.getSnapshot();
+
+        assertEquals(0, snapshot.getTotalUsers());
+        assertEquals(0, snapshot.getTotalActivities());
+        assertEquals(0, snapshot.getActivitiesLast24Hours());
+        assertEquals(0L, snapshot.getUsersByRole().get(UserRole.ADMIN_OFFICER.name()));
+    }
+
+    @Test
+    void getDashboardStatistics_UsesFixedNumberOfStatements() {
+        statistics.clear();
+
+        adminService.getDashboardStatistics();
+
+        // users GROUP BY, activity aggregate, configuration count, recent and failed listings
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void generateSystemOverviewReport_AssemblesEverySection() {
+        // Sections run in their own transactions, so they see committed data only; check assembly, not values
+        SystemReportDTO report = adminService.generateSystemOverviewReport();
+
+        assertFalse(report.isPartial());
+        assertTrue(report.getMissingSections().isEmpty());
+        assertNotNull(report.getTotalUsers());
+        assertNotNull(report.getTotalActivities());
+        assertNotNull(report.getTotalConfigurations());
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+    void compareDashboardRoundTripsAndLatency() {
+        // Warm up
+        for (int i = 0; i < 50; i++) {
+            legacyDashboardCounts();
+            adminService.getDashboardStatistics();
+        }
+
+        int iterations = 500;
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            legacyDashboardCounts();
+        }
+        long legacyNanos = System.nanoTime() - start;
+        long legacyStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            adminService.getDashboardStatistics();
+        }
+        long snapshotNanos = System.nanoTime() - start;
+        long snapshotStatements = statistics.getPrepareStatementCount();
+
+        log.info("Per-metric COUNT queries: {} round trips, {} us per dashboard load",
+            legacyStatements / iterations, legacyNanos / iterations / 1_000);
+        log.info("Statistics snapshot:      {} round trips, {} us per dashboard load",
+            snapshotStatements / iterations, snapshotNanos / iterations / 1_000);
+    }
+
+    /**
+     * The queries a dashboard load used to issue, one repository call per metric
+     */
+    private void legacyDashboardCounts() {
+        LocalDateTime now = LocalDateTime.now();
+        userService.getUserCount();
+        userService.getUserCountByStatus(UserStatus.ACTIVE);
+        userService.getUserCountByStatus(UserStatus.BLOCKED);
+        userService.getUserCountByStatus(UserStatus.PENDING);
+        userActivityService.getTotalActivityCount();
+        userActivityService.getActivityCountBetweenDates(now.minusHours(24), now);
+        userActivityService.getActivityCountBetweenDates(now.minusDays(7), now);
+        systemConfigurationService.getTotalConfigurationCount();
+        userActivityService.getRecentActivities(24, null, 10);
+        userActivityService.getFailedActivities(null, 10);
+        for (UserRole role : UserRole.values()) {
+            userService.getUserCountByRole(role);
+        }
+        for (UserStatus status : UserStatus.values()) {
+            userService.getUserCountByStatus(status);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.administrator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.administrator.dto.SystemConfigurationDTO;
+import org.example.administrator.dto.SystemConfigurationPatchDTO;
+import org.example.administrator.entity.SystemConfiguration;
+import org.example.administrator.repository.SystemConfigurationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for partial configuration updates in SystemConfigurationService
+ */
+@ExtendWith(MockitoExtension.class)
+class SystemConfigurationServiceTest {
+
+    @Mock
+    private SystemConfigurationRepository configurationRepository;
+
+    @InjectMocks
+    private SystemConfigurationService configurationService;
+
+    private SystemConfiguration config;
+
+    @BeforeEach
+    void setUp() {
+        config = new SystemConfiguration();
+        config.setId(1L);
+        config.setConfigKey("session.timeout");
+        config.setConfigValue("30");
+        config.setConfigType(SystemConfiguration.ConfigurationType.SECURITY);
+        lenient().when(configurationRepository.findByConfigKey("session.timeout")).thenReturn(Optional.of(config));
+    }
+
+    @Test
+    void patchConfiguration_SameValues_SavesNothing() {
+        SystemConfigurationPatchDTO patch = new SystemConfigurationPatchDTO("30", null,
+            SystemConfiguration.ConfigurationType.SECURITY, false, null);
+
+        var result = configurationService.patchConfiguration("session.timeout", patch, "admin");
+
+        assertEquals("30", result.getConfigValue());
+        assertNull(config.getUpdatedBy());
+        verify(configurationRepository, never()).save(any());
+    }
+
+    @Test
+    void patchConfiguration_AppliesOnlySuppliedFields() {
+        config.setConfigDescription("Minutes of inactivity before logout");
+        when(configurationRepository.save(config)).thenReturn(config);
+
+        var result = configurationService.patchConfiguration("session.timeout",
+            new SystemConfigurationPatchDTO("45", null, null, null, null), "admin");
+
+        assertEquals("45", result.getConfigValue());
+        assertEquals("Minutes of inactivity before logout", result.getConfigDescription());
+        assertEquals("admin", result.getUpdatedBy());
+    }
+
+    @Test
+    void patchConfiguration_ReadOnly_RejectsChangesButAllowsClearingTheFlag() {
+        config.setIsReadOnly(true);
+
+        assertThrows(IllegalArgumentException.class, () -> configurationService.patchConfiguration("session.timeout",
+            new SystemConfigurationPatchDTO("45", null, null, null, null), "admin"));
+        verify(configurationRepository, never()).save(any());
+
+        when(configurationRepository.save(config)).thenReturn(config);
+        var result = configurationService.patchConfiguration("session.timeout",
+            new SystemConfigurationPatchDTO(null, null, null, null, false), "admin");
+        assertFalse(result.getIsReadOnly());
+    }
+
+    @Test
+    void patchConfiguration_ReadOnly_RejectsValueChangeThatAlsoClearsTheFlag() throws Exception {
+        config.setIsReadOnly(true);
+        SystemConfigurationPatchDTO patch = new ObjectMapper()
+            .readValue("{\"isReadOnly\":false,\"configValue\":\"x\"}", SystemConfigurationPatchDTO.class);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> configurationService.patchConfiguration("session.timeout", patch, "admin"));
+        verify(configurationRepository, never()).save(any());
+    }
+
+    @Test
+    void saveConfiguration_ExistingRow_ReplacesEveryField() {
+        config.setConfigDescription("Minutes of inactivity before logout");
+        when(configurationRepository.findById(1L)).thenReturn(Optional.of(config));
+        when(configurationRepository.save(config)).thenReturn(config);
+        SystemConfigurationDTO dto = new SystemConfigurationDTO();
+        dto.setId(1L);
+        dto.setConfigKey("session.timeout");
+        dto.setConfigValue("30");
+        dto.setConfigType(SystemConfiguration.ConfigurationType.SECURITY);
+
+        var result = configurationService.saveConfiguration(dto, "admin");
+
+        assertNull(result.getConfigDescription());
+        assertEquals("admin", result.getUpdatedBy());
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.administrator.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.administrator.dto.CursorPageDTO;
+import org.example.administrator.dto.UserActivityDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that activity reads issue a fixed number of statements regardless of page size
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@Transactional
+class UserActivityServiceQueryCountTest {
+
+    private static final int USER_COUNT = 100;
+    private static final int ACTIVITY_COUNT = 1000;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("encodedPassword");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setUserRole(UserRole.POLICY_OFFICER);
+            user.setUserStatus(UserStatus.ACTIVE);
+            user.setCreatedBy("admin");
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<UserActivity> activities = new ArrayList<>();
+        for (int i = 0; i < ACTIVITY_COUNT; i++) {
+            User user = users.get(i % USER_COUNT);
+            activities.add(i % 4 == 0
+                ? UserActivity.createFailureActivity(user, "LOGIN_FAILED", "Login failed " + i, "Bad password")
+                : UserActivity.createSuccessActivity(user, "LOGIN", "Login " + i));
+        }
+        userActivityRepository.saveAll(activities);
+
+        // Start from an empty persistence context so users are not already loaded
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private <T> long countStatements(Supplier<T> query) {
+        statistics.clear();
+        query.get();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    @Test
+    void getRecentActivities_PageOf1000_UsesSelectAndCountOnly() {
+        long small = countStatements(() -> userActivityService.getRecentActivities(24, PageRequest.of(0, 10)));
+        long large = countStatements(() -> {
+            Page<UserActivityDTO> page = userActivityService.getRecentActivities(24, PageRequest.of(0, ACTIVITY_COUNT));
+            assertEquals(ACTIVITY_COUNT, page.getContent().size());
+            assertTrue(page.getContent().stream().allMatch(dto -> dto.getUsername().startsWith("user")));
+            return page;
+        });
+
+        assertEquals(2, large);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void getRecentActivities_CursorPageOf1000_UsesSingleStatement() {
+        long statements = countStatements(() -> {
+            CursorPageDTO<UserActivityDTO> page = userActivityService.getRecentActivities(24, "", ACTIVITY_COUNT);
+            assertEquals(ACTIVITY_COUNT, page.getSize());
+            return page;
+        });
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void getFailedActivities_Bounded_UsesSingleStatement() {
+        long statements = countStatements(() -> {
+            CursorPageDTO<UserActivityDTO> failed = userActivityService.getFailedActivities(null, null);
+            assertEquals(ACTIVITY_COUNT / 4, failed.getSize());
+            assertNotNull(failed.getContent().get(0).getUsername());
+            return failed;
+        });
+
+        assertEquals(1, statements);
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserActivityWriter
+ */
+@ExtendWith(MockitoExtension.class)
+class UserActivityWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Integer> flushedBatchSizes = new CopyOnWriteArrayList<>();
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+    }
+
+    private void recordBatches() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+            .thenAnswer(invocation -> {
+                Collection<?> batch = invocation.getArgument(1);
+                flushedBatchSizes.add(batch.size());
+                return new int[0][];
+            });
+    }
+
+    private UserActivityWriter writer(boolean enabled, int capacity, int batchSize) {
+        return new UserActivityWriter(jdbcTemplate, new SimpleMeterRegistry(),
+            enabled, capacity, batchSize, 20, 0, 5000);
+    }
+
+    @Test
+    void submit_FlushesAllActivitiesInBatchesOnStop() {
+        // Given
+        recordBatches();
+        UserActivityWriter writer = writer(true, 100, 3);
+        writer.start();
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            assertTrue(writer.submit(UserActivity.createSuccessActivity(user, "LOGIN", "Login " + i)));
+        }
+        writer.stop();
+
+        // Then
+        assertEquals(7, flushedBatchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(flushedBatchSizes.stream().allMatch(size -> size <= 3));
+        assertEquals(7L, writer.getStatistics().get("written"));
+        assertEquals(0, writer.getQueueDepth());
+        assertFalse(writer.isActive());
+    }
+
+    @Test
+    void submit_QueueFull_DropsAndCountsBackpressure() {
+        // Given - writer thread not started so nothing drains the queue
+        UserActivityWriter writer = writer(true, 2, 10);
+
+        // When
+        writer.submit(UserActivity.createSuccessActivity(user, "LOGIN", "first"));
+        writer.submit(UserActivity.createSuccessActivity(user, "LOGIN", "second"));
+        boolean accepted = writer.submit(UserActivity.createSuccessActivity(user, "LOGIN", "third"));
+
+        // Then
+        assertFalse(accepted);
+        assertEquals(2, writer.getQueueDepth());
+        assertEquals(1L, writer.getStatistics().get("dropped"));
+        assertEquals(1L, writer.getStatistics().get("backpressureEvents"));
+    }
+
+    @Test
+    void start_Disabled_StaysInactive() {
+        // Given
+        UserActivityWriter writer = writer(false, 10, 10);
+
+        // When
+        writer.start();
+
+        // Then
+        assertFalse(writer.isActive());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.administrator.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.administrator.dto.UserActivityDTO;
+import org.example.administrator.dto.UserResponseDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.entity.UserActivity;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.exception.UserNotFoundException;
+import org.example.administrator.repository.UserActivityArchiveRepository;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserArchiveRepository;
+import org.example.administrator.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UserArchiveService and the archive-aware reads, with a small chunk size so
+ * archival spans several chunks
+ */
+@SpringBootTest(properties = {
+    "admin.users.archive.chunk-size=2",
+    "admin.users.archive.retention-days=30"
+})
+@ActiveProfiles("test")
+@Transactional
+class UserArchiveServiceTest {
+
+    @Autowired
+    private UserArchiveService userArchiveService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private ActivityRollupService activityRollupService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private UserArchiveRepository userArchiveRepository;
+
+    @Autowired
+    private UserActivityArchiveRepository userActivityArchiveRepository;
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+        userActivityArchiveRepository.deleteAll();
+        userArchiveRepository.deleteAll();
+    }
+
+    @AfterTransaction
+    void resetWatermark() {
+        activityRollupService.loadWatermark();
+    }
+
+    @Test
+    void archiveDeletedUsers_MovesOnlyUsersDeletedBeforeRetentionWithTheirActivities() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(60);
+        List<Long> old = List.of(
+            createUser("old1", longAgo, 2),
+            createUser("old2", longAgo, 0),
+            createUser("old3", longAgo, 1));
+        Long recent = createUser("recent", LocalDateTime.now().minusDays(1), 1);
+        Long live = createUser("live", null, 1);
+
+        assertEquals(3, userArchiveService.archiveDeletedUsers());
+
+        for (Long id : old) {
+            assertFalse(userRepository.existsById(id));
+            assertTrue(userArchiveRepository.existsById(id));
+        }
+        assertTrue(userRepository.existsById(recent));
+        assertTrue(userRepository.existsById(live));
+        assertEquals(3, userActivityArchiveRepository.count());
+        assertEquals(2, userActivityRepository.count());
+
+        assertEquals(0, userArchiveService.archiveDeletedUsers());
+    }
+
+    @Test
+    void archiveDeletedUsers_TakesArchivedActivitiesOutOfRollups() {
+        createUser("archivedactive", LocalDateTime.now().minusDays(60), 3);
+        createUser("stillactive", null, 2);
+        userActivityRepository.findAll().forEach(activity ->
+            activity.setActivityTimestamp(activity.getActivityTimestamp().minusHours(3)));
+        activityRollupService.rollUp();
+        entityManager.flush();
+        activityRollupService.loadWatermark();
+        assertEquals(5, activityRollupService.countActivitiesBetween(
+            ActivityRollupService.ALL_TIME, ActivityRollupService.ALL_TIME_END));
+
+        userArchiveService.archiveDeletedUsers();
+
+        assertEquals(2, activityRollupService.countActivitiesBetween(
+            ActivityRollupService.ALL_TIME, ActivityRollupService.ALL_TIME_END));
+        assertEquals(2, activityRollupService.countActivitiesByType().get("LOGIN"));
+    }
+
+    @Test
+    void reads_IncludeArchivedUsersAndActivitiesOnlyWhenAsked() {
+        Long id = createUser("archived", LocalDateTime.now().minusDays(60), 2);
+        userArchiveService.archiveDeletedUsers();
+
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(id, false));
+        UserResponseDTO user = userService.getUserById(id, true);
+        assertEquals("archived", user.getUsername());
+        assertTrue(user.getIsDeleted());
+        assertEquals(id, userService.getUserByUsername("archived", true).getId());
+
+        assertEquals(0, userActivityService.getUserActivities(id, PageRequest.of(0, 10), false).getTotalElements());
+        Page<UserActivityDTO> activities = userActivityService.getUserActivities(id, PageRequest.of(0, 10), true);
+        assertEquals(2, activities.getTotalElements());
+        assertEquals("archived", activities.getContent().get(0).getUsername());
+    }
+
+    @Test
+    void deleteUser_RecordsDeletionTime() {
+        Long id = createUser("deleting", null, 0);
+
+        userService.deleteUser(id, "admin");
+
+        User user = userRepository.findById(id).orElseThrow();
+        assertTrue(user.getIsDeleted());
+        assertNotNull(user.getDeletedAt());
+    }
+
+    private Long createUser(String username, LocalDateTime deletedAt, int activities) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Archive");
+        user.setLastName("User");
+        user.setUserRole(UserRole.POLICY_OFFICER);
+        user.setUserStatus(UserStatus.ACTIVE);
+        user.setIsDeleted(deletedAt != null);
+        user.setDeletedAt(deletedAt);
+        User saved = userRepository.save(user);
+        for (int i = 0; i < activities; i++) {
+            userActivityRepository.save(UserActivity.createSuccessActivity(saved, "LOGIN", "Logged in"));
+        }
+        return saved.getId();
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.administrator.repository.UserRepository;
+import org.example.administrator.service.UserIdentifierFilter.BloomFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserIdentifierFilter
+ */
+class UserIdentifierFilterTest {
+
+    @Test
+    void bloomFilter_HasNoFalseNegativesAndAboutTheConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void lookups_ArePossibleUntilBuiltThenAnsweredFromTheScan() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamUsernamesAndEmails())
+            .thenReturn(Stream.<Object[]>of(new Object[] {"Alice", "alice@example.com"}));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        UserIdentifierFilter identifierFilter = new UserIdentifierFilter(userRepository, transactionManager,
+            new SimpleMeterRegistry(), true, 1_000, 0.01);
+
+        assertTrue(identifierFilter.mightContainUsername("nobody"));
+
+        identifierFilter.rebuild();
+        identifierFilter.add("bob", "bob@example.com");
+
+        assertTrue(identifierFilter.isReady());
+        assertTrue(identifierFilter.mightContainUsername(" alice "));
+        assertTrue(identifierFilter.mightContainEmail("ALICE@example.com"));
+        assertTrue(identifierFilter.mightContainUsername("bob"));
+        assertFalse(identifierFilter.mightContainUsername("nobody"));
+        // Usernames and emails are kept apart
+        assertFalse(identifierFilter.mightContainEmail("bob"));
+    }
+}
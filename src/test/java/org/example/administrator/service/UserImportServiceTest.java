@@ -0,0 +1,247 @@
+package org.example.administrator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.example.administrator.dto.UserImportResultDTO;
+import org.example.administrator.dto.UserImportRowResultDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.ExportFormat;
+import org.example.administrator.enums.ImportRowStatus;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for UserImportService, with a small chunk size so imports span several chunks
+ */
+@SpringBootTest(properties = "admin.users.import.chunk-size=2")
+@ActiveProfiles("test")
+@Transactional
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserActivityWriter userActivityWriter;
+
+    @Autowired
+    private UserPopulationCounters userPopulationCounters;
+
+    @Autowired
+    private UserIdentifierFilter userIdentifierFilter;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User existing = new User();
+        existing.setUsername("existing");
+        existing.setEmail("existing@example.com");
+        existing.setPassword("encodedPassword");
+        existing.setFirstName("Existing");
+        existing.setLastName("User");
+        existing.setUserRole(UserRole.POLICY_OFFICER);
+        existing.setUserStatus(UserStatus.ACTIVE);
+        userRepository.save(existing);
+    }
+
+    @Test
+    void importCsv_CreatesValidRowsAndReportsEveryRow() throws IOException {
+        String csv = """
+            username,email,password,firstName,lastName,phoneNumber,userRole,userStatus
+            alice,alice@example.com,password123,Alice,"Smith, Jr.",555-0100,CLAIMS_OFFICER,ACTIVE
+            bob,bob@example.com,password123,Bob,Jones,,POLICY_OFFICER,
+
+            existing,new@example.com,password123,Dup,User,,POLICY_OFFICER,ACTIVE
+            alice,alice2@example.com,password123,Alice,Again,,POLICY_OFFICER,ACTIVE
+            carol,not-an-email,short,Carol,King,,POLICY_OFFICER,ACTIVE
+            dave,dave@example.com,password123,Dave,Lee,,NOT_A_ROLE,ACTIVE
+            """;
+
+        UserImportResultDTO result = userImportService.importUsers(stream(csv), ExportFormat.CSV, "importer");
+
+        assertEquals(6, result.getTotalRows());
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getInvalid());
+        assertEquals(List.of(ImportRowStatus.CREATED, ImportRowStatus.CREATED, ImportRowStatus.DUPLICATE,
+                ImportRowStatus.DUPLICATE, ImportRowStatus.INVALID, ImportRowStatus.INVALID),
+            result.getRows().stream().map(UserImportRowResultDTO::getStatus).toList());
+        assertEquals(5, result.getRows().get(2).getLineNumber());
+
+        User alice = userRepository.findByUsername("alice").orElseThrow();
+        assertEquals(result.getRows().get(0).getUserId(), alice.getId());
+        assertEquals("Smith, Jr.", alice.getLastName());
+        assertEquals("importer", alice.getCreatedBy());
+        assertTrue(passwordEncoder.matches("password123", alice.getPassword()));
+        assertEquals(UserStatus.PENDING, userRepository.findByUsername("bob").orElseThrow().getUserStatus());
+        assertEquals(2, userActivityRepository.countByActivityType("USER_CREATED"));
+    }
+
+    @Test
+    void importNdjson_ReportsMalformedLines() throws IOException {
+        String ndjson = """
+            {"username":"erin","email":"erin@example.com","password":"password123","firstName":"Erin","lastName":"Gray","userRole":"FINANCE_OFFICER"}
+            {"username":"frank",
+            {"username":"gina","email":"existing@example.com","password":"password123","firstName":"Gina","lastName":"Hall","userRole":"FINANCE_OFFICER"}
+            """;
+
+        UserImportResultDTO result = userImportService.importUsers(stream(ndjson), ExportFormat.NDJSON, "importer");
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getCreated());
+        assertEquals(ImportRowStatus.INVALID, result.getRows().get(1).getStatus());
+        assertEquals("Email already exists", result.getRows().get(2).getMessage());
+        assertTrue(userRepository.findByUsername("erin").isPresent());
+    }
+
+    @Test
+    void importCsv_TreatsUsernamesAndEmailsCaseInsensitively() throws IOException {
+        String csv = """
+            username,email,password,firstName,lastName,userRole
+            harry,harry@example.com,password123,Harry,Moss,POLICY_OFFICER
+            HARRY,harry2@example.com,password123,Harry,Again,POLICY_OFFICER
+            ivy,Harry@Example.com,password123,Ivy,Cole,POLICY_OFFICER
+            """;
+
+        UserImportResultDTO result = userImportService.importUsers(stream(csv), ExportFormat.CSV, "importer");
+
+        assertEquals(1, result.getCreated());
+        assertEquals("Username appears earlier in the import", result.getRows().get(1).getMessage());
+        assertEquals("Email appears earlier in the import", result.getRows().get(2).getMessage());
+    }
+
+    @Test
+    void importCsv_HashingFailure_FailsOnlyAffectedRows() throws Exception {
+        PasswordEncoder failingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("badpassword".contentEquals(rawPassword)) {
+                    throw new IllegalStateException("encoder failure");
+                }
+                return passwordEncoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return passwordEncoder.matches(rawPassword, encodedPassword);
+            }
+        };
+        UserImportService importService = new UserImportService(userRepository, userActivityWriter,
+            userPopulationCounters, userIdentifierFilter, userSearchIndex, failingEncoder, validator,
+            objectMapper, jdbcTemplate, transactionManager, 2, 2);
+        String csv = """
+            username,email,password,firstName,lastName,userRole
+            jack,jack@example.com,badpassword,Jack,Hill,POLICY_OFFICER
+            kate,kate@example.com,password123,Kate,Moss,POLICY_OFFICER
+            liam,liam@example.com,password123,Liam,Neil,POLICY_OFFICER
+            """;
+
+        try {
+            UserImportResultDTO result = importService.importUsers(stream(csv), ExportFormat.CSV, "importer");
+
+            assertEquals(2, result.getCreated());
+            assertEquals(1, result.getFailed());
+            assertEquals(ImportRowStatus.FAILED, result.getRows().get(0).getStatus());
+            assertFalse(userRepository.findByUsername("jack").isPresent());
+            assertTrue(userRepository.findByUsername("kate").isPresent());
+            assertTrue(userRepository.findByUsername("liam").isPresent());
+        } finally {
+            importService.shutdown();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importCsv_ConflictMissedByCheck_RejectsOnlyTheConflictingRow() throws Exception {
+        // The check sees no taken identifiers, as if "existing" had been created just after it ran
+        UserRepository racingRepository = mock(UserRepository.class, AdditionalAnswers.delegatesTo(userRepository));
+        when(racingRepository.findUsernamesAndEmailsIn(any(), any()))
+            .thenReturn(List.of())
+            .thenAnswer(invocation -> userRepository.findUsernamesAndEmailsIn(
+                invocation.getArgument(0), invocation.getArgument(1)));
+        UserImportService importService = new UserImportService(racingRepository, userActivityWriter,
+            userPopulationCounters, userIdentifierFilter, userSearchIndex, passwordEncoder, validator,
+            objectMapper, jdbcTemplate, transactionManager, 2, 2);
+        String csv = """
+            username,email,password,firstName,lastName,userRole,createdBy
+            existing,other@example.com,password123,Dup,User,POLICY_OFFICER,someone
+            mona,mona@example.com,password123,Mona,Park,POLICY_OFFICER,someone
+            """;
+
+        try {
+            UserImportResultDTO result = importService.importUsers(stream(csv), ExportFormat.CSV, "importer");
+
+            assertEquals(ImportRowStatus.DUPLICATE, result.getRows().get(0).getStatus());
+            assertEquals("Username already exists", result.getRows().get(0).getMessage());
+            assertNull(result.getRows().get(0).getUserId());
+            assertEquals(ImportRowStatus.CREATED, result.getRows().get(1).getStatus());
+            User mona = userRepository.findById(result.getRows().get(1).getUserId()).orElseThrow();
+            assertEquals("mona", mona.getUsername());
+            assertEquals("importer", mona.getCreatedBy());
+            assertEquals(1, userActivityRepository.countByActivityType("USER_CREATED"));
+        } finally {
+            importService.shutdown();
+            userActivityRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void importCsv_RejectsHeaderWithoutRequiredColumns() {
+        assertThrows(IllegalArgumentException.class, () -> userImportService.importUsers(
+            stream("username,email\nalice,alice@example.com\n"), ExportFormat.CSV, "importer"));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
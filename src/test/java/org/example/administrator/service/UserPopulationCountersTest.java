@@ -0,0 +1,168 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.administrator.dto.UserCreateDTO;
+import org.example.administrator.dto.UserResponseDTO;
+import org.example.administrator.dto.UserUpdateDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.example.administrator.service.UserPopulationCounters.UserState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that the in-memory user counters follow committed UserService changes.
+ * Not transactional: counters only move after commit, so data is cleaned up explicitly.
+ */
+@SpringBootTest(properties = "admin.users.counters.enabled=true")
+@ActiveProfiles("test")
+class UserPopulationCountersTest {
+
+    @Autowired
+    private UserPopulationCounters userPopulationCounters;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        userPopulationCounters.reconcile();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userActivityRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void userServiceMutations_KeepCountersInSyncWithDatabase() {
+        UserResponseDTO first = userService.createUser(createDTO("first", UserRole.POLICY_OFFICER, UserStatus.ACTIVE));
+        UserResponseDTO second = userService.createUser(createDTO("second", UserRole.CLAIMS_OFFICER, UserStatus.PENDING));
+        assertCountersMatchDatabase();
+        assertEquals(2, userService.getUserCount());
+
+        userService.blockUser(first.getId(), "admin");
+        assertCountersMatchDatabase();
+        assertEquals(1, userService.getUserCountByStatus(UserStatus.BLOCKED));
+
+        userService.unblockUser(first.getId(), "admin");
+        assertCountersMatchDatabase();
+
+        UserUpdateDTO update = new UserUpdateDTO();
+        update.setEmail("second@example.com");
+        update.setFirstName("Second");
+        update.setLastName("User");
+        update.setUserRole(UserRole.ADMIN_OFFICER);
+        update.setUserStatus(UserStatus.ACTIVE);
+        userService.updateUser(second.getId(), update);
+        assertCountersMatchDatabase();
+        assertEquals(1, userService.getUserCountByRole(UserRole.ADMIN_OFFICER));
+
+        userService.deleteUser(second.getId(), "admin");
+        assertCountersMatchDatabase();
+        assertEquals(0, userService.getUserCountByRole(UserRole.ADMIN_OFFICER));
+        assertEquals(2, userService.getUserCount());
+
+        userPopulationCounters.reconcile();
+        assertEquals(0, userPopulationCounters.getLastDrift());
+    }
+
+    @Test
+    void rolledBackMutation_LeavesCountersUnchanged() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.createUser(createDTO("rolledback", UserRole.POLICY_OFFICER, UserStatus.ACTIVE));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, userPopulationCounters.getTotal());
+        assertEquals(0, userPopulationCounters.getCount(UserRole.POLICY_OFFICER, UserStatus.ACTIVE));
+    }
+
+    @Test
+    void reconcile_CorrectsChangesMadeOutsideUserService() {
+        User user = new User();
+        user.setUsername("direct");
+        user.setEmail("direct@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Direct");
+        user.setLastName("Insert");
+        user.setUserRole(UserRole.POLICY_OFFICER);
+        user.setUserStatus(UserStatus.ACTIVE);
+        userRepository.save(user);
+        assertEquals(0, userPopulationCounters.getTotal());
+
+        userPopulationCounters.reconcile();
+
+        assertEquals(2, userPopulationCounters.getLastDrift());
+        assertCountersMatchDatabase();
+    }
+
+    @Test
+    void reconcile_KeepsTransitionAppliedWhileCounting() {
+        UserRepository countingRepository = mock(UserRepository.class);
+        UserPopulationCounters counters = new UserPopulationCounters(countingRepository, new SimpleMeterRegistry(), true);
+        when(countingRepository.countUsersByRoleStatusAndDeleted()).thenReturn(List.of());
+        counters.reconcile();
+
+        // A user created just after the query read the table is applied before the correction
+        when(countingRepository.countUsersByRoleStatusAndDeleted()).thenAnswer(invocation -> {
+            counters.recordTransition(null, new UserState(UserRole.CLAIMS_OFFICER, UserStatus.ACTIVE, false));
+            return List.<Object[]>of(new Object[] {UserRole.POLICY_OFFICER, UserStatus.ACTIVE, false, 1L});
+        });
+        counters.reconcile();
+
+        assertEquals(2, counters.getTotal());
+        assertEquals(1, counters.getCount(UserRole.POLICY_OFFICER, UserStatus.ACTIVE));
+        assertEquals(1, counters.getCount(UserRole.CLAIMS_OFFICER, UserStatus.ACTIVE));
+        assertEquals(2, counters.getLastDrift());
+    }
+
+    private void assertCountersMatchDatabase() {
+        assertEquals(userRepository.count(), userPopulationCounters.getTotal());
+        for (UserRole role : UserRole.values()) {
+            assertEquals(userRepository.countByUserRoleAndIsDeletedFalse(role), userPopulationCounters.getCountByRole(role));
+        }
+        for (UserStatus status : UserStatus.values()) {
+            assertEquals(userRepository.countByUserStatusAndIsDeletedFalse(status),
+                userPopulationCounters.getCountByStatus(status));
+        }
+    }
+
+    private UserCreateDTO createDTO(String username, UserRole role, UserStatus status) {
+        UserCreateDTO dto = new UserCreateDTO();
+        dto.setUsername(username);
+        dto.setEmail(username + "@example.com");
+        dto.setPassword("password123");
+        dto.setFirstName("Test");
+        dto.setLastName("User");
+        dto.setUserRole(role);
+        dto.setUserStatus(status);
+        dto.setCreatedBy("admin");
+        return dto;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.administrator.service;
+
+import org.example.administrator.dto.UserSuggestionDTO;
+import org.example.administrator.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserSearchIndex
+ */
+class UserSearchIndexTest {
+
+    private UserRepository userRepository;
+    private UserSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        searchIndex = new UserSearchIndex(userRepository, transactionManager, true);
+    }
+
+    @Test
+    void rebuild_IndexesScannedUsersAndRanksBetterMatchesFirst() {
+        when(userRepository.streamSearchableNames()).thenReturn(Stream.of(
+            new Object[] {1L, "jsmith", "John", "Smith"},
+            new Object[] {2L, "ann", "Ann", "Blacksmith"},
+            new Object[] {3L, "smith", "Sam", "Jones"},
+            new Object[] {4L, "bob", "Bob", "Brown"}));
+
+        assertFalse(searchIndex.isReady());
+        searchIndex.rebuild();
+
+        assertTrue(searchIndex.isReady());
+        // Exact username, then word prefix in a name, then substrings (username before name)
+        assertEquals(List.of(3L, 1L, 2L), searchIndex.search("SMITH"));
+        assertEquals(List.of(1L), searchIndex.search("john sm"));
+        assertEquals(List.of(), searchIndex.search("smythe"));
+    }
+
+    @Test
+    void shortTerms_AreMatchedByScanning() {
+        searchIndex.put(1L, "alice", "Alice", "Adams");
+        searchIndex.put(2L, "bob", "Bob", "Brown");
+
+        assertEquals(List.of(1L), searchIndex.search("al"));
+        assertEquals(List.of(1L, 2L), searchIndex.search(""));
+    }
+
+    @Test
+    void changes_ReplaceAndRemoveIndexedNames() {
+        searchIndex.put(1L, "alice", "Alice", "Adams");
+        searchIndex.put(1L, "alice", "Alice", "Walker");
+        searchIndex.put(2L, "walt", "Walter", "White");
+
+        assertEquals(List.of(), searchIndex.search("adams"));
+        List<UserSuggestionDTO> suggestions = searchIndex.suggest("walk", 10);
+        assertEquals(1, suggestions.size());
+        assertEquals("Alice Walker", suggestions.get(0).getFullName());
+
+        searchIndex.remove(1L);
+        assertEquals(List.of(2L), searchIndex.search("wal"));
+    }
+
+    @Test
+    void suggest_ReturnsAtMostLimitMatches() {
+        for (long id = 1; id <= 20; id++) {
+            searchIndex.put(id, "user" + id, "User", "Number" + id);
+        }
+
+        assertEquals(5, searchIndex.suggest("user", 5).size());
+    }
+}
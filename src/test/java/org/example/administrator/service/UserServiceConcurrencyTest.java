@@ -0,0 +1,129 @@
+package org.example.administrator.service;
+
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for concurrent state changes to the same user. Each change runs in its own
+ * committed transaction, so the tests clean up after themselves.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceConcurrencyTest {
+
+    private static final int THREADS = 4;
+    private static final int CHANGES_PER_THREAD = 10;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("contended");
+        user.setEmail("contended@example.com");
+        user.setPassword("password123");
+        user.setFirstName("Contended");
+        user.setLastName("User");
+        user.setUserRole(UserRole.POLICY_OFFICER);
+        user.setUserStatus(UserStatus.ACTIVE);
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentBlockAndLock_BothChangesSurvive() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            userService.unblockUser(userId, "setup");
+            userService.unlockUserAccount(userId, "setup");
+
+            runConcurrently(List.of(
+                () -> userService.blockUser(userId, "admin1"),
+                () -> userService.lockUserAccount(userId, 30, "admin2")));
+
+            User user = userRepository.findById(userId).orElseThrow();
+            assertEquals(UserStatus.BLOCKED, user.getUserStatus(), "block lost in round " + round);
+            assertTrue(user.isAccountLocked(), "lock lost in round " + round);
+        }
+    }
+
+    @Test
+    void parallelStateChanges_EveryChangeIsAppliedExactlyOnce() throws Exception {
+        long initialVersion = userRepository.findById(userId).orElseThrow().getVersion();
+
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int offset = thread;
+            tasks.add(() -> {
+                for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+                    switch ((offset + i) % 4) {
+                        case 0 -> userService.blockUser(userId, "admin" + offset);
+                        case 1 -> userService.lockUserAccount(userId, 10, "admin" + offset);
+                        case 2 -> userService.unblockUser(userId, "admin" + offset);
+                        default -> userService.unlockUserAccount(userId, "admin" + offset);
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        // Each successful change bumps the version once and logs one activity; a lost update would not
+        int changes = THREADS * CHANGES_PER_THREAD;
+        assertEquals(initialVersion + changes, userRepository.findById(userId).orElseThrow().getVersion());
+        assertEquals(changes, userActivityRepository.count());
+    }
+
+    private void runConcurrently(List<Callable<Object>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Object> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.administrator.service;
+
+import org.example.administrator.dto.UserFilterDTO;
+import org.example.administrator.dto.UserFilterResultDTO;
+import org.example.administrator.dto.UserResponseDTO;
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for filtering users with facet counts in UserService
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserServiceFilterTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        createUser("asmith", "Alice", "Smith", UserRole.POLICY_OFFICER, UserStatus.ACTIVE, false);
+        createUser("bsmith", "Bob", "Smith", UserRole.POLICY_OFFICER, UserStatus.BLOCKED, false);
+        createUser("csmith", "Carol", "Smith", UserRole.CLAIMS_OFFICER, UserStatus.ACTIVE, false);
+        createUser("djones", "Dan", "Jones", UserRole.POLICY_OFFICER, UserStatus.ACTIVE, false);
+        createUser("esmith", "Eve", "Smith", UserRole.POLICY_OFFICER, UserStatus.ACTIVE, true);
+    }
+
+    @Test
+    void filterUsers_AppliesAllFiltersAndCountsEachFacetWithoutItsOwnFilter() {
+        UserFilterResultDTO result = userService.filterUsers(
+            new UserFilterDTO("SMITH", UserRole.POLICY_OFFICER, UserStatus.ACTIVE), PageRequest.of(0, 10));
+
+        assertEquals(1, result.getUsers().getTotalElements());
+        assertEquals("asmith", result.getUsers().getContent().get(0).getUsername());
+        // Role facet: Smiths who are ACTIVE; status facet: Smiths who are policy officers
+        assertEquals(1L, result.getRoleCounts().get(UserRole.POLICY_OFFICER));
+        assertEquals(1L, result.getRoleCounts().get(UserRole.CLAIMS_OFFICER));
+        assertEquals(0L, result.getRoleCounts().get(UserRole.ADMIN_OFFICER));
+        assertEquals(1L, result.getStatusCounts().get(UserStatus.ACTIVE));
+        assertEquals(1L, result.getStatusCounts().get(UserStatus.BLOCKED));
+        assertEquals(0L, result.getStatusCounts().get(UserStatus.PENDING));
+    }
+
+    @Test
+    void filterUsers_PagesWithoutFiltersAndExcludesDeletedUsers() {
+        UserFilterResultDTO first = userService.filterUsers(new UserFilterDTO(),
+            PageRequest.of(0, 3, Sort.by("username")));
+        UserFilterResultDTO second = userService.filterUsers(new UserFilterDTO(),
+            PageRequest.of(1, 3, Sort.by("username")));
+
+        assertEquals(4, first.getUsers().getTotalElements());
+        assertEquals(2, first.getUsers().getTotalPages());
+        assertEquals(3, first.getUsers().getContent().size());
+        assertEquals("djones", second.getUsers().getContent().get(0).getUsername());
+        assertEquals(1, second.getUsers().getContent().size());
+        assertTrue(first.getUsers().getContent().stream().map(UserResponseDTO::getUsername)
+            .noneMatch("esmith"::equals));
+        assertEquals(3L, first.getStatusCounts().get(UserStatus.ACTIVE));
+    }
+
+    @Test
+    void filterUsers_TreatsWildcardsInTheSearchTermLiterally() {
+        UserFilterResultDTO result = userService.filterUsers(new UserFilterDTO("%", null, null), PageRequest.of(0, 10));
+
+        assertEquals(0, result.getUsers().getTotalElements());
+        assertTrue(result.getUsers().getContent().isEmpty());
+    }
+
+    private void createUser(String username, String firstName, String lastName, UserRole role,
+                            UserStatus status, boolean deleted) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setUserRole(role);
+        user.setUserStatus(status);
+        user.setIsDeleted(deleted);
+        userRepository.save(user);
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.administrator.service;
 
+import jakarta.persistence.EntityManager;
 import org.example.administrator.dto.UserCreateDTO;
+import org.example.administrator.dto.UserPatchDTO;
+import org.example.administrator.dto.UserResponseDTO;
 import org.example.administrator.entity.User;
 import org.example.administrator.enums.UserRole;
 import org.example.administrator.enums.UserStatus;
@@ -13,8 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +44,18 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserPopulationCounters userPopulationCounters;
+
+    @Mock
+    private UserIdentifierFilter userIdentifierFilter;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private UserService userService;
 
@@ -65,11 +84,14 @@ class UserServiceTest {
         user.setUserRole(UserRole.POLICY_OFFICER);
         user.setUserStatus(UserStatus.PENDING);
         user.setCreatedBy("admin");
+        user.setVersion(0L);
     }
 
     @Test
     void createUser_Success() {
         // Given
+        when(userIdentifierFilter.mightContainUsername(anyString())).thenReturn(true);
+        when(userIdentifierFilter.mightContainEmail(anyString())).thenReturn(true);
         when(userRepository.existsByUsername(anyString())).thenReturn(false);
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
@@ -96,6 +118,7 @@ class UserServiceTest {
     @Test
     void createUser_UsernameAlreadyExists_ThrowsException() {
         // Given
+        when(userIdentifierFilter.mightContainUsername(anyString())).thenReturn(true);
         when(userRepository.existsByUsername(anyString())).thenReturn(true);
 
         // When & Then
@@ -107,6 +130,8 @@ class UserServiceTest {
     @Test
     void createUser_EmailAlreadyExists_ThrowsException() {
         // Given
+        when(userIdentifierFilter.mightContainUsername(anyString())).thenReturn(true);
+        when(userIdentifierFilter.mightContainEmail(anyString())).thenReturn(true);
         when(userRepository.existsByUsername(anyString())).thenReturn(false);
         when(userRepository.existsByEmail(anyString())).thenReturn(true);
 
@@ -117,6 +142,35 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void createUser_IdentifiersNotInFilter_SkipsExistenceQueries() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+
+        // When
+        var result = userService.createUser(userCreateDTO);
+
+        // Then
+        assertEquals("testuser", result.getUsername());
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userIdentifierFilter).add("testuser", "test@example.com");
+    }
+
+    @Test
+    void createUser_FilterMissedTakenUsername_ThrowsException() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+            "Duplicate entry 'testuser' for key 'users.username'"));
+
+        // When & Then
+        UserAlreadyExistsException exception = assertThrows(UserAlreadyExistsException.class,
+            () -> userService.createUser(userCreateDTO));
+        assertTrue(exception.getMessage().contains("username"));
+    }
+
     @Test
     void getUserById_Success() {
         // Given
@@ -167,10 +221,51 @@ class UserServiceTest {
     }
 
     @Test
-    void blockUser_Success() {
+    void patchUser_SameValues_WritesAndLogsNothing() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        UserPatchDTO patch = new UserPatchDTO("test@example.com", "Test", null, null, UserRole.POLICY_OFFICER, null);
+
+        // When
+        var result = userService.patchUser(1L, patch, "admin");
+
+        // Then
+        assertEquals("Test", result.getFirstName());
+        assertEquals("admin", user.getCreatedBy());
+        assertNull(user.getUpdatedBy());
+        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).existsByEmailAndIdNot(anyString(), any());
+        verifyNoInteractions(userActivityService, userSearchIndex);
+    }
+
+    @Test
+    void patchUser_AppliesOnlySuppliedChanges() {
+        // Given
+        user.setPhoneNumber("555-0100");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
+        UserPatchDTO patch = new UserPatchDTO(null, null, "Renamed", "", null, null);
+
+        // When
+        var result = userService.patchUser(1L, patch, "admin");
+
+        // Then
+        assertEquals("Test", result.getFirstName());
+        assertEquals("Renamed", result.getLastName());
+        assertNull(result.getPhoneNumber());
+        assertEquals("test@example.com", result.getEmail());
+        assertEquals("admin", result.getUpdatedBy());
+        verify(userSearchIndex).index(user);
+        verify(userActivityService).logActivity(eq(user), eq("USER_UPDATED"), anyString(), eq(true),
+            eq("Changed fields: lastName, phoneNumber"), isNull());
+    }
+
+    @Test
+    void blockUser_Success() {
+        // Given
+        when(userRepository.findVersionByIdForUpdate(1L)).thenReturn(Optional.of(0L));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
 
         // When
         var result = userService.blockUser(1L, "admin");
@@ -178,28 +273,52 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(UserStatus.BLOCKED, result.getUserStatus());
+        assertEquals("admin", user.getUpdatedBy());
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(entityManager, never()).refresh(any());
         verify(userActivityService).logActivity(any(User.class), eq("USER_BLOCKED"), anyString(), eq(true));
     }
 
+    @Test
+    void blockUser_StaleCachedCopy_RefreshesBeforeApplying() {
+        // Given
+        when(userRepository.findVersionByIdForUpdate(1L)).thenReturn(Optional.of(3L));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        doAnswer(invocation -> {
+            user.setUserStatus(UserStatus.ACTIVE);
+            user.setVersion(3L);
+            return null;
+        }).when(entityManager).refresh(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+
+        // When
+        var result = userService.blockUser(1L, "admin");
+
+        // Then
+        assertEquals(UserStatus.BLOCKED, result.getUserStatus());
+        verify(entityManager).refresh(user);
+        verify(userPopulationCounters).recordTransition(
+            new UserPopulationCounters.UserState(UserRole.POLICY_OFFICER, UserStatus.ACTIVE, false),
+            new UserPopulationCounters.UserState(UserRole.POLICY_OFFICER, UserStatus.BLOCKED, false));
+    }
+
     @Test
     void blockUser_UserNotFound_ThrowsException() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findVersionByIdForUpdate(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(UserNotFoundException.class, () -> userService.blockUser(1L, "admin"));
-        verify(userRepository).findById(1L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void unblockUser_Success() {
         // Given
         user.setUserStatus(UserStatus.BLOCKED);
+        when(userRepository.findVersionByIdForUpdate(1L)).thenReturn(Optional.of(0L));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
 
         // When
         var result = userService.unblockUser(1L, "admin");
@@ -208,35 +327,59 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals(UserStatus.ACTIVE, result.getUserStatus());
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
         verify(userActivityService).logActivity(any(User.class), eq("USER_UNBLOCKED"), anyString(), eq(true));
     }
 
+    @Test
+    void searchUsers_UserDeletedSinceIndexed_LeftOutOfPageAndTotal() {
+        // Given
+        User other = new User();
+        other.setId(3L);
+        other.setUsername("testuser2");
+        other.setFirstName("Test");
+        other.setLastName("Other");
+        other.setUserRole(UserRole.POLICY_OFFICER);
+        other.setUserStatus(UserStatus.ACTIVE);
+        when(userSearchIndex.isReady()).thenReturn(true);
+        when(userSearchIndex.search("test")).thenReturn(List.of(1L, 2L, 3L));
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(user));
+        when(userRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(user, other));
+
+        // When
+        Page<UserResponseDTO> result = userService.searchUsers("test", PageRequest.of(0, 2));
+
+        // Then
+        assertEquals(List.of(1L, 3L), result.getContent().stream().map(UserResponseDTO::getId).toList());
+        assertEquals(2, result.getTotalElements());
+        verify(userSearchIndex).remove(2L);
+    }
+
     @Test
     void deleteUser_Success() {
         // Given
+        when(userRepository.findVersionByIdForUpdate(1L)).thenReturn(Optional.of(0L));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
 
         // When
         userService.deleteUser(1L, "admin");
 
         // Then
         assertTrue(user.getIsDeleted());
+        assertNotNull(user.getDeletedAt());
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userSearchIndex).remove(1L);
         verify(userActivityService).logActivity(any(User.class), eq("USER_DELETED"), anyString(), eq(true));
     }
 
     @Test
     void deleteUser_UserNotFound_ThrowsException() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findVersionByIdForUpdate(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(UserNotFoundException.class, () -> userService.deleteUser(1L, "admin"));
-        verify(userRepository).findById(1L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -0,0 +1,141 @@
+package org.example.administrator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.administrator.entity.User;
+import org.example.administrator.enums.UserRole;
+import org.example.administrator.enums.UserStatus;
+import org.example.administrator.repository.UserActivityRepository;
+import org.example.administrator.repository.UserRepository;
+import org.example.administrator.repository.UserSweepWatermarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UserSweepService, with chunks of two users and at most two chunks per run
+ * so a sweep over five users needs two runs
+ */
+@SpringBootTest(properties = {
+    "admin.users.sweep.chunk-size=2",
+    "admin.users.sweep.max-chunks-per-run=2",
+    "admin.users.sweep.inactive.days=30"
+})
+@ActiveProfiles("test")
+@Transactional
+class UserSweepServiceTest {
+
+    @Autowired
+    private UserSweepService userSweepService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private UserSweepWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+        watermarkRepository.deleteAll();
+    }
+
+    @Test
+    void expireLocks_ClearsOnlyExpiredLocks() {
+        Long expired = createUser("expired", UserStatus.ACTIVE, null, LocalDateTime.now().minusMinutes(5));
+        Long current = createUser("current", UserStatus.ACTIVE, null, LocalDateTime.now().plusMinutes(30));
+        Long unlocked = createUser("unlocked", UserStatus.ACTIVE, null, null);
+        Long deleted = createUser("deleted", UserStatus.ACTIVE, null, LocalDateTime.now().minusMinutes(5));
+        User deletedUser = userRepository.findById(deleted).orElseThrow();
+        deletedUser.setIsDeleted(true);
+        userRepository.save(deletedUser);
+
+        assertEquals(1, userSweepService.expireLocks());
+
+        User cleared = userRepository.findById(expired).orElseThrow();
+        assertNull(cleared.getAccountLockedUntil());
+        assertEquals(0, cleared.getLoginAttempts());
+        assertEquals("system", cleared.getUpdatedBy());
+        assertTrue(userRepository.findById(current).orElseThrow().isAccountLocked());
+        assertEquals(0L, userRepository.findById(unlocked).orElseThrow().getVersion());
+        assertNotNull(userRepository.findById(deleted).orElseThrow().getAccountLockedUntil());
+        assertEquals(1, userActivityRepository.countByActivityType("ACCOUNT_UNLOCKED"));
+        assertEquals(0L, watermarkRepository.findById(UserSweepService.LOCK_EXPIRY).orElseThrow().getLastUserId());
+    }
+
+    @Test
+    void deactivateInactiveUsers_ResumesFromWatermarkAcrossRuns() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(60);
+        List<Long> inactive = List.of(
+            createUser("inactive1", UserStatus.ACTIVE, longAgo, null),
+            createUser("inactive2", UserStatus.ACTIVE, longAgo, null),
+            createUser("inactive3", UserStatus.ACTIVE, longAgo, null),
+            createUser("inactive4", UserStatus.ACTIVE, longAgo, null),
+            createUser("inactive5", UserStatus.ACTIVE, longAgo, null));
+        Long recent = createUser("recent", UserStatus.ACTIVE, LocalDateTime.now().minusDays(1), null);
+        Long neverLoggedIn = createUser("new", UserStatus.ACTIVE, null, null);
+        Long blocked = createUser("blocked", UserStatus.BLOCKED, longAgo, null);
+
+        // The first run stops after two full chunks and records where it got to
+        assertEquals(4, userSweepService.deactivateInactiveUsers());
+        assertEquals(inactive.get(3), watermarkRepository.findById(UserSweepService.INACTIVITY).orElseThrow().getLastUserId());
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(inactive.get(4)).orElseThrow().getUserStatus());
+
+        assertEquals(1, userSweepService.deactivateInactiveUsers());
+        assertEquals(0L, watermarkRepository.findById(UserSweepService.INACTIVITY).orElseThrow().getLastUserId());
+
+        for (Long id : inactive) {
+            assertEquals(UserStatus.INACTIVE, userRepository.findById(id).orElseThrow().getUserStatus());
+        }
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(recent).orElseThrow().getUserStatus());
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(neverLoggedIn).orElseThrow().getUserStatus());
+        assertEquals(UserStatus.BLOCKED, userRepository.findById(blocked).orElseThrow().getUserStatus());
+        assertEquals(5, userActivityRepository.countByActivityType("USER_DEACTIVATED"));
+        assertTrue(meterRegistry.get("admin.users.sweep.duration").tag("sweep", UserSweepService.INACTIVITY)
+            .timer().count() >= 2);
+    }
+
+    @Test
+    void findInactiveUsers_ExcludesDeletedUsersWhoNeverLoggedIn() {
+        createUser("never", UserStatus.ACTIVE, null, null);
+        Long deleted = createUser("deleted", UserStatus.ACTIVE, null, null);
+        User user = userRepository.findById(deleted).orElseThrow();
+        user.setIsDeleted(true);
+        userRepository.save(user);
+
+        List<User> result = userRepository.findInactiveUsers(LocalDateTime.now().minusDays(30));
+
+        assertEquals(List.of("never"), result.stream().map(User::getUsername).toList());
+    }
+
+    private Long createUser(String username, UserStatus status, LocalDateTime lastLogin, LocalDateTime lockedUntil) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Sweep");
+        user.setLastName("User");
+        user.setUserRole(UserRole.POLICY_OFFICER);
+        user.setUserStatus(status);
+        user.setLastLogin(lastLogin);
+        user.setAccountLockedUntil(lockedUntil);
+        if (lockedUntil != null) {
+            user.setLoginAttempts(5);
+        }
+        return userRepository.save(user).getId();
+    }
+}